@@ -42,8 +42,59 @@ dependencies {
 
     implementation("org.slf4j:slf4j-simple:1.7.32")
     implementation("com.google.code.gson:gson:2.10.1")
+
+    testImplementation("junit:junit:4.13.2")
+}
+
+///////////////////////////////////////////////////////////////////////////////
+//  BENCHMARK CONFIGURATION
+///////////////////////////////////////////////////////////////////////////////
+// JMH benchmarks (src/jmh/java) run against the simulated reader plugin, see the 'jmh' task.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
+///////////////////////////////////////////////////////////////////////////////
+//  JAVA 11 VERSIONED CLASSES
+///////////////////////////////////////////////////////////////////////////////
+// src/main/java11 holds the versions of some classes for Java 11 and later runtimes (JFR events),
+// packaged under META-INF/versions/11 of the multi-release jars. They are only compiled when
+// Gradle runs on Java 11 or later, the Java 8 versions being used otherwise.
+val java11: SourceSet by sourceSets.creating {
+    java.setSrcDirs(listOf("src/main/java11"))
+    compileClasspath += sourceSets.main.get().output
+}
+configurations[java11.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+val isJava11Available = JavaVersion.current().isJava11Compatible
+tasks.named<JavaCompile>(java11.compileJavaTaskName) {
+    options.release.set(11)
+    onlyIf { isJava11Available }
+}
+fun Jar.addJava11Classes() {
+    if (isJava11Available) {
+        manifest.attributes("Multi-Release" to "true")
+        into("META-INF/versions/11") { from(java11.output) }
+    }
+}
+
+///////////////////////////////////////////////////////////////////////////////
+//  APPLICATION CLASS-DATA SHARING
+///////////////////////////////////////////////////////////////////////////////
+// The '<fat jar>Cds' tasks create the AppCDS archive of a fat jar (build/libs/<jar name>.jsa) by
+// a training run of the startup workload, to be used with
+// 'java -XX:SharedArchiveFile=<jar name>.jsa -jar <jar name>.jar'. Dynamic archives need Java 13+,
+// the archive being bound to the JDK running Gradle and to the jar.
+val isDynamicCdsAvailable = JavaVersion.current().isCompatibleWith(JavaVersion.VERSION_13)
+val startupPackage = "org.calypsonet.keyple.example.storagecard.startup"
+fun Jar.cdsArchiveFile(): File = archiveFile.get().asFile.run { File(parentFile, "$nameWithoutExtension.jsa") }
+
 val javaSourceLevel: String by project
 val javaTargetLevel: String by project
 java {
@@ -69,6 +120,20 @@ tasks {
             googleJavaFormat()
         }
     }
+    jar {
+        addJava11Classes()
+    }
+    register("jmh", JavaExec::class.java) {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks. Extra JMH options can be passed with -PjmhArgs=\"...\"."
+        dependsOn(jmh.classesTaskName)
+        classpath = jmh.runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        val resultFile = file("$buildDir/reports/jmh/results.json")
+        args("-rf", "json", "-rff", resultFile.absolutePath)
+        (project.findProperty("jmhArgs") as String?)?.let { args(it.split(" ")) }
+        doFirst { resultFile.parentFile.mkdirs() }
+    }
     register("fatJarTN313", Jar::class.java) {
         archiveClassifier.set("TN313-fat")
         duplicatesStrategy = DuplicatesStrategy.EXCLUDE
@@ -98,6 +163,7 @@ tasks {
         val sourcesMain = sourceSets.main.get()
         sourcesMain.allSource.forEach { println("add from sources: ${it.name}") }
         from(sourcesMain.output)
+        addJava11Classes()
     }
     register("fatJarPerfEmbeddedValidation", Jar::class.java) {
         archiveClassifier.set("PerfEmbeddedValidation-fat")
@@ -124,6 +190,7 @@ tasks {
         val sourcesMain = sourceSets.main.get()
         sourcesMain.allSource.forEach { println("add from sources: ${it.name}") }
         from(sourcesMain.output)
+        addJava11Classes()
     }
     register("fatJarPerfDistributedReloading", Jar::class.java) {
         archiveClassifier.set("PerfDistributedReloading-fat")
@@ -150,5 +217,39 @@ tasks {
         val sourcesMain = sourceSets.main.get()
         sourcesMain.allSource.forEach { println("add from sources: ${it.name}") }
         from(sourcesMain.output)
+        addJava11Classes()
+    }
+    listOf("fatJarTN313", "fatJarPerfEmbeddedValidation", "fatJarPerfDistributedReloading").forEach { fatJarName ->
+        val fatJar = named<Jar>(fatJarName)
+        register("${fatJarName}Cds", JavaExec::class.java) {
+            group = "build"
+            description = "Creates the AppCDS archive of the '$fatJarName' jar (Java 13+)."
+            dependsOn(fatJar)
+            onlyIf { isDynamicCdsAvailable }
+            classpath = files(fatJar.flatMap { it.archiveFile })
+            mainClass.set("$startupPackage.StartupWorkload")
+            doFirst {
+                val archive = fatJar.get().cdsArchiveFile()
+                archive.delete()
+                jvmArgs("-XX:ArchiveClassesAtExit=${archive.absolutePath}")
+                args(fatJar.get().manifest.attributes["Main-Class"].toString())
+            }
+            doLast { println("AppCDS archive: ${fatJar.get().cdsArchiveFile()}") }
+        }
+    }
+    register("startupBenchmark", JavaExec::class.java) {
+        group = "benchmark"
+        description = "Measures the startup time with and without the AppCDS archive (Java 13+)."
+        dependsOn("fatJarPerfEmbeddedValidationCds")
+        onlyIf { isDynamicCdsAvailable }
+        val fatJar = named<Jar>("fatJarPerfEmbeddedValidation")
+        classpath = files(fatJar.flatMap { it.archiveFile })
+        mainClass.set("$startupPackage.StartupBenchmark")
+        val reportFile = file("$buildDir/reports/startup/results.csv")
+        doFirst {
+            reportFile.parentFile.mkdirs()
+            args("--archive=${fatJar.get().cdsArchiveFile().absolutePath}", "--csv=${reportFile.absolutePath}")
+            (project.findProperty("startupRuns") as String?)?.let { args("--runs=$it") }
+        }
     }
 }
\ No newline at end of file
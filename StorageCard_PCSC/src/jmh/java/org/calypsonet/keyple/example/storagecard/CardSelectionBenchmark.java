@@ -0,0 +1,81 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keypop.reader.selection.CardSelectionManager;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the selection phase of {@link MultiTechTransaction} against a simulated reader.
+ *
+ * <ul>
+ *   <li>{@link #prepareCardSelection()}: construction of the selectors, extensions and manager
+ *   <li>{@link #processCardSelectionScenario()}: execution of the scenario on the reader
+ * </ul>
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Thread)
+public class CardSelectionBenchmark {
+
+  @Param({SimulatedTerminal.CALYPSO, "MIFARE_ULTRALIGHT", "ST25_SRT512"})
+  public String technology;
+
+  @Param({"0", "500"})
+  public long apduLatencyMicros;
+
+  private MultiTechTransaction transaction;
+  private CardSelectionManager selectionManager;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    transaction = SimulatedTerminal.start(technology, apduLatencyMicros);
+    selectionManager = transaction.prepareCardSelection();
+    // Release the channel after each selection so that every invocation starts from a fresh tap
+    selectionManager.prepareReleaseChannel();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    SimulatedTerminal.stop();
+  }
+
+  @Benchmark
+  public CardSelectionManager prepareCardSelection() {
+    return transaction.prepareCardSelection();
+  }
+
+  @Benchmark
+  public SmartCard processCardSelectionScenario() {
+    return transaction.processCardSelectionScenario(selectionManager);
+  }
+}
@@ -0,0 +1,101 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.calypsonet.keyple.example.storagecard.config.TerminalConfiguration;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCalypsoCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPlugin;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPluginFactoryBuilder;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedStorageCard;
+import org.eclipse.keyple.core.service.SmartCardServiceProvider;
+import org.eclipse.keypop.storagecard.card.ProductType;
+
+/**
+ * Sets up a {@link MultiTechTransaction} bound to a simulated reader for the benchmarks.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+final class SimulatedTerminal {
+
+  /** Technology name used to request a Calypso card, the others being {@link ProductType} names. */
+  static final String CALYPSO = "CALYPSO";
+
+  private static final String CALYPSO_SERIAL_NUMBER = "0000000011223344";
+  private static final String STORAGE_CARD_UID = "04A1B2C3D4E5F6";
+
+  /** Constructor */
+  private SimulatedTerminal() {}
+
+  /**
+   * Registers a simulated plugin holding a single reader with a card of the provided technology in
+   * its field, and creates the transaction bound to it.
+   *
+   * @param technology {@link #CALYPSO} or the name of a {@link ProductType}.
+   * @param apduLatencyMicros The simulated latency of each APDU exchange.
+   * @return A new instance.
+   */
+  static MultiTechTransaction start(String technology, long apduLatencyMicros) {
+    return new MultiTechTransaction(
+        SimulatedPluginFactoryBuilder.builder()
+            .withReader(SimulatedPluginFactoryBuilder.DEFAULT_READER_NAME, createCard(technology))
+            .withApduLatency(apduLatencyMicros, TimeUnit.MICROSECONDS)
+            .build());
+  }
+
+  /**
+   * Registers a simulated plugin holding several readers, each with a card of the provided
+   * technology in its field, and creates the transactions bound to them.
+   *
+   * <p>The readers let a benchmark prepare several taps, each keeping its channel open, before
+   * measuring them in a row.
+   *
+   * @param technology {@link #CALYPSO} or the name of a {@link ProductType}.
+   * @param apduLatencyMicros The simulated latency of each APDU exchange.
+   * @param readerCount The number of readers.
+   * @return A list of {@code readerCount} instances, one per reader.
+   */
+  static List<MultiTechTransaction> startReaders(
+      String technology, long apduLatencyMicros, int readerCount) {
+    SimulatedPluginFactoryBuilder.Builder builder = SimulatedPluginFactoryBuilder.builder();
+    for (int i = 0; i < readerCount; i++) {
+      builder.withReader(
+          String.format("%s %03d", SimulatedPluginFactoryBuilder.DEFAULT_READER_NAME, i),
+          createCard(technology));
+    }
+    return MultiTechTransaction.createForAllReaders(
+        builder.withApduLatency(apduLatencyMicros, TimeUnit.MICROSECONDS).build());
+  }
+
+  /** Unregisters the simulated plugin. */
+  static void stop() {
+    SmartCardServiceProvider.getService().unregisterPlugin(SimulatedPlugin.PLUGIN_NAME);
+  }
+
+  /**
+   * Creates a card of the provided technology.
+   *
+   * @param technology {@link #CALYPSO} or the name of a {@link ProductType}.
+   * @return A new card.
+   */
+  static SimulatedCard createCard(String technology) {
+    if (CALYPSO.equals(technology)) {
+      // The AID selected by the default configuration of the transactions
+      return new SimulatedCalypsoCard(
+          TerminalConfiguration.loadDefault().getCalypsoAid(), CALYPSO_SERIAL_NUMBER);
+    }
+    return new SimulatedStorageCard(ProductType.valueOf(technology), STORAGE_CARD_UID);
+  }
+}
@@ -0,0 +1,192 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.concurrent.TimeUnit;
+import org.calypsonet.keyple.example.storagecard.memory.VerificationMode;
+import org.calypsonet.keyple.example.storagecard.memory.WritePlan;
+import org.eclipse.keypop.reader.selection.CardSelectionManager;
+import org.eclipse.keypop.storagecard.card.StorageCard;
+import org.eclipse.keypop.storagecard.transaction.ChannelControl;
+import org.eclipse.keypop.storagecard.transaction.StorageCardTransactionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of each {@link ChannelControl} step of the storage card processing of {@link
+ * MultiTechTransaction} against simulated readers.
+ *
+ * <p>Each step is measured on its own, in batches of {@link #BATCH_SIZE} taps: before each
+ * iteration, a card is selected on each of the {@link #BATCH_SIZE} simulated readers and the steps
+ * preceding the measured one are replayed, so that the measurement only covers the steps and not
+ * the fixture. The channels left open are released after the iteration.
+ *
+ * <ul>
+ *   <li>{@link #read(ReadState)}: full memory read ({@code KEEP_OPEN})
+ *   <li>{@link #write(WriteState)}: write of the user data blocks ({@code KEEP_OPEN})
+ *   <li>{@link #verify(VerifyState)}: read-back of the written blocks, of a sample of them or of
+ *       the whole memory depending on the {@link VerificationMode} ({@code CLOSE_AFTER})
+ * </ul>
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = StorageCardTransactionBenchmark.BATCH_SIZE)
+@Measurement(iterations = 20, batchSize = StorageCardTransactionBenchmark.BATCH_SIZE)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class StorageCardTransactionBenchmark {
+
+  /** Number of taps prepared before each iteration and measured by it. */
+  static final int BATCH_SIZE = 50;
+
+  /** Common state: simulated storage cards selected before each iteration, one per reader. */
+  @State(Scope.Thread)
+  public abstract static class TapState {
+
+    @Param({"MIFARE_ULTRALIGHT", "ST25_SRT512"})
+    public String technology;
+
+    @Param({"0", "500"})
+    public long apduLatencyMicros;
+
+    final MultiTechTransaction[] transactions = new MultiTechTransaction[BATCH_SIZE];
+    final StorageCard[] cards = new StorageCard[BATCH_SIZE];
+    final StorageCardTransactionManager[] cardTransactions =
+        new StorageCardTransactionManager[BATCH_SIZE];
+    private final CardSelectionManager[] selectionManagers = new CardSelectionManager[BATCH_SIZE];
+    private int nextTap;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+      SimulatedTerminal.startReaders(technology, apduLatencyMicros, BATCH_SIZE)
+          .toArray(transactions);
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        selectionManagers[i] = transactions[i].getCardSelectionManager();
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+      SimulatedTerminal.stop();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        cards[i] = (StorageCard) transactions[i].processCardSelectionScenario(selectionManagers[i]);
+        cardTransactions[i] = transactions[i].createStorageCardTransaction(cards[i]);
+        prepareStep(i);
+      }
+      nextTap = 0;
+    }
+
+    /**
+     * Returns the index of the next prepared tap.
+     *
+     * @return An index lower than {@link #BATCH_SIZE}.
+     */
+    int nextTap() {
+      return nextTap++;
+    }
+
+    /**
+     * Replays the steps preceding the measured one.
+     *
+     * @param tap The index of the tap.
+     */
+    abstract void prepareStep(int tap);
+  }
+
+  /** State of the read step. */
+  public static class ReadState extends TapState {
+
+    @Override
+    void prepareStep(int tap) {
+      // The read step directly follows the selection
+    }
+
+    @TearDown(Level.Iteration)
+    public void releaseChannels() {
+      for (StorageCardTransactionManager cardTransaction : cardTransactions) {
+        cardTransaction.processCommands(ChannelControl.CLOSE_AFTER);
+      }
+    }
+  }
+
+  /** State of the write step. */
+  public static class WriteState extends TapState {
+
+    final byte[][] memoryImages = new byte[BATCH_SIZE][];
+
+    @Override
+    void prepareStep(int tap) {
+      memoryImages[tap] = transactions[tap].readStorageCard(cardTransactions[tap], cards[tap]);
+    }
+
+    @TearDown(Level.Iteration)
+    public void releaseChannels() {
+      for (StorageCardTransactionManager cardTransaction : cardTransactions) {
+        cardTransaction.processCommands(ChannelControl.CLOSE_AFTER);
+      }
+    }
+  }
+
+  /** State of the verify step, which releases the channels itself. */
+  public static class VerifyState extends TapState {
+
+    @Param({"WRITTEN_RANGES", "SAMPLE", "FULL"})
+    public String verificationMode;
+
+    final WritePlan[] writePlans = new WritePlan[BATCH_SIZE];
+
+    @Override
+    void prepareStep(int tap) {
+      transactions[tap].setVerificationMode(VerificationMode.valueOf(verificationMode));
+      byte[] memoryImage = transactions[tap].readStorageCard(cardTransactions[tap], cards[tap]);
+      writePlans[tap] =
+          transactions[tap].writeStorageCard(cardTransactions[tap], cards[tap], memoryImage);
+    }
+  }
+
+  @Benchmark
+  public void read(ReadState state) {
+    int tap = state.nextTap();
+    state.transactions[tap].readStorageCard(state.cardTransactions[tap], state.cards[tap]);
+  }
+
+  @Benchmark
+  public void write(WriteState state) {
+    int tap = state.nextTap();
+    state.transactions[tap].writeStorageCard(
+        state.cardTransactions[tap], state.cards[tap], state.memoryImages[tap]);
+  }
+
+  @Benchmark
+  public void verify(VerifyState state) {
+    int tap = state.nextTap();
+    state.transactions[tap].verifyStorageCard(
+        state.cardTransactions[tap], state.cards[tap], state.writePlans[tap]);
+  }
+}
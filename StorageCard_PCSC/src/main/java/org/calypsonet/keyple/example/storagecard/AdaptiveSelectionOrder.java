@@ -0,0 +1,240 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.calypsonet.keyple.example.storagecard.config.CardTechnology;
+
+/**
+ * Order of the selection cases of a reader, adapted to the distribution of the technologies of the
+ * cards it sees.
+ *
+ * <p>Each selected card increments the score of its technology, all the scores decaying by a
+ * constant factor at each selection, so that the scores follow the recent distribution (with the
+ * default factor, the weight of a card is halved after about 70 selections). Every {@code
+ * reorderPeriod} selections, the cases are reordered by decreasing score, so that a station seeing
+ * mostly storage cards no longer tries the Calypso AID selection first. Guard rails:
+ *
+ * <ul>
+ *   <li>A case only moves ahead of another one if its score exceeds the other one by {@value
+ *       #REORDER_MARGIN_PERCENT}%, so that close technologies do not swap at every period
+ *   <li>The cases sharing a logical protocol (e.g. several AIDs over ISO 14443-4) keep the relative
+ *       order of the configuration, as a case may match the cards of the next one
+ * </ul>
+ *
+ * <p>The metrics are updated by the thread processing the taps of the reader and can be read at
+ * any time from other threads.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class AdaptiveSelectionOrder {
+
+  /** Default decay factor of the scores at each selection. */
+  public static final double DEFAULT_DECAY_FACTOR = 0.99;
+
+  /** Default number of selections between two reorderings. */
+  public static final int DEFAULT_REORDER_PERIOD = 50;
+
+  private static final int REORDER_MARGIN_PERCENT = 20;
+  private static final double REORDER_MARGIN = 1 + REORDER_MARGIN_PERCENT / 100.0;
+
+  private final double decayFactor;
+  private final int reorderPeriod;
+  private final Map<String, Double> scores = new HashMap<String, Double>();
+  private final Map<String, String> logicalProtocols = new HashMap<String, String>();
+  private List<String> ranking = Collections.emptyList(); // Empty for the configuration order
+  private List<String> order = Collections.emptyList(); // Order of the current scenario
+  private double totalScore;
+  private int selectionsSinceReorder;
+  private long selectionCount;
+  private long firstCaseHitCount;
+  private long reorderCount;
+
+  /** Creates an order with the default decay factor and reorder period. */
+  public AdaptiveSelectionOrder() {
+    this(DEFAULT_DECAY_FACTOR, DEFAULT_REORDER_PERIOD);
+  }
+
+  /**
+   * Creates an order.
+   *
+   * @param decayFactor The factor applied to the scores at each selection, in ]0..1].
+   * @param reorderPeriod The number of selections between two reorderings.
+   * @throws IllegalArgumentException If a parameter is out of range.
+   */
+  public AdaptiveSelectionOrder(double decayFactor, int reorderPeriod) {
+    if (!(decayFactor > 0 && decayFactor <= 1) || reorderPeriod <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid decay factor or reorder period: " + decayFactor + ", " + reorderPeriod);
+    }
+    this.decayFactor = decayFactor;
+    this.reorderPeriod = reorderPeriod;
+  }
+
+  /**
+   * Sorts the technologies of a configuration in the current order of the selection cases.
+   *
+   * <p>The technologies not ranked yet keep their configuration order, after the ranked ones. The
+   * returned order becomes the one of the selection scenario.
+   *
+   * @param technologies The technologies in configuration order.
+   * @return A new list.
+   */
+  synchronized List<CardTechnology> sort(List<CardTechnology> technologies) {
+    List<CardTechnology> sorted = new ArrayList<CardTechnology>(technologies.size());
+    for (String name : ranking) {
+      for (CardTechnology technology : technologies) {
+        if (technology.getName().equals(name)) {
+          sorted.add(technology);
+        }
+      }
+    }
+    for (CardTechnology technology : technologies) {
+      if (!sorted.contains(technology)) {
+        sorted.add(technology);
+      }
+    }
+    // The cases sharing a logical protocol get their positions back in configuration order
+    List<String> names = new ArrayList<String>(sorted.size());
+    logicalProtocols.clear();
+    for (int i = 0; i < sorted.size(); i++) {
+      String protocol = sorted.get(i).getLogicalProtocol();
+      for (CardTechnology technology : technologies) {
+        if (technology.getLogicalProtocol().equals(protocol)
+            && !names.contains(technology.getName())) {
+          sorted.set(i, technology);
+          break;
+        }
+      }
+      names.add(sorted.get(i).getName());
+      logicalProtocols.put(sorted.get(i).getName(), protocol);
+    }
+    order = Collections.unmodifiableList(names);
+    return sorted;
+  }
+
+  /**
+   * Records a selected card.
+   *
+   * @param technology The name of the technology of the card.
+   * @return true if the order of the cases changed, the scenario having to be rebuilt.
+   */
+  synchronized boolean recordSelection(String technology) {
+    for (Map.Entry<String, Double> entry : scores.entrySet()) {
+      entry.setValue(entry.getValue() * decayFactor);
+    }
+    Double score = scores.get(technology);
+    scores.put(technology, (score != null ? score : 0) + 1);
+    totalScore = totalScore * decayFactor + 1;
+    selectionCount++;
+    if (!order.isEmpty() && order.get(0).equals(technology)) {
+      firstCaseHitCount++;
+    }
+    if (++selectionsSinceReorder < reorderPeriod) {
+      return false;
+    }
+    selectionsSinceReorder = 0;
+    List<String> candidate = reorder(order);
+    if (candidate.equals(order)) {
+      return false;
+    }
+    ranking = candidate;
+    reorderCount++;
+    return true;
+  }
+
+  /** Insertion sort by decreasing score, subject to the guard rails. */
+  private List<String> reorder(List<String> current) {
+    List<String> candidate = new ArrayList<String>(current);
+    for (int i = 1; i < candidate.size(); i++) {
+      String name = candidate.get(i);
+      int j = i;
+      while (j > 0 && canMoveAhead(name, candidate.get(j - 1))) {
+        candidate.set(j, candidate.get(j - 1));
+        j--;
+      }
+      candidate.set(j, name);
+    }
+    return candidate;
+  }
+
+  private boolean canMoveAhead(String name, String previous) {
+    String protocol = logicalProtocols.get(name);
+    return !protocol.equals(logicalProtocols.get(previous))
+        && getScore(name) > getScore(previous) * REORDER_MARGIN;
+  }
+
+  private double getScore(String technology) {
+    Double score = scores.get(technology);
+    return score != null ? score : 0;
+  }
+
+  /**
+   * Returns the order of the cases of the current selection scenario.
+   *
+   * @return An unmodifiable list of technology names, empty before the first scenario.
+   */
+  public synchronized List<String> getOrder() {
+    return order;
+  }
+
+  /**
+   * Returns the recent share of the cards of a technology, according to the decayed scores.
+   *
+   * @param technology The name of the technology.
+   * @return A rate in the range [0..1].
+   */
+  public synchronized double getHitRate(String technology) {
+    return totalScore == 0 ? 0 : getScore(technology) / totalScore;
+  }
+
+  /**
+   * Returns the share of the selected cards that matched the first case of the scenario.
+   *
+   * @return A rate in the range [0..1].
+   */
+  public synchronized double getFirstCaseHitRate() {
+    return selectionCount == 0 ? 0 : (double) firstCaseHitCount / selectionCount;
+  }
+
+  /**
+   * Returns the number of times the order of the cases changed.
+   *
+   * @return A positive number.
+   */
+  public synchronized long getReorderCount() {
+    return reorderCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder hitRates = new StringBuilder();
+    for (String technology : order) {
+      hitRates.append(hitRates.length() == 0 ? "" : " ");
+      hitRates.append(String.format(Locale.ROOT, "%s=%.2f", technology, getHitRate(technology)));
+    }
+    return "order="
+        + order
+        + " hitRates=["
+        + hitRates
+        + "] firstCaseHitRate="
+        + String.format(Locale.ROOT, "%.2f", getFirstCaseHitRate())
+        + " reorders="
+        + reorderCount;
+  }
+}
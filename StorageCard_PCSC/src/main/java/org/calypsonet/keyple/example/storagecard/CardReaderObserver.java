@@ -0,0 +1,93 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import org.eclipse.keypop.reader.CardReaderEvent;
+import org.eclipse.keypop.reader.ObservableCardReader;
+import org.eclipse.keypop.reader.selection.CardSelectionManager;
+import org.eclipse.keypop.reader.selection.CardSelectionResult;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+import org.eclipse.keypop.reader.spi.CardReaderObservationExceptionHandlerSpi;
+import org.eclipse.keypop.reader.spi.CardReaderObserverSpi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Observer of the reader in continuous mode, see {@link
+ * MultiTechTransaction#startCardDetection()}.
+ *
+ * <p>When a card matching the scheduled selection scenario enters the field, the reader has already
+ * run the selection: the observer parses its result, processes the selected card and releases the
+ * reader so that it waits for the card removal and then for the next card.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+final class CardReaderObserver
+    implements CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi {
+  private static final Logger logger = LoggerFactory.getLogger(CardReaderObserver.class);
+
+  private final MultiTechTransaction transaction;
+  private final CardSelectionManager selectionManager;
+
+  /**
+   * Constructor.
+   *
+   * @param transaction The card processing.
+   * @param selectionManager The manager holding the scheduled selection scenario.
+   */
+  CardReaderObserver(MultiTechTransaction transaction, CardSelectionManager selectionManager) {
+    this.transaction = transaction;
+    this.selectionManager = selectionManager;
+  }
+
+  @Override
+  public void onReaderEvent(CardReaderEvent readerEvent) {
+    switch (readerEvent.getType()) {
+      case CARD_MATCHED:
+        long start = System.nanoTime();
+        try {
+          CardSelectionResult result =
+              selectionManager.parseScheduledCardSelectionsResponse(
+                  readerEvent.getScheduledCardSelectionsResponse());
+          SmartCard smartCard = result.getActiveSmartCard();
+          logger.info("Card matched: {}", smartCard.getClass().getSimpleName());
+          transaction.processSelectedCard(smartCard, selectionManager);
+          logger.info("Card processed in {} us", (System.nanoTime() - start) / 1000);
+        } catch (RuntimeException e) {
+          logger.error("Card processing failed: {}", e.getMessage());
+        } finally {
+          // Close the channel and let the reader wait for the card removal
+          ((ObservableCardReader) transaction.getCardReader()).finalizeCardProcessing();
+        }
+        break;
+      case CARD_INSERTED:
+        // Only notified with NotificationMode.ALWAYS
+        logger.warn("Unsupported card inserted");
+        ((ObservableCardReader) transaction.getCardReader()).finalizeCardProcessing();
+        break;
+      case CARD_REMOVED:
+        logger.info("Card removed, waiting for the next card...");
+        break;
+      case UNAVAILABLE:
+        logger.error("Reader '{}' is no longer available", readerEvent.getReaderName());
+        break;
+      default:
+        break;
+    }
+  }
+
+  @Override
+  public void onReaderObservationError(String pluginName, String readerName, Throwable e) {
+    logger.error("Observation error on reader '{}': {}", readerName, e.getMessage(), e);
+  }
+}
@@ -0,0 +1,147 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.calypsonet.keyple.example.storagecard.config.CardTechnology;
+import org.calypsonet.keyple.example.storagecard.config.TerminalConfiguration;
+import org.calypsonet.keyple.example.storagecard.memory.CardImageCache;
+import org.calypsonet.keyple.example.storagecard.memory.VerificationMode;
+import org.calypsonet.keyple.example.storagecard.perf.TapLatencyRecorder;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCalypsoCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPlugin;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPluginFactoryBuilder;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedStorageCard;
+import org.eclipse.keyple.core.service.Plugin;
+import org.eclipse.keyple.core.service.SmartCardServiceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Warm-up of the JIT compiler by synthetic taps processed at startup, before the real readers are
+ * armed.
+ *
+ * <p>The first taps after the JVM start are several times slower than the steady state ones, the
+ * card processing, the Keyple APDU exchanges and the hex and log formatting being interpreted until
+ * the JIT compiler gets enough invocations to compile them. The warm-up registers a simulated
+ * plugin with one reader per technology of the configuration, each holding an in-memory card
+ * (see the {@code simulator} package), and processes the taps of these readers through the same
+ * {@link MultiTechTransaction} code paths as the real taps: selection, reads, planned writes,
+ * verification, image cache and latency recording. The simulated plugin is unregistered at the
+ * end, so the real taps start on compiled code.
+ *
+ * <p>The image cache and the latency histograms of the warm-up are private, so the statistics of
+ * the real taps are not affected.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class JitWarmUp {
+  private static final Logger logger = LoggerFactory.getLogger(JitWarmUp.class);
+
+  /**
+   * Default number of synthetic taps per technology, enough for the C2 compilation of the hot
+   * methods with the default thresholds of the HotSpot JVM.
+   */
+  public static final int DEFAULT_TAP_COUNT = 500;
+
+  private static final String READER_NAME_PREFIX = "Warm-up Reader ";
+  private static final String CALYPSO_SERIAL_NUMBER = "0000000011223344";
+  private static final String STORAGE_CARD_UID = "04A1B2C3D4E5F6";
+  private static final int IMAGE_CACHE_CAPACITY = 16;
+
+  /** Constructor */
+  private JitWarmUp() {}
+
+  /**
+   * Processes synthetic taps of each technology of a configuration on simulated readers.
+   *
+   * <p>A failing tap (e.g. physical protocol of the configuration unknown to the simulator) is
+   * counted and does not stop the warm-up.
+   *
+   * @param configuration The configuration of the selection, whose reader pattern is ignored.
+   * @param verificationMode The verification mode of the real taps.
+   * @param tapCount The number of taps per technology.
+   * @throws IllegalArgumentException If the number of taps is not strictly positive.
+   */
+  public static void run(
+      TerminalConfiguration configuration, VerificationMode verificationMode, int tapCount) {
+    if (tapCount <= 0) {
+      throw new IllegalArgumentException("Invalid tap count: " + tapCount);
+    }
+    SimulatedPluginFactoryBuilder.Builder builder = SimulatedPluginFactoryBuilder.builder();
+    List<String> readerNames = new ArrayList<String>();
+    for (CardTechnology technology : configuration.getTechnologies()) {
+      String readerName = READER_NAME_PREFIX + technology.getName();
+      builder.withReader(readerName, createCard(technology, configuration));
+      readerNames.add(readerName);
+    }
+    logger.info("JIT warm-up: {} taps on {}...", tapCount, readerNames);
+    long start = System.nanoTime();
+    Plugin plugin = SmartCardServiceProvider.getService().registerPlugin(builder.build());
+    try {
+      CardImageCache cardImageCache = new CardImageCache(IMAGE_CACHE_CAPACITY, 1, TimeUnit.HOURS);
+      TapLatencyRecorder latencyRecorder = new TapLatencyRecorder();
+      List<MultiTechTransaction> transactions = new ArrayList<MultiTechTransaction>();
+      for (String readerName : readerNames) {
+        MultiTechTransaction transaction =
+            new MultiTechTransaction(plugin, false, readerName, configuration);
+        transaction.setVerificationMode(verificationMode);
+        transaction.setCardImageCache(cardImageCache);
+        transaction.setLatencyRecorder(latencyRecorder);
+        transactions.add(transaction);
+      }
+      int failedTapCount = 0;
+      long firstRoundNanos = 0;
+      long lastRoundNanos = 0;
+      for (int i = 0; i < tapCount; i++) {
+        long roundStart = System.nanoTime();
+        for (MultiTechTransaction transaction : transactions) {
+          try {
+            transaction.execute();
+          } catch (RuntimeException e) {
+            if (failedTapCount++ == 0) {
+              logger.warn(
+                  "[{}] Warm-up tap failed: {}",
+                  transaction.getCardReader().getName(),
+                  e.getMessage());
+            }
+          }
+        }
+        lastRoundNanos = System.nanoTime() - roundStart;
+        if (i == 0) {
+          firstRoundNanos = lastRoundNanos;
+        }
+      }
+      logger.info(
+          "JIT warm-up completed in {} ms ({} failed taps), first round {} us, last round {} us",
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+          failedTapCount,
+          TimeUnit.NANOSECONDS.toMicros(firstRoundNanos),
+          TimeUnit.NANOSECONDS.toMicros(lastRoundNanos));
+    } finally {
+      SmartCardServiceProvider.getService().unregisterPlugin(SimulatedPlugin.PLUGIN_NAME);
+    }
+  }
+
+  /** Creates the simulated card of a technology. */
+  private static SimulatedCard createCard(
+      CardTechnology technology, TerminalConfiguration configuration) {
+    if (technology.isCalypso()) {
+      return new SimulatedCalypsoCard(configuration.getCalypsoAid(), CALYPSO_SERIAL_NUMBER);
+    }
+    return new SimulatedStorageCard(technology.getProductType(), STORAGE_CARD_UID);
+  }
+}
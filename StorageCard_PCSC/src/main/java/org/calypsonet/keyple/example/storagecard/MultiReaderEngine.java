@@ -0,0 +1,240 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keypop.reader.CardReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Concurrent processing of the taps on several readers, one worker thread per reader.
+ *
+ * <p>Each worker waits for a card on its own reader, processes it with its own {@link
+ * MultiTechTransaction} and waits for the card removal. The workers share nothing but the Keyple
+ * service, so the throughput grows with the number of readers and a reader that is stuck or in
+ * error only stalls its own worker. The taps of each reader are counted in its {@link
+ * ReaderMetrics}.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * MultiReaderEngine engine =
+ *     new MultiReaderEngine(MultiTechTransaction.createForAllReaders(pluginFactory));
+ * engine.start();
+ * ...
+ * engine.stop(5, TimeUnit.SECONDS);
+ * }</pre>
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class MultiReaderEngine {
+  private static final Logger logger = LoggerFactory.getLogger(MultiReaderEngine.class);
+
+  /** Default period of the card presence polling. */
+  public static final long DEFAULT_POLLING_PERIOD_MILLIS = 10;
+
+  private static final long READER_ERROR_BACKOFF_MILLIS = 1000;
+
+  private final List<ReaderWorker> workers = new ArrayList<ReaderWorker>();
+  private final long pollingPeriodMillis;
+  private volatile boolean isStopping;
+
+  /**
+   * Creates an engine with the default polling period.
+   *
+   * @param transactions The card processing of each reader.
+   */
+  public MultiReaderEngine(List<MultiTechTransaction> transactions) {
+    this(transactions, DEFAULT_POLLING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Creates an engine.
+   *
+   * @param transactions The card processing of each reader.
+   * @param pollingPeriod The period of the card presence polling.
+   * @param unit The unit of the period.
+   * @throws IllegalArgumentException If the list is empty or the period is not strictly positive.
+   */
+  public MultiReaderEngine(
+      List<MultiTechTransaction> transactions, long pollingPeriod, TimeUnit unit) {
+    if (transactions.isEmpty()) {
+      throw new IllegalArgumentException("No reader to process");
+    }
+    if (pollingPeriod <= 0) {
+      throw new IllegalArgumentException("Invalid polling period: " + pollingPeriod);
+    }
+    this.pollingPeriodMillis = Math.max(1, unit.toMillis(pollingPeriod));
+    for (MultiTechTransaction transaction : transactions) {
+      workers.add(new ReaderWorker(transaction));
+    }
+  }
+
+  /**
+   * Starts one worker per reader.
+   *
+   * @throws IllegalStateException If the engine was already started.
+   */
+  public synchronized void start() {
+    for (ReaderWorker worker : workers) {
+      if (worker.thread.getState() != Thread.State.NEW) {
+        throw new IllegalStateException("Engine already started");
+      }
+    }
+    for (ReaderWorker worker : workers) {
+      worker.thread.start();
+    }
+    logger.info("Processing taps on {} readers", workers.size());
+  }
+
+  /**
+   * Stops the workers, waiting for the taps in progress.
+   *
+   * <p>The idle workers end at their next polling and the workers processing a tap end once it is
+   * completed. The workers still alive at the end of the timeout (e.g. stuck reader) are
+   * interrupted.
+   *
+   * @param timeout The maximum time to wait for all the workers.
+   * @param unit The unit of the timeout.
+   * @return The names of the readers whose worker did not stop in time and was interrupted.
+   */
+  public synchronized List<String> stop(long timeout, TimeUnit unit) {
+    isStopping = true;
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (ReaderWorker worker : workers) {
+      long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      if (remainingMillis <= 0) {
+        break;
+      }
+      try {
+        worker.thread.join(remainingMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    List<String> stuckReaders = new ArrayList<String>();
+    for (ReaderWorker worker : workers) {
+      if (worker.thread.isAlive()) {
+        worker.thread.interrupt();
+        stuckReaders.add(worker.metrics.getReaderName());
+      }
+    }
+    if (!stuckReaders.isEmpty()) {
+      logger.warn("Workers not stopped in time, interrupted: {}", stuckReaders);
+    }
+    return stuckReaders;
+  }
+
+  /**
+   * Returns the metrics of each reader.
+   *
+   * @return A not empty list, in the order of the readers.
+   */
+  public List<ReaderMetrics> getMetrics() {
+    List<ReaderMetrics> metrics = new ArrayList<ReaderMetrics>();
+    for (ReaderWorker worker : workers) {
+      metrics.add(worker.metrics);
+    }
+    return Collections.unmodifiableList(metrics);
+  }
+
+  /**
+   * Logs the metrics of each reader, followed by the order of its selection cases.
+   *
+   * @param target The target logger.
+   */
+  public void logMetrics(Logger target) {
+    for (ReaderWorker worker : workers) {
+      target.info("{}", worker.metrics);
+      target.info(
+          "{}: selection {}",
+          worker.metrics.getReaderName(),
+          worker.transaction.getSelectionOrder());
+    }
+  }
+
+  /** Processing loop of one reader. */
+  private final class ReaderWorker implements Runnable {
+
+    private final MultiTechTransaction transaction;
+    private final CardReader cardReader;
+    private final ReaderMetrics metrics;
+    private final Thread thread;
+
+    private ReaderWorker(MultiTechTransaction transaction) {
+      this.transaction = transaction;
+      this.cardReader = transaction.getCardReader();
+      this.metrics = new ReaderMetrics(cardReader.getName());
+      this.thread = new Thread(this, "reader-worker-" + cardReader.getName());
+      // A stuck reader must not prevent the JVM from exiting
+      thread.setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      while (!isStopping) {
+        try {
+          if (!awaitCardPresence(true)) {
+            return;
+          }
+          processTap();
+          if (!awaitCardPresence(false)) {
+            return;
+          }
+        } catch (InterruptedException e) {
+          return;
+        } catch (RuntimeException e) {
+          // Reader level error: keep the other readers running and retry later
+          metrics.recordReaderError(e);
+          logger.error("[{}] Reader error: {}", metrics.getReaderName(), e.getMessage());
+          try {
+            Thread.sleep(READER_ERROR_BACKOFF_MILLIS);
+          } catch (InterruptedException ie) {
+            return;
+          }
+        }
+      }
+    }
+
+    private void processTap() {
+      long start = System.nanoTime();
+      try {
+        transaction.execute();
+        metrics.recordTap(System.nanoTime() - start, null);
+      } catch (RuntimeException e) {
+        metrics.recordTap(System.nanoTime() - start, e);
+        logger.error("[{}] Tap failed: {}", metrics.getReaderName(), e.getMessage());
+      }
+    }
+
+    /**
+     * Polls the reader until the card presence matches the expected state.
+     *
+     * @return false if the engine is stopping.
+     */
+    private boolean awaitCardPresence(boolean isPresent) throws InterruptedException {
+      while (cardReader.isCardPresent() != isPresent) {
+        if (isStopping) {
+          return false;
+        }
+        Thread.sleep(pollingPeriodMillis);
+      }
+      return !isStopping;
+    }
+  }
+}
@@ -11,8 +11,46 @@
  ************************************************************************************** */
 package org.calypsonet.keyple.example.storagecard;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 import org.calypsonet.keyple.card.storagecard.StorageCardExtensionService;
+import org.calypsonet.keyple.example.storagecard.config.CardTechnology;
+import org.calypsonet.keyple.example.storagecard.config.ConfigurationListener;
+import org.calypsonet.keyple.example.storagecard.config.ConfigurationWatcher;
+import org.calypsonet.keyple.example.storagecard.config.TerminalConfiguration;
+import org.calypsonet.keyple.example.storagecard.jfr.CardEvent;
+import org.calypsonet.keyple.example.storagecard.jfr.CardEvents;
+import org.calypsonet.keyple.example.storagecard.layout.DataLayout;
+import org.calypsonet.keyple.example.storagecard.layout.LayoutSchema;
+import org.calypsonet.keyple.example.storagecard.logging.AsyncLogOutput;
+import org.calypsonet.keyple.example.storagecard.logging.OverflowPolicy;
+import org.calypsonet.keyple.example.storagecard.memory.BlockFetcher;
+import org.calypsonet.keyple.example.storagecard.memory.BlockMismatch;
+import org.calypsonet.keyple.example.storagecard.memory.BlockTransform;
+import org.calypsonet.keyple.example.storagecard.memory.BlockRange;
+import org.calypsonet.keyple.example.storagecard.memory.CardImageCache;
+import org.calypsonet.keyple.example.storagecard.memory.LazyCardMemory;
+import org.calypsonet.keyple.example.storagecard.memory.MemoryImage;
+import org.calypsonet.keyple.example.storagecard.memory.ReadPlan;
+import org.calypsonet.keyple.example.storagecard.memory.VerificationMode;
+import org.calypsonet.keyple.example.storagecard.memory.VerificationResult;
+import org.calypsonet.keyple.example.storagecard.memory.WritePlan;
+import org.calypsonet.keyple.example.storagecard.memory.WritePlanner;
+import org.calypsonet.keyple.example.storagecard.memory.WriteVerifier;
+import org.calypsonet.keyple.example.storagecard.perf.TapLatencyRecorder;
+import org.calypsonet.keyple.example.storagecard.perf.TapPhase;
+import org.calypsonet.keyple.example.storagecard.trace.ApduTraceRecorder;
 import org.eclipse.keyple.card.calypso.CalypsoExtensionService;
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
 import org.eclipse.keyple.core.service.*;
 import org.eclipse.keyple.core.util.HexUtil;
 import org.eclipse.keyple.plugin.pcsc.*;
@@ -24,6 +62,7 @@ import org.eclipse.keypop.calypso.card.transaction.ReaderIOException;
 import org.eclipse.keypop.calypso.card.transaction.UnexpectedCommandStatusException;
 import org.eclipse.keypop.reader.CardReader;
 import org.eclipse.keypop.reader.ConfigurableCardReader;
+import org.eclipse.keypop.reader.ObservableCardReader;
 import org.eclipse.keypop.reader.ReaderApiFactory;
 import org.eclipse.keypop.reader.selection.BasicCardSelector;
 import org.eclipse.keypop.reader.selection.CardSelectionManager;
@@ -83,70 +122,114 @@ import org.slf4j.LoggerFactory;
 public class MultiTechTransaction {
   private static final Logger logger = LoggerFactory.getLogger(MultiTechTransaction.class);
 
+  /**
+   * Logger of the storage card memory dumps, at DEBUG level, kept apart from the main logger so
+   * that the dumps can be enabled on their own.
+   */
+  private static final Logger memoryDumpLogger =
+      LoggerFactory.getLogger(MultiTechTransaction.class.getName() + ".MemoryDump");
+
   // ===============================================================================================
   // CONFIGURATION CONSTANTS
   // ===============================================================================================
 
-  /**
-   * Card reader identification pattern.
-   *
-   * <p>This regex pattern is used to find compatible PC/SC readers. It matches:
-   *
-   * <ul>
-   *   <li>"ASK LoGO" - Specific reader model known to work well with this demo
-   *   <li>"Contactless" - Any reader with "Contactless" in its name
-   * </ul>
-   *
-   * <p><b>Note:</b> Modify this pattern based on your available readers. Use {@code
-   * plugin.getReaderNames()} to see available reader names.
-   */
-  private static final String READER_REGEX = ".*ASK LoGO.*|.*Contactless.*";
+  /** First block of the storage card user data area (blocks 0-3 hold UID, lock and OTP bytes). */
+  private static final int FIRST_USER_DATA_BLOCK = 4;
 
   /**
-   * Logical protocol identifiers used by the application.
-   *
-   * <p>These logical names map physical card protocols to application-level identifiers. Keyple
-   * uses these to route card commands to appropriate protocol handlers.
-   *
-   * <p>The mapping is established in {@link #initializeReader()} using {@code
-   * activateProtocol(physicalProtocol, logicalProtocol)}.
+   * Blocks read during the selection when the image cache is enabled: the header blocks and the
+   * first user data block, which every write of this demo changes.
    */
-  private static final String ISO_14443_4_LOGICAL_PROTOCOL = "ISO_14443_4"; // For Calypso cards
-
-  private static final String MIFARE_ULTRALIGHT_LOGICAL_PROTOCOL =
-      "MIFARE_ULTRALIGHT"; // For MIFARE UL cards
-  private static final String ST25_SRT512_LOGICAL_PROTOCOL = "ST25_SRT512"; // For ST25 memory tags
+  private static final BlockRange FINGERPRINT_BLOCKS = new BlockRange(0, FIRST_USER_DATA_BLOCK);
 
   /**
-   * Calypso Application Identifier (AID).
+   * Increments each byte value in a storage card block.
    *
-   * <p>This AID identifies a specific Calypso application on the card. The value "A000000291FF9101"
-   * corresponds to the Keyple test kit AID.
-   */
-  private static final String AID = "A000000291FF9101";
-
-  /**
-   * Short File Identifier (SFI) for Calypso Environment and Holder file.
+   * <p>This transform demonstrates block-level data manipulation by:
+   *
+   * <ol>
+   *   <li>Working directly on the block within the reusable memory image (no copy)
+   *   <li>Incrementing each byte value by 1 (with overflow wrapping)
+   *   <li>Reporting the block as changed, so that it is written
+   * </ol>
    *
-   * <p>SFI 0x07 typically contains:
+   * <p><b>Byte Arithmetic:</b> Java bytes are signed (-128 to +127), so increment operations wrap
+   * around:
    *
    * <ul>
-   *   <li>Environment data (transport network, application version)
-   *   <li>Holder information (cardholder data, validity dates)
+   *   <li>0x7F (127) + 1 = 0x80 (-128)
+   *   <li>0xFF (-1) + 1 = 0x00 (0)
    * </ul>
    *
-   * <p>This file is commonly read during card selection for identification purposes.
+   * <p><b>Note:</b> This is a demonstration operation. Real applications should implement proper
+   * data validation and error handling.
+   *
+   * <p>Blocks are typically 4 bytes for most storage cards.
    */
-  private static final byte SFI_ENVIRONMENT_AND_HOLDER = (byte) 0x07;
+  private static final BlockTransform INCREMENT_BLOCK_TRANSFORM =
+      new BlockTransform() {
+        @Override
+        public boolean apply(byte[] image, int offset, int blockSize, int blockNumber) {
+          // Increment each byte in the block
+          // Process from end to beginning for consistent behavior
+          for (int i = offset + blockSize - 1; i >= offset; i--) {
+            image[i] = (byte) (image[i] + 1);
+            // Note: Byte overflow is handled automatically by Java
+            // (e.g., (byte)256 becomes (byte)0)
+          }
+          return true;
+        }
+      };
+
+  /** Number of written blocks read back in {@link VerificationMode#SAMPLE} mode. */
+  private static final int VERIFICATION_SAMPLE_SIZE = 4;
+
+  /** Capacity and time to live of the image cache enabled by the {@code --image-cache} option. */
+  private static final int IMAGE_CACHE_CAPACITY = 10000;
+
+  private static final long IMAGE_CACHE_TTL_HOURS = 24;
+
+  /** Technology under which the Calypso taps are recorded (see {@link TapLatencyRecorder}). */
+  private static final String CALYPSO_TECHNOLOGY = "CALYPSO";
+
+  private static final String UNKNOWN_TECHNOLOGY = "UNKNOWN"; // Tap failed before the dispatch
+
+  private static final TapPhase[] TAP_PHASES = TapPhase.values();
+
+  private static final int PRODUCT_TYPE_COUNT = ProductType.values().length;
+
+  /** Blocks pre-read for a card whose selection scenario is unknown: none. */
+  private static final ReadPlan NO_PRE_READ = ReadPlan.of(Collections.<BlockRange>emptyList());
 
   // ===============================================================================================
   // INSTANCE VARIABLES
   // ===============================================================================================
 
-  private final Plugin plugin; // PC/SC plugin instance
+  private final Plugin plugin; // PC/SC (or simulated) plugin instance
+  private final boolean isPcscPlugin; // Whether PC/SC specific settings apply
   private final CardReader cardReader; // Configured card reader
   private final ReaderApiFactory readerApiFactory; // Factory for reader-related objects
+  private volatile TerminalConfiguration configuration; // Swapped as a whole on reload
   private final CalypsoCardApiFactory calypsoCardApiFactory; // Factory for Calypso-specific objects
+  private volatile CardSelectionManager cardSelectionManager; // Prebuilt selection scenario
+  private final Map<CardSelectionManager, ReadPlan[]> scenarioReadPlans = // By product type ordinal
+      Collections.synchronizedMap(new WeakHashMap<CardSelectionManager, ReadPlan[]>());
+  private final AdaptiveSelectionOrder selectionOrder = // Order of the cases of the scenario
+      new AdaptiveSelectionOrder();
+  private CardReaderObserver cardReaderObserver; // Observer of the continuous mode, if started
+  private volatile WriteVerifier writeVerifier = // Read-back performed after the writes
+      new WriteVerifier(VerificationMode.WRITTEN_RANGES, VERIFICATION_SAMPLE_SIZE);
+  private volatile CardImageCache cardImageCache; // Last known storage card images, if enabled
+  private volatile ApduTraceRecorder memoryDumpRecorder; // Binary side channel of the dumps
+  private final MemoryImage memoryImage = // Reused by the successive taps of the reader
+      MemoryImage.forLargestProductType();
+  private volatile LayoutSchema layoutSchema; // Fields of the card data, if enabled
+  private long[] fieldValues = new long[0]; // Reused by the successive taps of the reader
+  private volatile TapLatencyRecorder latencyRecorder; // Per-phase latency histograms, if enabled
+  private final long[] tapPhaseNanos = new long[TAP_PHASES.length]; // -1 if not run
+  private boolean isTapInProgress; // Whether the phases of the current tap are being timed
+  private String tapTechnology; // Technology of the card of the current tap
+  private ReadPlan[] selectedCardReadPlans; // Pre-reads of the scenario that selected the card
 
   /**
    * Constructs a new instance of the MultiTechTransaction class.
@@ -158,26 +241,366 @@ public class MultiTechTransaction {
    *   <li>Configures and registers the PC/SC plugin
    *   <li>Initializes and configures the card reader
    *   <li>Sets up the Calypso extension for advanced card operations
+   *   <li>Builds the selection scenario reused for every card
    * </ol>
    *
    * @throws RuntimeException if initialization fails (reader not found, driver issues, etc.)
    */
   public MultiTechTransaction() {
+    this(configurePcscPlugin());
+  }
+
+  /**
+   * Constructs a new instance of the MultiTechTransaction class using the provided plugin factory.
+   *
+   * <p>This constructor allows to run the same card processing against another plugin than PC/SC,
+   * typically the simulated plugin ({@code SimulatedPluginFactoryBuilder}) used to measure
+   * throughput and latency without hardware. The PC/SC specific reader settings are only applied
+   * when the factory is a {@link PcscPluginFactory}.
+   *
+   * @param pluginFactory The factory of the plugin providing the card reader
+   * @throws RuntimeException if initialization fails (reader not found, driver issues, etc.)
+   */
+  public MultiTechTransaction(KeyplePluginExtensionFactory pluginFactory) {
+    this(pluginFactory, TerminalConfiguration.loadDefault());
+  }
+
+  /**
+   * Constructs a new instance using the provided plugin factory and configuration.
+   *
+   * @param pluginFactory The factory of the plugin providing the card reader
+   * @param configuration The configuration of the readers and of the selection
+   * @throws RuntimeException if initialization fails (reader not found, driver issues, etc.)
+   */
+  public MultiTechTransaction(
+      KeyplePluginExtensionFactory pluginFactory, TerminalConfiguration configuration) {
+    // Register the plugin (PC/SC by default) and use the first compatible reader
+    this(
+        SmartCardServiceProvider.getService().registerPlugin(pluginFactory),
+        pluginFactory instanceof PcscPluginFactory,
+        null,
+        configuration);
+  }
+
+  /**
+   * Constructs a new instance bound to a reader of an already registered plugin.
+   *
+   * @param plugin The registered plugin
+   * @param isPcscPlugin Whether the PC/SC specific reader settings apply
+   * @param readerName The name of the reader, or null to use the first one matching the reader
+   *     pattern of the configuration
+   * @param configuration The configuration of the readers and of the selection
+   * @throws RuntimeException if initialization fails (reader not found, driver issues, etc.)
+   */
+  MultiTechTransaction(
+      Plugin plugin,
+      boolean isPcscPlugin,
+      String readerName,
+      TerminalConfiguration configuration) {
     // Step 1: Get the core smart card service
     SmartCardService service = SmartCardServiceProvider.getService();
 
-    // Step 2: Configure and register PC/SC plugin
-    PcscPluginFactory pluginFactory = configurePcscPlugin();
-    this.plugin = service.registerPlugin(pluginFactory);
+    // Step 2: Keep the registered plugin and the configuration
+    this.plugin = plugin;
+    this.isPcscPlugin = isPcscPlugin;
+    this.configuration = configuration;
 
     // Step 3: Get reader API factory for creating selectors and managers
     this.readerApiFactory = service.getReaderApiFactory();
 
     // Step 4: Initialize and configure the card reader
-    this.cardReader = initializeReader();
+    this.cardReader = initializeReader(readerName);
 
     // Step 5: Initialize Calypso extension for advanced card operations
     this.calypsoCardApiFactory = initializeCalypsoExtension();
+
+    // Step 6: Build the selection scenario once, it is reused for every card
+    this.cardSelectionManager = prepareCardSelection();
+  }
+
+  /**
+   * Registers the plugin and creates one instance for each of its readers matching the reader
+   * pattern of the default configuration.
+   *
+   * @param pluginFactory The factory of the plugin providing the card readers
+   * @return A not empty list, in the order of the reader names
+   * @throws RuntimeException if no compatible reader is found or initialization fails
+   * @see #createForAllReaders(KeyplePluginExtensionFactory, TerminalConfiguration)
+   */
+  public static List<MultiTechTransaction> createForAllReaders(
+      KeyplePluginExtensionFactory pluginFactory) {
+    return createForAllReaders(pluginFactory, TerminalConfiguration.loadDefault());
+  }
+
+  /**
+   * Registers the plugin and creates one instance for each of its readers matching the reader
+   * pattern of a configuration.
+   *
+   * <p>This is the entry point of the terminals having several contactless heads: each instance
+   * owns its reader and its selection scenario, so the instances can process cards concurrently,
+   * typically with a {@code MultiReaderEngine}.
+   *
+   * @param pluginFactory The factory of the plugin providing the card readers
+   * @param configuration The configuration of the readers and of the selection
+   * @return A not empty list, in the order of the reader names
+   * @throws RuntimeException if no compatible reader is found or initialization fails
+   */
+  public static List<MultiTechTransaction> createForAllReaders(
+      KeyplePluginExtensionFactory pluginFactory, TerminalConfiguration configuration) {
+    Plugin plugin = SmartCardServiceProvider.getService().registerPlugin(pluginFactory);
+    boolean isPcscPlugin = pluginFactory instanceof PcscPluginFactory;
+    List<String> readerNames = new ArrayList<String>();
+    for (String readerName : plugin.getReaderNames()) {
+      if (configuration.matchesReader(readerName)) {
+        readerNames.add(readerName);
+      }
+    }
+    if (readerNames.isEmpty()) {
+      throw new RuntimeException(
+          "No compatible reader found. Pattern: "
+              + configuration.getReaderPattern()
+              + ". Available readers: "
+              + plugin.getReaderNames());
+    }
+    Collections.sort(readerNames);
+    List<MultiTechTransaction> transactions = new ArrayList<MultiTechTransaction>();
+    for (String readerName : readerNames) {
+      transactions.add(new MultiTechTransaction(plugin, isPcscPlugin, readerName, configuration));
+    }
+    return transactions;
+  }
+
+  /**
+   * Returns the card reader used by this instance.
+   *
+   * @return The configured card reader
+   */
+  public CardReader getCardReader() {
+    return cardReader;
+  }
+
+  /**
+   * Returns the plugin of the card reader.
+   *
+   * @return The registered plugin
+   */
+  public Plugin getPlugin() {
+    return plugin;
+  }
+
+  /**
+   * Returns the configuration in use.
+   *
+   * @return The current configuration
+   */
+  public TerminalConfiguration getConfiguration() {
+    return configuration;
+  }
+
+  /**
+   * Replaces the configuration, typically reloaded by a {@link ConfigurationWatcher}.
+   *
+   * <p>The new configuration is swapped in as a whole: the taps in progress complete with the
+   * selection scenario they started with, and the next tap uses a scenario rebuilt from the new
+   * configuration. The protocol mappings of the reader are updated if they changed. A change of
+   * the reader pattern only applies to the readers chosen at the next startup.
+   *
+   * <p>In continuous mode (see {@link #startCardDetection()}), the detection is restarted so that
+   * the reader schedules the new scenario.
+   *
+   * @param configuration The new configuration
+   */
+  public synchronized void setConfiguration(TerminalConfiguration configuration) {
+    TerminalConfiguration previous = this.configuration;
+    if (!configuration.getProtocolMappings().equals(previous.getProtocolMappings())) {
+      ConfigurableCardReader configReader = (ConfigurableCardReader) cardReader;
+      for (String physicalProtocol : previous.getProtocolMappings().keySet()) {
+        if (!configuration.getProtocolMappings().containsKey(physicalProtocol)) {
+          configReader.deactivateProtocol(physicalProtocol);
+        }
+      }
+      activateProtocols(configReader, configuration);
+    }
+    this.configuration = configuration;
+    invalidateCardSelectionScenario();
+    if (cardReaderObserver != null) {
+      stopCardDetection();
+      startCardDetection();
+    }
+  }
+
+  /**
+   * Returns the selection scenario applied to every card.
+   *
+   * <p>The scenario is built once at startup and reused for each tap, avoiding the creation of the
+   * selectors, extensions and manager on every card. After {@link
+   * #invalidateCardSelectionScenario()}, it is rebuilt on the next call.
+   *
+   * <p>The returned manager must not be modified, nor used concurrently by several readers.
+   *
+   * @return The prebuilt selection manager
+   */
+  public CardSelectionManager getCardSelectionManager() {
+    CardSelectionManager manager = cardSelectionManager;
+    if (manager == null) {
+      synchronized (this) {
+        manager = cardSelectionManager;
+        if (manager == null) {
+          manager = prepareCardSelection();
+          cardSelectionManager = manager;
+        }
+      }
+    }
+    return manager;
+  }
+
+  /**
+   * Returns the order of the selection cases of the reader, adapted to the technologies of the
+   * cards it sees, and its metrics.
+   *
+   * <p>The order is learned from the cards selected by {@link #execute()}, the scenario being
+   * rebuilt when it changes. In continuous mode, the scenario scheduled on the reader keeps its
+   * order until the detection is restarted.
+   *
+   * @return The adaptive order
+   */
+  public AdaptiveSelectionOrder getSelectionOrder() {
+    return selectionOrder;
+  }
+
+  /**
+   * Discards the prebuilt selection scenario, so that it is rebuilt for the next card.
+   *
+   * <p>To be called when the configuration the scenario depends on (AID, protocols, pre-read
+   * blocks...) has changed.
+   */
+  public void invalidateCardSelectionScenario() {
+    cardSelectionManager = null;
+    logger.info("Card selection scenario invalidated");
+  }
+
+  /**
+   * Sets the extent of the read-back performed by {@link #verifyStorageCard(
+   * StorageCardTransactionManager, StorageCard, WritePlan)} after the writes.
+   *
+   * <p>By default, only the written blocks are read back ({@link
+   * VerificationMode#WRITTEN_RANGES}).
+   *
+   * @param verificationMode The verification mode
+   */
+  public void setVerificationMode(VerificationMode verificationMode) {
+    writeVerifier = new WriteVerifier(verificationMode, VERIFICATION_SAMPLE_SIZE);
+    logger.info("Verification mode set to {}", verificationMode);
+  }
+
+  /**
+   * Enables the cache of the storage card images, or disables it if null.
+   *
+   * <p>When enabled, the selection pre-reads the fingerprint blocks (header and first user data
+   * block) in addition to the read plan of the configuration, and {@link
+   * #readStorageCard(StorageCardTransactionManager, StorageCard)} reads the rest of the memory only
+   * if these blocks differ from the cached image. The cache may be shared by several instances.
+   *
+   * <p>The selection scenario is invalidated, so that it is rebuilt with the new pre-reads.
+   *
+   * @param cardImageCache The cache (may be null)
+   */
+  public void setCardImageCache(CardImageCache cardImageCache) {
+    this.cardImageCache = cardImageCache;
+    invalidateCardSelectionScenario();
+  }
+
+  /**
+   * Sets the recorder receiving the storage card memory dumps, or disables the recording if null.
+   *
+   * <p>The dumps are recorded as raw bytes in the binary trace (see {@link
+   * ApduTraceRecorder#dumpMemory(String, byte[])}), next to the APDUs, whatever the log level.
+   *
+   * @param memoryDumpRecorder The recorder (may be null)
+   */
+  public void setMemoryDumpRecorder(ApduTraceRecorder memoryDumpRecorder) {
+    this.memoryDumpRecorder = memoryDumpRecorder;
+  }
+
+  /**
+   * Sets the schema of the data layouts decoding the fields of the storage card memory, or disables
+   * the decoding if null.
+   *
+   * <p>Before the rest of the memory is read, the fields of the layout of its product type (see
+   * {@link DataLayout}) are decoded and logged, only the blocks holding them being read from the
+   * card: fields within the blocks read during the selection (see {@link TerminalConfiguration})
+   * are decoded without any exchange with the card, even when the image is then found in the image
+   * cache. The schema may be shared by several instances.
+   *
+   * @param layoutSchema The schema (may be null)
+   */
+  public void setLayoutSchema(LayoutSchema layoutSchema) {
+    this.layoutSchema = layoutSchema;
+  }
+
+  /**
+   * Sets the recorder receiving the duration of each phase of the taps, or disables the timing if
+   * null.
+   *
+   * <p>The phases of a tap (see {@link TapPhase}) are recorded together at its end, under the name
+   * of the reader and the technology of the card (the product type for a storage card), including
+   * when the tap fails. Only the taps processed by {@link #execute()} or {@link
+   * #processSelectedCard(SmartCard)} are timed. The recorder may be shared by several instances.
+   *
+   * @param latencyRecorder The recorder (may be null)
+   */
+  public void setLatencyRecorder(TapLatencyRecorder latencyRecorder) {
+    this.latencyRecorder = latencyRecorder;
+  }
+
+  /**
+   * Starts the continuous processing of the cards presented to the reader.
+   *
+   * <p>Instead of polling {@code isCardPresent()} and then running the selection, the prebuilt
+   * selection scenario is scheduled on the observable reader in {@link
+   * ObservableCardReader.DetectionMode#REPEATING REPEATING} mode: the reader runs the selection as
+   * soon as a card enters the field and notifies the result to a {@link CardReaderObserver}, which
+   * processes the card with {@link #processSelectedCard(SmartCard)} and hands the reader back for
+   * the removal and the next card.
+   *
+   * <p>The scenario is bound to the reader when the detection starts: after {@link
+   * #invalidateCardSelectionScenario()}, the detection must be stopped and started again.
+   *
+   * @throws IllegalStateException if the reader is not observable or the detection is already
+   *     started
+   */
+  public synchronized void startCardDetection() {
+    if (!(cardReader instanceof ObservableCardReader)) {
+      throw new IllegalStateException(
+          "Reader '" + cardReader.getName() + "' does not support card detection");
+    }
+    if (cardReaderObserver != null) {
+      throw new IllegalStateException("Card detection already started");
+    }
+    ObservableCardReader observableReader = (ObservableCardReader) cardReader;
+    CardSelectionManager selectionManager = getCardSelectionManager();
+
+    // Only cards matching one of the selections are notified, others are silently ignored
+    selectionManager.scheduleCardSelectionScenario(
+        observableReader, ObservableCardReader.NotificationMode.MATCHED_ONLY);
+
+    cardReaderObserver = new CardReaderObserver(this, selectionManager);
+    observableReader.setReaderObservationExceptionHandler(cardReaderObserver);
+    observableReader.addObserver(cardReaderObserver);
+    observableReader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+    logger.info("Card detection started on reader: {}", cardReader.getName());
+  }
+
+  /** Stops the continuous processing started by {@link #startCardDetection()}. */
+  public synchronized void stopCardDetection() {
+    if (cardReaderObserver == null) {
+      return;
+    }
+    ObservableCardReader observableReader = (ObservableCardReader) cardReader;
+    observableReader.stopCardDetection();
+    observableReader.removeObserver(cardReaderObserver);
+    cardReaderObserver = null;
+    logger.info("Card detection stopped on reader: {}", cardReader.getName());
   }
 
   /**
@@ -185,7 +608,7 @@ public class MultiTechTransaction {
    *
    * @return Configured PC/SC plugin factory ready for registration
    */
-  private PcscPluginFactory configurePcscPlugin() {
+  private static PcscPluginFactory configurePcscPlugin() {
     PcscPluginFactoryBuilder.Builder pcscPluginFactoryBuilder = PcscPluginFactoryBuilder.builder();
     // Using default configuration - suitable for most use cases
     // For production, consider adding error handling and custom timeouts
@@ -211,11 +634,18 @@ public class MultiTechTransaction {
    */
   public void execute()
       throws UnexpectedCommandStatusException, ReaderIOException, CardIOException {
-    // Pre-condition: Ensure a card is present before attempting operations
-    checkCardPresent();
+    beginTap();
+    try {
+      // Pre-condition: Ensure a card is present before attempting operations
+      long start = System.nanoTime();
+      checkCardPresent();
+      recordPhase(TapPhase.PRESENCE_CHECK, start);
 
-    // Main processing: Handle the detected card based on its technology
-    processCard();
+      // Main processing: Handle the detected card based on its technology
+      processCard();
+    } finally {
+      endTap();
+    }
   }
 
   /**
@@ -231,7 +661,8 @@ public class MultiTechTransaction {
    *
    * <p><b>Selection Strategy:</b> The selection manager tries each configured protocol in order
    * until one succeeds. This allows the same code to handle different card technologies
-   * transparently.
+   * transparently, the cases being tried in the adaptive order of the reader (see {@link
+   * #selectCard()}).
    *
    * <p><b>Technology-Specific Operations:</b>
    *
@@ -249,33 +680,138 @@ public class MultiTechTransaction {
 
     // STEP 1: Card Selection - Try all configured protocols until one succeeds
     logger.info("Starting multi-technology card selection...");
-    CardSelectionManager selectionManager = prepareCardSelection();
-    CardSelectionResult result = selectionManager.processCardSelectionScenario(cardReader);
+    long start = System.nanoTime();
+    SmartCard smartCard = selectCard();
+    recordPhase(TapPhase.SELECTION, start);
 
-    // STEP 2: Analyze selection result and determine card type
-    SmartCard smartCard = result.getActiveSmartCard();
-    if (smartCard == null) {
-      throw new IllegalStateException(
-          "Card selection failed - no supported technology detected. "
-              + "Ensure card is compatible with configured protocols.");
+    logger.info("Card selected successfully: {}", smartCard.getClass().getSimpleName());
+
+    // STEP 2: Execute technology-specific operations based on detected card type
+    processSelectedCard(smartCard);
+  }
+
+  /**
+   * Selects the card present in the field with the full selection scenario, its cases being tried
+   * in the adaptive order of the reader (see {@link #getSelectionOrder()}).
+   *
+   * <p>The technology of the card is not classified before the selection: the reader API exposes
+   * neither the power-on data nor the protocol of the card in the field until a selection is run,
+   * the protocol reported by the reader beforehand being the one of the previous card. The cases
+   * whose protocol does not match the card are rejected by the reader without any exchange with the
+   * card, and the adaptive order puts the most frequent technology first.
+   *
+   * @return The selected card (Calypso or storage card)
+   * @throws IllegalStateException if no configured technology matched the card
+   */
+  private SmartCard selectCard() {
+    SmartCard smartCard = processCardSelectionScenario(getCardSelectionManager());
+    if (selectionOrder.recordSelection(getTechnologyName(smartCard))) {
+      logger.info("[{}] Selection order changed: {}", cardReader.getName(), selectionOrder);
+      invalidateCardSelectionScenario();
     }
+    return smartCard;
+  }
 
-    logger.info("Card selected successfully: {}", smartCard.getClass().getSimpleName());
+  /**
+   * Executes the technology-specific operations on a selected card.
+   *
+   * <p>The blocks pre-read during the selection of a storage card are those of the scenario of the
+   * last {@link #processCardSelectionScenario(CardSelectionManager)} call.
+   *
+   * @param smartCard The card returned by the selection scenario
+   * @throws UnexpectedCommandStatusException if card operations fail
+   * @throws ReaderIOException if reader communication fails
+   * @throws CardIOException if card communication fails
+   */
+  public void processSelectedCard(SmartCard smartCard)
+      throws UnexpectedCommandStatusException, ReaderIOException, CardIOException {
+    // In continuous mode, the tap starts here, the selection being done by the reader
+    boolean isNewTap = !isTapInProgress;
+    if (isNewTap) {
+      beginTap();
+    }
+    try {
+      long start = System.nanoTime();
+      if (smartCard instanceof CalypsoCard) {
+        // Calypso cards support complex file structures and cryptographic operations
+        logger.info("Processing Calypso card...");
+        tapTechnology = CALYPSO_TECHNOLOGY;
+        recordPhase(TapPhase.DISPATCH, start);
+        processCalypsoCard((CalypsoCard) smartCard);
+      } else if (smartCard instanceof StorageCard) {
+        // Storage cards provide simple block-based memory access
+        logger.info("Processing storage card...");
+        tapTechnology = ((StorageCard) smartCard).getProductType().name();
+        recordPhase(TapPhase.DISPATCH, start);
+        processStorageCard((StorageCard) smartCard);
+      } else {
+        logger.warn("Unknown card type: {}", smartCard.getClass().getName());
+      }
+    } finally {
+      if (isNewTap) {
+        endTap();
+      }
+    }
+  }
 
-    // STEP 3: Execute technology-specific operations based on detected card type
-    if (smartCard instanceof CalypsoCard) {
-      // Calypso cards support complex file structures and cryptographic operations
-      logger.info("Processing Calypso card...");
-      processCalypsoCard((CalypsoCard) smartCard);
-    } else if (smartCard instanceof StorageCard) {
-      // Storage cards provide simple block-based memory access
-      logger.info("Processing storage card...");
-      processStorageCard((StorageCard) smartCard);
-    } else {
-      logger.warn("Unknown card type: {}", smartCard.getClass().getName());
+  /**
+   * Executes the technology-specific operations on a card selected by the scenario scheduled on
+   * the reader (continuous mode).
+   *
+   * @param smartCard The card returned by the selection scenario
+   * @param selectionManager The manager holding the scheduled selection scenario
+   * @throws UnexpectedCommandStatusException if card operations fail
+   * @throws ReaderIOException if reader communication fails
+   * @throws CardIOException if card communication fails
+   */
+  void processSelectedCard(SmartCard smartCard, CardSelectionManager selectionManager)
+      throws UnexpectedCommandStatusException, ReaderIOException, CardIOException {
+    selectedCardReadPlans = scenarioReadPlans.get(selectionManager);
+    processSelectedCard(smartCard);
+  }
+
+  /**
+   * Executes the selection scenario on the card reader and returns the selected card.
+   *
+   * <p>The blocks pre-read by the scenario are those used by the processing of the returned card,
+   * even if the scenario has been rebuilt since.
+   *
+   * @param selectionManager The selection manager, usually {@link #getCardSelectionManager()}
+   * @return The selected card (Calypso or storage card)
+   * @throws IllegalStateException if no configured technology matched the card
+   */
+  public SmartCard processCardSelectionScenario(CardSelectionManager selectionManager) {
+    CardEvent event = CardEvents.beginCardSelection(cardReader.getName());
+    try {
+      CardSelectionResult result = selectionManager.processCardSelectionScenario(cardReader);
+
+      // Analyze selection result and determine card type
+      SmartCard smartCard = result.getActiveSmartCard();
+      if (smartCard == null) {
+        throw new IllegalStateException(
+            "Card selection failed - no supported technology detected. "
+                + "Ensure card is compatible with configured protocols.");
+      }
+      event.setProductType(getTechnologyName(smartCard));
+      selectedCardReadPlans = scenarioReadPlans.get(selectionManager);
+      return smartCard;
+    } finally {
+      event.finish();
     }
   }
 
+  /**
+   * Returns the name of the technology of a selected card.
+   *
+   * @param smartCard The selected card
+   * @return {@code CALYPSO} or the name of the storage card product type
+   */
+  private static String getTechnologyName(SmartCard smartCard) {
+    return smartCard instanceof CalypsoCard
+        ? CALYPSO_TECHNOLOGY
+        : ((StorageCard) smartCard).getProductType().name();
+  }
+
   /**
    * Processes Calypso cards with file-based operations.
    *
@@ -292,25 +828,31 @@ public class MultiTechTransaction {
    *
    * @param card The selected Calypso card instance
    */
-  private void processCalypsoCard(CalypsoCard card) {
-    logger.info("=== Calypso Card Operations ===");
-
-    // Extract and log card identification information
-    String csn = HexUtil.toHex(card.getApplicationSerialNumber());
-    String sfiEnvHolder = HexUtil.toHex(SFI_ENVIRONMENT_AND_HOLDER);
-
-    logger.info("Card details: {}", card);
-    logger.info("Calypso Serial Number (CSN): {}", csn);
-    logger.info(
-        "Environment & Holder file (SFI {}h, record 1): {}",
-        sfiEnvHolder,
-        card.getFileBySfi(SFI_ENVIRONMENT_AND_HOLDER));
-
-    // Note: In real applications, you would typically:
-    // 1. Authenticate with the card using security keys
-    // 2. Read/write specific application data
-    // 3. Perform cryptographic operations (MAC verification, etc.)
-    // 4. Handle card lifecycle operations (reload, invalidate, etc.)
+  public void processCalypsoCard(CalypsoCard card) {
+    CardEvent event = CardEvents.beginCalypsoCardProcessing(cardReader.getName());
+    try {
+      logger.info("=== Calypso Card Operations ===");
+
+      // Extract and log card identification information
+      String csn = HexUtil.toHex(card.getApplicationSerialNumber());
+      byte sfi = configuration.getCalypsoSfiEnvironmentAndHolder();
+      String sfiEnvHolder = HexUtil.toHex(sfi);
+
+      logger.info("Card details: {}", card);
+      logger.info("Calypso Serial Number (CSN): {}", csn);
+      logger.info(
+          "Environment & Holder file (SFI {}h, record 1): {}",
+          sfiEnvHolder,
+          card.getFileBySfi(sfi));
+
+      // Note: In real applications, you would typically:
+      // 1. Authenticate with the card using security keys
+      // 2. Read/write specific application data
+      // 3. Perform cryptographic operations (MAC verification, etc.)
+      // 4. Handle card lifecycle operations (reload, invalidate, etc.)
+    } finally {
+      event.finish();
+    }
   }
 
   /**
@@ -344,7 +886,7 @@ public class MultiTechTransaction {
    * @throws ReaderIOException if reader communication fails
    * @throws CardIOException if card communication fails
    */
-  private void processStorageCard(StorageCard card)
+  public void processStorageCard(StorageCard card)
       throws UnexpectedCommandStatusException, ReaderIOException, CardIOException {
 
     logger.info("=== Storage Card Operations ===");
@@ -354,123 +896,377 @@ public class MultiTechTransaction {
     int lastBlock = card.getProductType().getBlockCount() - 1;
     logger.info("Memory organization: {} blocks (0 to {})", lastBlock + 1, lastBlock);
 
-    // Log initial card content (data read during selection)
-    logger.info("Initial card memory content:");
-    logCardMemoryContent(card);
+    // Dump initial card content (data read during selection)
+    if (isMemoryDumpEnabled()) {
+      for (BlockRange range : getPreReadPlan(card.getProductType()).getRanges()) {
+        dumpMemoryContent(
+            "Initial blocks " + range, card.getBlocks(range.getFromBlock(), range.getToBlock()));
+      }
+    }
 
     // Create transaction manager for memory operations
-    // The transaction manager batches operations for efficiency
-    StorageCardExtensionService storageCardExtensionService =
-        StorageCardExtensionService.getInstance();
-
-    // Optional: Disable multi-block read mode for compatibility with some cards
-    // storageCardExtensionService.getContextSetting().disableMultiBlockReadMode();
+    StorageCardTransactionManager transaction = createStorageCardTransaction(card);
 
-    StorageCardTransactionManager transaction =
-        storageCardExtensionService.createStorageCardTransactionManager(cardReader, card);
+    // Decode the fields of the card data, if the layout of the product type is known, reading
+    // only the blocks holding them
+    LazyCardMemory memory = createCardMemory(transaction, card);
+    decodeFields(card.getProductType(), memory);
 
-    // OPERATION 1: Read all blocks to get complete memory content
-    logger.info("Reading all memory blocks...");
-    transaction.prepareReadBlocks(0, lastBlock);
-    transaction.processCommands(ChannelControl.KEEP_OPEN); // Keep channel for more operations
+    // OPERATION 1: Read the blocks not read yet (unless cached)
+    byte[] memoryImage = readStorageCard(card, memory);
 
-    logger.info("Memory content after full read:");
-    logCardMemoryContent(card);
+    if (isMemoryDumpEnabled()) {
+      dumpMemoryContent("After full read", memoryImage);
+    }
 
     // OPERATION 2: Write demonstration - increment each byte in user data area
-    // Start from block 4 to avoid overwriting manufacturer data/OTP areas
-    // Blocks 0-3 often contain:
-    // - Block 0: UID (Unique Identifier) - Read-only
-    // - Block 1-2: Manufacturer data - Often read-only
-    // - Block 3: OTP (One-Time Programmable) - Write once only
-    logger.info("Writing incremented values to user data blocks (4 to {})...", lastBlock);
+    WritePlan writePlan = writeStorageCard(transaction, card, memoryImage);
+
+    // OPERATION 3: Read the written blocks back to verify write operations
+    verifyStorageCard(transaction, card, writePlan);
 
-    for (int i = 4; i <= lastBlock; i++) {
-      byte[] incrementedData = incrementBlock(card, i);
-      transaction.prepareWriteBlocks(i, incrementedData);
-      logger.debug("Prepared write for block {}: {}", i, HexUtil.toHex(incrementedData));
+    if (isMemoryDumpEnabled()) {
+      dumpMemoryContent("Final", writePlan.getTargetImage());
     }
 
-    // Execute all write operations
-    transaction.processCommands(ChannelControl.KEEP_OPEN);
+    logger.info("Storage card operations completed successfully.");
+  }
 
-    // OPERATION 3: Read all blocks again to verify write operations
-    logger.info("Reading memory after write operations...");
-    transaction.prepareReadBlocks(0, lastBlock);
-    transaction.processCommands(ChannelControl.CLOSE_AFTER); // Close channel when done
+  /**
+   * Creates the transaction manager used for the memory operations of a storage card.
+   *
+   * <p>The transaction manager batches operations for efficiency.
+   *
+   * @param card The selected storage card instance
+   * @return A new transaction manager bound to the card reader
+   */
+  public StorageCardTransactionManager createStorageCardTransaction(StorageCard card) {
+    StorageCardExtensionService storageCardExtensionService =
+        StorageCardExtensionService.getInstance();
 
-    logger.info("Final memory content:");
-    logCardMemoryContent(card);
+    // Optional: Disable multi-block read mode for compatibility with some cards
+    // storageCardExtensionService.getContextSetting().disableMultiBlockReadMode();
 
-    logger.info("Storage card operations completed successfully.");
+    return storageCardExtensionService.createStorageCardTransactionManager(cardReader, card);
   }
 
   /**
-   * Logs the complete memory content of a storage card.
+   * Returns the memory of a selected storage card, whose blocks not read during the selection are
+   * read on first access, keeping the channel open.
    *
-   * <p>This utility method reads all blocks from the card and displays them as a continuous
-   * hexadecimal string for easy analysis and debugging.
+   * <p>Each access to blocks not read yet reads the read-ahead windows holding them, sized by
+   * product type (see {@link LazyCardMemory#getDefaultReadAheadBlocks(ProductType)}), so that an
+   * application decoding a few fields of a large memory only reads the blocks it touches.
    *
-   * <p>The memory is displayed as: BLOCK0BLOCK1BLOCK2...BLOCKn where each block is typically 4
-   * bytes (8 hex characters).
+   * @param transaction The transaction manager bound to the card
+   * @param card The selected storage card instance
+   * @return A new lazy memory, to be used during the current tap only
+   */
+  public LazyCardMemory createCardMemory(
+      final StorageCardTransactionManager transaction, StorageCard card) {
+    final ProductType productType = card.getProductType();
+    return new LazyCardMemory(
+        card,
+        getPreReadPlan(productType),
+        new BlockFetcher() {
+          @Override
+          public void fetch(List<BlockRange> ranges) {
+            long start = System.nanoTime();
+            for (BlockRange range : ranges) {
+              transaction.prepareReadBlocks(range.getFromBlock(), range.getToBlock());
+            }
+            CardEvent event =
+                CardEvents.beginStorageCardCommands(
+                    cardReader.getName(),
+                    productType.name(),
+                    TapPhase.READ,
+                    ChannelControl.KEEP_OPEN);
+            try {
+              transaction.processCommands(ChannelControl.KEEP_OPEN); // Keep channel for more ops
+            } finally {
+              event.setBlocks(ranges, productType.getBlockSize()).finish();
+            }
+            recordPhase(TapPhase.READ, start);
+          }
+        });
+  }
+
+  /**
+   * Reads the whole memory of the storage card, keeping the channel open (first step of the
+   * storage card processing).
+   *
+   * <p>Only the blocks not read during the selection are read (see {@link
+   * #createCardMemory(StorageCardTransactionManager, StorageCard)}). When the image cache is
+   * enabled (see {@link #setCardImageCache(CardImageCache)}), the cached image is returned without
+   * any exchange with the card if the fingerprint blocks read during the selection match it.
+   * Otherwise the memory is read and the cache updated.
    *
-   * @param card The storage card to read memory from
+   * @param transaction The transaction manager bound to the card
+   * @param card The selected storage card instance
+   * @return The memory image of the card, starting at block 0
    */
-  private static void logCardMemoryContent(StorageCard card) {
-    try {
-      // Read all blocks from 0 to the last available block
-      byte[] memoryContent = card.getBlocks(0, card.getProductType().getBlockCount() - 1);
-      String hexContent = HexUtil.toHex(memoryContent);
+  public byte[] readStorageCard(StorageCardTransactionManager transaction, StorageCard card) {
+    return readStorageCard(card, createCardMemory(transaction, card));
+  }
 
-      logger.info("Complete memory content ({} bytes): {}", memoryContent.length, hexContent);
-    } catch (Exception e) {
-      logger.error("Failed to read card memory content: {}", e.getMessage());
+  /**
+   * Reads the blocks of a card memory not read yet, or takes its image from the cache.
+   *
+   * @param card The selected storage card instance
+   * @param memory The memory of the card, possibly partially read
+   * @return The memory image of the card, starting at block 0
+   */
+  private byte[] readStorageCard(StorageCard card, LazyCardMemory memory) {
+    ProductType productType = card.getProductType();
+    int lastBlock = productType.getBlockCount() - 1;
+    CardImageCache cache = cardImageCache;
+    if (cache != null) {
+      byte[] fingerprint =
+          memory.getBlocks(FINGERPRINT_BLOCKS.getFromBlock(), FINGERPRINT_BLOCKS.getToBlock());
+      byte[] cachedImage = cache.get(card.getUID(), fingerprint);
+      if (cachedImage != null) {
+        logger.info("Card image found in cache, full read skipped");
+        return cachedImage;
+      }
+    }
+    logger.info("Reading the memory blocks not read during the selection...");
+    byte[] image = memory.getBlocks(0, lastBlock);
+    if (cache != null) {
+      cache.put(
+          card.getUID(), FINGERPRINT_BLOCKS.copyOf(image, productType.getBlockSize()), image);
     }
+    return image;
   }
 
   /**
-   * Increments each byte value in a storage card block.
+   * Writes the incremented content of the user data blocks, keeping the channel open (second step
+   * of the storage card processing).
    *
-   * <p>This method demonstrates block-level data manipulation by:
-   *
-   * <ol>
-   *   <li>Reading the current block content
-   *   <li>Incrementing each byte value by 1 (with overflow wrapping)
-   *   <li>Returning the modified block for writing
-   * </ol>
-   *
-   * <p><b>Byte Arithmetic:</b> Java bytes are signed (-128 to +127), so increment operations wrap
-   * around:
+   * <p>Writing starts from block 4 to avoid overwriting manufacturer data/OTP areas. Blocks 0-3
+   * often contain:
    *
    * <ul>
-   *   <li>0x7F (127) + 1 = 0x80 (-128)
-   *   <li>0xFF (-1) + 1 = 0x00 (0)
+   *   <li>Block 0: UID (Unique Identifier) - Read-only
+   *   <li>Block 1-2: Manufacturer data - Often read-only
+   *   <li>Block 3: OTP (One-Time Programmable) - Write once only
    * </ul>
    *
-   * <p><b>Note:</b> This is a demonstration operation. Real applications should implement proper
-   * data validation and error handling.
+   * <p><b>Delta writes:</b> the target image is compared with the card content read before, and
+   * only the changed blocks are written, consecutive changed blocks being merged into a single
+   * write operation (see {@link WritePlanner}). The current content is the image returned by {@link
+   * #readStorageCard(StorageCardTransactionManager, StorageCard)}, possibly taken from the image
+   * cache, the blocks not read during the selection being unknown to the {@link StorageCard}
+   * itself. The cached image is replaced by the written one.
    *
-   * @param card The storage card containing the block
-   * @param blockNumber The block number to increment (0-based)
-   * @return New block content with incremented byte values
+   * @param transaction The transaction manager bound to the card
+   * @param card The selected storage card instance
+   * @param currentImage The current memory image of the card, starting at block 0
+   * @return The applied write plan, empty if the content was unchanged, referencing the memory
+   *     image of this instance until its next write
    */
-  private byte[] incrementBlock(StorageCard card, int blockNumber) {
-    // Get current block content (typically 4 bytes for most storage cards)
-    byte[] block = card.getBlock(blockNumber);
+  public WritePlan writeStorageCard(
+      StorageCardTransactionManager transaction, StorageCard card, byte[] currentImage) {
+    ProductType productType = card.getProductType();
+    int lastBlock = productType.getBlockCount() - 1;
+    int blockSize = productType.getBlockSize();
+    logger.info("Writing incremented values to user data blocks (4 to {})...", lastBlock);
+
+    // Build the target image in place from the card content, planning the changed blocks only
+    memoryImage.load(currentImage, blockSize);
+    WritePlanner writePlanner = WritePlanner.forProductType(productType);
+    WritePlan writePlan =
+        writePlanner.applyTransform(
+            memoryImage, FIRST_USER_DATA_BLOCK, lastBlock, INCREMENT_BLOCK_TRANSFORM);
+    if (writePlan.isEmpty()) {
+      logger.info("No block changed, nothing to write");
+      return writePlan;
+    }
+    writePlanner.prepareWrites(transaction, writePlan);
+    logger.debug("Prepared writes for blocks {}", writePlan.getRanges());
+
+    // Execute all write operations, the cached image being unknown until they succeed
+    CardImageCache cache = cardImageCache;
+    if (cache != null) {
+      cache.invalidate(card.getUID());
+    }
+    long start = System.nanoTime();
+    CardEvent event =
+        CardEvents.beginStorageCardCommands(
+            cardReader.getName(), productType.name(), TapPhase.WRITE, ChannelControl.KEEP_OPEN);
+    try {
+      transaction.processCommands(ChannelControl.KEEP_OPEN);
+    } finally {
+      event.setBlocks(writePlan.getRanges(), blockSize).finish();
+    }
+    recordPhase(TapPhase.WRITE, start);
+    if (cache != null) {
+      cache.put(
+          card.getUID(),
+          FINGERPRINT_BLOCKS.copyOf(memoryImage.array(), blockSize),
+          memoryImage); // Copied by the cache only
+    }
+    return writePlan;
+  }
 
-    // Create a copy to avoid modifying the original card data
-    byte[] incrementedBlock = new byte[block.length];
-    System.arraycopy(block, 0, incrementedBlock, 0, block.length);
+  /**
+   * Reads blocks back to verify the write operations and closes the channel (last step of the
+   * storage card processing).
+   *
+   * <p>The blocks read back depend on the verification mode (see {@link
+   * #setVerificationMode(VerificationMode)}): by default only the written ranges are read, instead
+   * of the whole memory. Each block whose content differs from the written one is logged.
+   *
+   * <p>The channel is closed after the read-back. When no block is read back (e.g. {@link
+   * VerificationMode#NONE}), it is closed by a command of its own, without any APDU.
+   *
+   * @param transaction The transaction manager bound to the card
+   * @param card The selected storage card instance
+   * @param writePlan The plan returned by {@link #writeStorageCard(StorageCardTransactionManager,
+   *     StorageCard, byte[])}
+   * @return The verification result listing the mismatching blocks
+   */
+  public VerificationResult verifyStorageCard(
+      StorageCardTransactionManager transaction, StorageCard card, WritePlan writePlan) {
+    WriteVerifier verifier = writeVerifier;
+    ProductType productType = card.getProductType();
+    int lastBlock = productType.getBlockCount() - 1;
+    List<BlockRange> checkedRanges = verifier.selectRanges(writePlan, lastBlock);
+    logger.info("Reading back blocks {} ({} mode)...", checkedRanges, verifier.getMode());
+    long start = System.nanoTime();
+    if (!checkedRanges.isEmpty()) {
+      verifier.prepareReads(transaction, checkedRanges);
+      CardEvent verifyEvent =
+          CardEvents.beginStorageCardCommands(
+              cardReader.getName(),
+              productType.name(),
+              TapPhase.VERIFY,
+              ChannelControl.CLOSE_AFTER);
+      try {
+        transaction.processCommands(ChannelControl.CLOSE_AFTER); // Close channel when done
+      } finally {
+        verifyEvent.setBlocks(checkedRanges, productType.getBlockSize()).finish();
+      }
+      recordPhase(TapPhase.VERIFY, start);
+    } else {
+      // Nothing to read back: relies on the extension releasing the channel on an empty command
+      // list, to be checked against the official storage card library
+      CardEvent closeEvent =
+          CardEvents.beginStorageCardCommands(
+              cardReader.getName(),
+              productType.name(),
+              TapPhase.CHANNEL_CLOSE,
+              ChannelControl.CLOSE_AFTER);
+      try {
+        transaction.processCommands(ChannelControl.CLOSE_AFTER);
+      } finally {
+        closeEvent.finish();
+      }
+      recordPhase(TapPhase.CHANNEL_CLOSE, start);
+    }
 
-    // Increment each byte in the block
-    // Process from end to beginning for consistent behavior
-    for (int i = incrementedBlock.length - 1; i >= 0; i--) {
-      incrementedBlock[i] = (byte) (incrementedBlock[i] + 1);
-      // Note: Byte overflow is handled automatically by Java
-      // (e.g., (byte)256 becomes (byte)0)
+    VerificationResult result = verifier.verify(writePlan, checkedRanges, card);
+    for (BlockMismatch mismatch : result.getMismatches()) {
+      logger.warn("Write verification failed, {}", mismatch);
     }
+    CardImageCache cache = cardImageCache;
+    if (cache != null && !result.isSuccessful()) {
+      cache.invalidate(card.getUID());
+    }
+    return result;
+  }
 
-    return incrementedBlock;
+  /** Starts timing the phases of a tap, if a latency recorder is set. */
+  private void beginTap() {
+    Arrays.fill(tapPhaseNanos, -1);
+    tapTechnology = UNKNOWN_TECHNOLOGY;
+    isTapInProgress = latencyRecorder != null;
+  }
+
+  /**
+   * Adds the duration of a phase of the current tap, if timed (a phase may run several times, e.g.
+   * the reads of a lazy memory).
+   *
+   * @param phase The phase
+   * @param startNanos The start of the phase, from {@link System#nanoTime()}
+   */
+  private void recordPhase(TapPhase phase, long startNanos) {
+    if (isTapInProgress) {
+      long duration = System.nanoTime() - startNanos;
+      int index = phase.ordinal();
+      tapPhaseNanos[index] = tapPhaseNanos[index] < 0 ? duration : tapPhaseNanos[index] + duration;
+    }
+  }
+
+  /** Records the phases of the current tap, now that the technology of the card is known. */
+  private void endTap() {
+    TapLatencyRecorder recorder = latencyRecorder;
+    if (isTapInProgress && recorder != null) {
+      for (TapPhase phase : TAP_PHASES) {
+        long durationNanos = tapPhaseNanos[phase.ordinal()];
+        if (durationNanos >= 0) {
+          recorder.record(cardReader.getName(), tapTechnology, phase, durationNanos);
+        }
+      }
+    }
+    isTapInProgress = false;
+  }
+
+  /**
+   * Returns whether the memory dumps are logged or recorded.
+   *
+   * <p>To be checked before retrieving the content to dump, so that the processing pays nothing
+   * for the dumps when they are disabled.
+   *
+   * @return true if the dump logger is at DEBUG level or a dump recorder is set
+   */
+  private boolean isMemoryDumpEnabled() {
+    return memoryDumpLogger.isDebugEnabled() || memoryDumpRecorder != null;
+  }
+
+  /**
+   * Decodes and logs the fields of the memory of a storage card (see {@link
+   * #setLayoutSchema(LayoutSchema)}), the values being decoded into a reused array.
+   *
+   * @param productType The product type of the card
+   * @param memory The memory of the card, the blocks holding the fields being read if needed
+   */
+  private void decodeFields(ProductType productType, LazyCardMemory memory) {
+    LayoutSchema schema = layoutSchema;
+    DataLayout layout = schema != null ? schema.getLayout(productType) : null;
+    if (layout == null) {
+      return;
+    }
+    if (fieldValues.length < layout.getFieldCount()) {
+      fieldValues = new long[layout.getFieldCount()];
+    }
+    layout.decode(memory, fieldValues);
+    if (logger.isInfoEnabled()) {
+      logger.info("Card data: {}", layout.format(fieldValues));
+    }
+  }
+
+  /**
+   * Dumps the memory content of a storage card to the dump logger and the dump recorder.
+   *
+   * <p>The logged memory is displayed as: BLOCK0BLOCK1BLOCK2...BLOCKn where each block is
+   * typically 4 bytes (8 hex characters). The hexadecimal string is only rendered if the DEBUG
+   * level is enabled, the recorder receiving the raw bytes.
+   *
+   * @param label The step of the processing
+   * @param memoryContent The memory content, starting at block 0
+   */
+  private void dumpMemoryContent(String label, byte[] memoryContent) {
+    if (memoryDumpLogger.isDebugEnabled()) {
+      memoryDumpLogger.debug(
+          "{} memory content ({} bytes): {}",
+          label,
+          memoryContent.length,
+          HexUtil.toHex(memoryContent));
+    }
+    ApduTraceRecorder recorder = memoryDumpRecorder;
+    if (recorder != null) {
+      recorder.dumpMemory(label, memoryContent);
+    }
   }
 
   /**
@@ -480,7 +1276,8 @@ public class MultiTechTransaction {
    * selection strategies upfront. During execution, it tries each strategy in order until one
    * succeeds, enabling transparent handling of different card technologies with a single code path.
    *
-   * <p><b>Selection Order Importance:</b> The order of selection registration affects performance:
+   * <p><b>Selection Order Importance:</b> The order of selection registration affects performance.
+   * It is the order of the technologies of the configuration, by default:
    *
    * <ol>
    *   <li><b>Calypso (ISO 14443-4):</b> Most specific, checked first
@@ -488,6 +1285,10 @@ public class MultiTechTransaction {
    *   <li><b>ST25:</b> Specialized memory tags
    * </ol>
    *
+   * <p>The technologies are then reordered by decreasing frequency of the cards seen by the reader
+   * (see {@link #getSelectionOrder()}), the cases sharing a logical protocol keeping their
+   * configuration order.
+   *
    * <p><b>Selection Strategies:</b>
    *
    * <ul>
@@ -497,80 +1298,96 @@ public class MultiTechTransaction {
    *
    * @return Configured selection manager ready for card detection
    */
-  private CardSelectionManager prepareCardSelection() {
+  public CardSelectionManager prepareCardSelection() {
     logger.info("Configuring multi-technology card selection...");
+    TerminalConfiguration config = configuration;
     CardSelectionManager manager = readerApiFactory.createCardSelectionManager();
+    ReadPlan[] readPlans = new ReadPlan[PRODUCT_TYPE_COUNT];
+
+    // The selectors are prebuilt by the configuration, in the adaptive order of the reader
+    for (CardTechnology technology : selectionOrder.sort(config.getTechnologies())) {
+      prepareSelection(manager, technology, config, readPlans);
+    }
 
-    // ===========================================================================================
-    // SELECTION STRATEGY 1: Calypso cards using AID-based selection
-    // ===========================================================================================
-
-    // Calypso cards are identified by their Application Identifier (AID)
-    // This is the most specific selection method and should be tried first
-    logger.debug("Configuring Calypso card selection (AID-based)...");
-
-    IsoCardSelector isoSelector =
-        readerApiFactory
-            .createIsoCardSelector()
-            .filterByCardProtocol(ISO_14443_4_LOGICAL_PROTOCOL) // Require ISO 14443-4 protocol
-            .filterByDfName(AID); // Require specific application AID
-
-    // Calypso selection extension allows advanced operations during selection
-    CalypsoCardSelectionExtension calypsoExtension =
-        calypsoCardApiFactory
-            .createCalypsoCardSelectionExtension()
-            .acceptInvalidatedCard() // Accept cards in any state
-            .prepareReadRecord(SFI_ENVIRONMENT_AND_HOLDER, 1); // Pre-read environment data
-
-    manager.prepareSelection(isoSelector, calypsoExtension);
-
-    // ===========================================================================================
-    // SELECTION STRATEGY 2: MIFARE Ultralight cards using protocol-based selection
-    // ===========================================================================================
-
-    // MIFARE Ultralight cards are identified by their communication protocol
-    // This covers the most common type of storage cards in NFC applications
-    logger.debug("Configuring MIFARE Ultralight selection (protocol-based)...");
-
-    BasicCardSelector mifareUltralightSelector =
-        readerApiFactory
-            .createBasicCardSelector()
-            .filterByCardProtocol(MIFARE_ULTRALIGHT_LOGICAL_PROTOCOL);
-
-    // Storage card selection extension enables memory operations during selection
-    StorageCardSelectionExtension storageExtensionMifareUltraLight =
-        StorageCardExtensionService.getInstance()
-            .createStorageCardSelectionExtension(ProductType.MIFARE_ULTRALIGHT)
-            // Pre-read all blocks during selection for immediate availability
-            .prepareReadBlocks(0, ProductType.MIFARE_ULTRALIGHT.getBlockCount() - 1);
-
-    manager.prepareSelection(mifareUltralightSelector, storageExtensionMifareUltraLight);
-
-    // ===========================================================================================
-    // SELECTION STRATEGY 3: ST25/SRT512 cards using protocol-based selection
-    // ===========================================================================================
-
-    // ST25 cards are STMicroelectronics memory tags with larger capacity
-    // These are less common but useful for applications requiring more storage
-    logger.debug("Configuring ST25 card selection (protocol-based)...");
-
-    BasicCardSelector st25Selector =
-        readerApiFactory
-            .createBasicCardSelector()
-            .filterByCardProtocol(ST25_SRT512_LOGICAL_PROTOCOL);
-
-    StorageCardSelectionExtension storageExtensionSt25 =
-        StorageCardExtensionService.getInstance()
-            .createStorageCardSelectionExtension(ProductType.ST25_SRT512)
-            // Pre-read all blocks during selection for immediate availability
-            .prepareReadBlocks(0, ProductType.ST25_SRT512.getBlockCount() - 1);
-
-    manager.prepareSelection(st25Selector, storageExtensionSt25);
-
-    logger.info("Card selection configured for {} technologies", 3);
+    // Kept with the scenario: a reload or a cache change must not alter the pre-reads it performs
+    scenarioReadPlans.put(manager, readPlans);
+
+    logger.info("Card selection configured in order {}", selectionOrder.getOrder());
     return manager;
   }
 
+  /**
+   * Adds the selection case of a technology to a scenario.
+   *
+   * @param manager The selection manager
+   * @param technology The technology to select
+   * @param config The configuration the scenario is built from
+   * @param readPlans The blocks pre-read by the scenario, completed by product type ordinal
+   */
+  private void prepareSelection(
+      CardSelectionManager manager,
+      CardTechnology technology,
+      TerminalConfiguration config,
+      ReadPlan[] readPlans) {
+    if (technology.isCalypso()) {
+      // Calypso cards are identified by their Application Identifier (AID)
+      logger.debug("Configuring Calypso card selection (AID-based)...");
+
+      // Calypso selection extension allows advanced operations during selection
+      CalypsoCardSelectionExtension calypsoExtension =
+          calypsoCardApiFactory
+              .createCalypsoCardSelectionExtension()
+              .acceptInvalidatedCard() // Accept cards in any state
+              .prepareReadRecord(
+                  config.getCalypsoSfiEnvironmentAndHolder(), 1); // Pre-read environment data
+
+      manager.prepareSelection(technology.getCardSelector(), calypsoExtension);
+    } else {
+      // Storage cards are identified by their communication protocol
+      ProductType productType = technology.getProductType();
+      logger.debug("Configuring {} selection (protocol-based)...", productType);
+
+      // Storage card selection extension enables memory operations during selection
+      StorageCardSelectionExtension storageExtension =
+          StorageCardExtensionService.getInstance()
+              .createStorageCardSelectionExtension(productType);
+      // Pre-read the blocks of the read plan (and the fingerprint blocks) for immediate
+      // availability, the other ones being read on first access
+      ReadPlan readPlan = getSelectionReadPlan(technology);
+      readPlan.prepareReads(storageExtension);
+      readPlans[productType.ordinal()] = readPlan;
+
+      manager.prepareSelection(technology.getCardSelector(), storageExtension);
+    }
+  }
+
+  /**
+   * Returns the blocks pre-read during the selection of a storage card technology.
+   *
+   * @param technology The storage card technology
+   * @return The read plan of the configuration, extended to the fingerprint blocks if the image
+   *     cache is enabled
+   */
+  private ReadPlan getSelectionReadPlan(CardTechnology technology) {
+    ReadPlan readPlan = technology.getSelectionReadPlan();
+    return cardImageCache != null ? readPlan.with(FINGERPRINT_BLOCKS) : readPlan;
+  }
+
+  /**
+   * Returns the blocks pre-read during the selection of the current storage card.
+   *
+   * <p>The plan is the one the selection scenario of the card was built with, not the one of the
+   * current configuration, which may have been reloaded since.
+   *
+   * @param productType The product type of the card
+   * @return An empty plan if the scenario that selected the card is unknown
+   */
+  private ReadPlan getPreReadPlan(ProductType productType) {
+    ReadPlan[] readPlans = selectedCardReadPlans;
+    ReadPlan readPlan = readPlans != null ? readPlans[productType.ordinal()] : null;
+    return readPlan != null ? readPlan : NO_PRE_READ;
+  }
+
   /**
    * Initializes and configures the card reader for multi-technology support.
    *
@@ -593,57 +1410,82 @@ public class MultiTechTransaction {
    *   <li><b>Shared mode:</b> Allows multiple applications to access the reader
    * </ul>
    *
+   * @param readerName The name of the reader to use, or null for the first compatible one
    * @return Configured card reader ready for multi-technology operations
    * @throws RuntimeException if no compatible reader is found or configuration fails
    */
-  private CardReader initializeReader() {
+  private CardReader initializeReader(String readerName) {
     logger.info("Initializing card reader...");
 
-    // Find a reader matching our criteria
-    CardReader reader = plugin.findReader(READER_REGEX);
+    // Find a reader matching our criteria, unless a specific one is requested
+    CardReader reader = readerName != null ? plugin.getReader(readerName) : findCompatibleReader();
     if (reader == null) {
       throw new RuntimeException(
           "No compatible reader found. Pattern: "
-              + READER_REGEX
+              + configuration.getReaderPattern()
               + ". Available readers: "
               + plugin.getReaderNames());
     }
 
     logger.info("Found reader: {}", reader.getName());
 
-    // Get PC/SC plugin extension for advanced configuration
-    plugin.getExtension(PcscPlugin.class);
+    if (isPcscPlugin) {
+      // Get PC/SC plugin extension for advanced configuration
+      plugin.getExtension(PcscPlugin.class);
 
-    // Configure PC/SC reader settings
-    PcscReader pcscReader = plugin.getReaderExtension(PcscReader.class, reader.getName());
-    pcscReader
-        .setContactless(true) // Indicates contactless reader
-        .setIsoProtocol(PcscReader.IsoProtocol.T1) // Use T=1 protocol for block transmission
-        .setSharingMode(PcscReader.SharingMode.SHARED); // Allow reader sharing between applications
+      // Configure PC/SC reader settings
+      PcscReader pcscReader = plugin.getReaderExtension(PcscReader.class, reader.getName());
+      pcscReader
+          .setContactless(true) // Indicates contactless reader
+          .setIsoProtocol(PcscReader.IsoProtocol.T1) // Use T=1 protocol for block transmission
+          .setSharingMode(PcscReader.SharingMode.SHARED); // Allow reader sharing between apps
+    }
 
     // Configure protocol mappings for each supported card technology
     ConfigurableCardReader configReader = (ConfigurableCardReader) reader;
 
     // Map physical PC/SC protocols to logical application protocols
-    logger.debug("Activating protocol mappings...");
+    activateProtocols(configReader, configuration);
 
-    // ISO 14443-4 protocol for Calypso and other ISO compliant cards
-    configReader.activateProtocol(
-        PcscCardCommunicationProtocol.ISO_14443_4.name(), // Physical protocol name
-        ISO_14443_4_LOGICAL_PROTOCOL); // Logical protocol name
-
-    // MIFARE Ultralight protocol for NXP storage cards
-    configReader.activateProtocol(
-        PcscCardCommunicationProtocol.MIFARE_ULTRALIGHT.name(), // Physical protocol name
-        MIFARE_ULTRALIGHT_LOGICAL_PROTOCOL); // Logical protocol name
+    logger.info(
+        "Reader initialized successfully with {} protocols",
+        configuration.getProtocolMappings().size());
+    return reader;
+  }
 
-    // ST25 protocol for STMicroelectronics memory tags
-    configReader.activateProtocol(
-        PcscCardCommunicationProtocol.ST25_SRT512.name(), // Physical protocol name
-        ST25_SRT512_LOGICAL_PROTOCOL); // Logical protocol name
+  /**
+   * Returns the first reader of the plugin whose name matches the compiled reader pattern of the
+   * configuration.
+   *
+   * @return The reader, or null if none matches
+   */
+  private CardReader findCompatibleReader() {
+    for (String name : plugin.getReaderNames()) {
+      if (configuration.matchesReader(name)) {
+        return plugin.getReader(name);
+      }
+    }
+    return null;
+  }
 
-    logger.info("Reader initialized successfully with {} protocols", 3);
-    return reader;
+  /**
+   * Activates the protocol mappings of a configuration on the reader.
+   *
+   * <p>Each physical protocol (e.g. {@code PcscCardCommunicationProtocol.ISO_14443_4} for Calypso,
+   * {@code MIFARE_ULTRALIGHT} for NXP storage cards, {@code ST25_SRT512} for STMicroelectronics
+   * memory tags) is mapped to the logical protocol filtering the selection of its technology.
+   *
+   * @param configReader The reader to configure
+   * @param configuration The configuration holding the mappings
+   */
+  private static void activateProtocols(
+      ConfigurableCardReader configReader, TerminalConfiguration configuration) {
+    logger.debug("Activating protocol mappings...");
+    for (Map.Entry<String, String> mapping : configuration.getProtocolMappings().entrySet()) {
+      configReader.activateProtocol(
+          mapping.getKey(), // Physical protocol name
+          mapping.getValue()); // Logical protocol name
+    }
   }
 
   /**
@@ -716,6 +1558,176 @@ public class MultiTechTransaction {
     logger.debug("Card presence confirmed in reader: {}", cardReader.getName());
   }
 
+  /**
+   * Waits until the user presses Enter, logging the latency histograms each time {@code h} is
+   * entered.
+   *
+   * @param latencyRecorder The recorder of the taps (may be null)
+   * @throws IOException if the console cannot be read
+   */
+  private static void awaitStopRequest(TapLatencyRecorder latencyRecorder) throws IOException {
+    if (latencyRecorder != null) {
+      logger.info("Waiting for cards, enter h to log the latency histograms, Enter to stop...");
+    } else {
+      logger.info("Waiting for cards, press Enter to stop...");
+    }
+    BufferedReader console = new BufferedReader(new InputStreamReader(System.in));
+    String line = console.readLine();
+    while (latencyRecorder != null && "h".equalsIgnoreCase(line)) {
+      latencyRecorder.log(logger);
+      line = console.readLine();
+    }
+  }
+
+  /**
+   * Starts the hot reload of the configuration file, each reloaded configuration being applied to
+   * all the readers.
+   *
+   * @param file The configuration file
+   * @param configuration The configuration loaded from the file at startup
+   * @param transactions The card processing of each reader
+   */
+  private static ConfigurationWatcher watchConfiguration(
+      File file,
+      TerminalConfiguration configuration,
+      final List<MultiTechTransaction> transactions) {
+    ConfigurationWatcher watcher =
+        new ConfigurationWatcher(
+            file,
+            configuration,
+            ConfigurationWatcher.DEFAULT_POLLING_PERIOD_MILLIS,
+            TimeUnit.MILLISECONDS,
+            new ConfigurationListener() {
+              @Override
+              public void onConfigurationChanged(TerminalConfiguration newConfiguration) {
+                for (MultiTechTransaction transaction : transactions) {
+                  transaction.setConfiguration(newConfiguration);
+                }
+              }
+            });
+    watcher.start();
+    return watcher;
+  }
+
+  /**
+   * Runs the tap processing service of all the compatible readers (see {@link
+   * TapProcessingDaemon}) until a shutdown signal, the metrics being logged at shutdown.
+   *
+   * @param configuration The configuration of the readers and of the selection
+   * @param configurationFile The configuration file to watch (may be null)
+   * @param verificationMode The verification mode of the storage card writes
+   * @param cardImageCache The image cache shared by the readers (may be null)
+   * @param latencyRecorder The recorder of the tap phases (may be null)
+   * @param layoutSchema The data layouts of the storage cards (may be null)
+   * @param asyncLogOutput The asynchronous log output, closed last at shutdown (may be null)
+   * @throws InterruptedException if the main thread is interrupted
+   */
+  private static void runDaemon(
+      TerminalConfiguration configuration,
+      File configurationFile,
+      VerificationMode verificationMode,
+      final CardImageCache cardImageCache,
+      final TapLatencyRecorder latencyRecorder,
+      LayoutSchema layoutSchema,
+      final AsyncLogOutput asyncLogOutput)
+      throws InterruptedException {
+    List<MultiTechTransaction> transactions =
+        createForAllReaders(configurePcscPlugin(), configuration);
+    for (MultiTechTransaction transaction : transactions) {
+      transaction.setVerificationMode(verificationMode);
+      transaction.setCardImageCache(cardImageCache);
+      transaction.setLatencyRecorder(latencyRecorder);
+      transaction.setLayoutSchema(layoutSchema);
+    }
+    final MultiReaderEngine engine = new MultiReaderEngine(transactions);
+    TapProcessingDaemon daemon =
+        new TapProcessingDaemon(
+            engine,
+            transactions.get(0).getPlugin(),
+            TapProcessingDaemon.DEFAULT_SHUTDOWN_TIMEOUT_MILLIS,
+            TimeUnit.MILLISECONDS);
+    if (configurationFile != null) {
+      final ConfigurationWatcher watcher =
+          watchConfiguration(configurationFile, configuration, transactions);
+      daemon.addShutdownTask(
+          "configuration watcher",
+          new Runnable() {
+            @Override
+            public void run() {
+              watcher.stop();
+            }
+          });
+    }
+    daemon.addShutdownTask(
+        "reader metrics",
+        new Runnable() {
+          @Override
+          public void run() {
+            engine.logMetrics(logger);
+          }
+        });
+    if (latencyRecorder != null) {
+      daemon.addShutdownTask(
+          "latency histograms",
+          new Runnable() {
+            @Override
+            public void run() {
+              latencyRecorder.log(logger);
+            }
+          });
+    }
+    if (cardImageCache != null) {
+      daemon.addShutdownTask(
+          "image cache",
+          new Runnable() {
+            @Override
+            public void run() {
+              logger.info("Image cache: {}", cardImageCache);
+            }
+          });
+    }
+    if (asyncLogOutput != null) {
+      // Last task, the next lines of the shutdown being written synchronously
+      daemon.addShutdownTask(
+          "log output",
+          new Runnable() {
+            @Override
+            public void run() {
+              asyncLogOutput.close();
+            }
+          });
+    }
+    daemon.run();
+  }
+
+  /**
+   * Registers the shutdown sequence of the non-daemon modes, run when the JVM exits (including on
+   * Ctrl+C): the latency histograms are logged, then the asynchronous log output is closed, last,
+   * so that the pending lines are written.
+   *
+   * @param latencyRecorder The recorder of the taps (may be null)
+   * @param asyncLogOutput The asynchronous log output (may be null)
+   */
+  private static void addShutdownSequence(
+      final TapLatencyRecorder latencyRecorder, final AsyncLogOutput asyncLogOutput) {
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    if (latencyRecorder != null) {
+                      logger.info("Latency histograms per reader, technology and phase:");
+                      latencyRecorder.log(logger);
+                    }
+                    if (asyncLogOutput != null) {
+                      asyncLogOutput.close();
+                    }
+                  }
+                },
+                "application-shutdown"));
+  }
+
   /**
    * Application entry point demonstrating multi-technology card handling.
    *
@@ -745,17 +1757,144 @@ public class MultiTechTransaction {
    *   <li>Consider graceful shutdown hooks for cleanup operations
    * </ul>
    *
-   * @param args Command line arguments (currently unused)
+   * @param args Command line arguments: {@code --continuous} to process the cards continuously
+   *     (see {@link #startCardDetection()}) instead of the card present at startup, {@code
+   *     --all-readers} to process the cards of all the compatible readers concurrently (see {@link
+   *     MultiReaderEngine}), {@code --verify=<mode>} to select the read-back performed after the
+   *     writes ({@code none}, {@code written_ranges}, {@code sample} or {@code full}), {@code
+   *     --image-cache} to keep the storage card images between taps (see {@link
+   *     #setCardImageCache(CardImageCache)}), {@code --async-logging=<policy>} to write the logs
+   *     from a background thread ({@code drop} or {@code block} when the queue is full, see {@link
+   *     AsyncLogOutput}), {@code --latency-histograms} to record the latency of each phase of the
+   *     taps (see {@link #setLatencyRecorder(TapLatencyRecorder)}), logged at shutdown and when
+   *     {@code h} is entered while waiting for cards, {@code --config=<file>} to load the readers
+   *     and selection configuration from a JSON file (see {@link TerminalConfiguration}), reloaded
+   *     when it changes in continuous, all-readers and daemon modes, {@code --daemon} to run as a
+   *     service processing the taps of all the compatible readers until a shutdown signal (see
+   *     {@link TapProcessingDaemon}), {@code --warm-up[=<taps>]} to process synthetic taps on
+   *     simulated readers before arming the real ones (see {@link JitWarmUp}), {@code
+   *     --layouts[=<file>]} to decode the fields of the storage card data with the layouts of a
+   *     JSON schema file, the default schema if no file is given (see {@link LayoutSchema})
    */
   public static void main(String[] args) {
+    // The asynchronous output must be installed before the first log line
+    AsyncLogOutput asyncLogOutput = null;
+    for (String arg : args) {
+      if (arg.startsWith("--async-logging=")) {
+        asyncLogOutput =
+            AsyncLogOutput.install(
+                AsyncLogOutput.DEFAULT_QUEUE_CAPACITY,
+                OverflowPolicy.valueOf(arg.substring("--async-logging=".length()).toUpperCase()));
+      }
+    }
+
     logger.info("=== MultiTechTransaction Demo Starting ===");
     logger.info("This demo supports: Calypso, MIFARE Ultralight, ST25/SRT512");
     logger.info("Please ensure a compatible card is placed on the reader...");
 
     try {
-      // Create and execute the multi-technology transaction
-      MultiTechTransaction demo = new MultiTechTransaction();
-      demo.execute();
+      VerificationMode verificationMode = VerificationMode.WRITTEN_RANGES;
+      for (String arg : args) {
+        if (arg.startsWith("--verify=")) {
+          verificationMode =
+              VerificationMode.valueOf(arg.substring("--verify=".length()).toUpperCase());
+        }
+      }
+      CardImageCache cardImageCache =
+          Arrays.asList(args).contains("--image-cache")
+              ? new CardImageCache(IMAGE_CACHE_CAPACITY, IMAGE_CACHE_TTL_HOURS, TimeUnit.HOURS)
+              : null;
+      TapLatencyRecorder latencyRecorder =
+          Arrays.asList(args).contains("--latency-histograms") ? new TapLatencyRecorder() : null;
+      boolean isDaemon = Arrays.asList(args).contains("--daemon");
+      if (!isDaemon && (latencyRecorder != null || asyncLogOutput != null)) {
+        addShutdownSequence(latencyRecorder, asyncLogOutput);
+      }
+      File configurationFile = null;
+      for (String arg : args) {
+        if (arg.startsWith("--config=")) {
+          configurationFile = new File(arg.substring("--config=".length()));
+        }
+      }
+      TerminalConfiguration configuration =
+          configurationFile != null
+              ? TerminalConfiguration.load(configurationFile)
+              : TerminalConfiguration.loadDefault();
+      logger.info("Configuration: {}", configuration);
+      LayoutSchema layoutSchema = null;
+      for (String arg : args) {
+        if (arg.startsWith("--layouts")) {
+          layoutSchema =
+              arg.startsWith("--layouts=")
+                  ? LayoutSchema.load(new File(arg.substring("--layouts=".length())))
+                  : LayoutSchema.loadDefault();
+          logger.info("Data layouts: {}", layoutSchema);
+        }
+      }
+      for (String arg : args) {
+        if (arg.startsWith("--warm-up")) {
+          // Compile the hot paths before the real readers are armed
+          JitWarmUp.run(
+              configuration,
+              verificationMode,
+              arg.startsWith("--warm-up=")
+                  ? Integer.parseInt(arg.substring("--warm-up=".length()))
+                  : JitWarmUp.DEFAULT_TAP_COUNT);
+        }
+      }
+
+      if (isDaemon) {
+        // Initialize once and process the taps of every compatible reader until a shutdown signal
+        runDaemon(
+            configuration,
+            configurationFile,
+            verificationMode,
+            cardImageCache,
+            latencyRecorder,
+            layoutSchema,
+            asyncLogOutput);
+        // The JVM is exiting: System.exit() would block until the end of the shutdown hooks
+        return;
+      } else if (Arrays.asList(args).contains("--all-readers")) {
+        // Process the taps of every compatible reader concurrently until the user stops the demo
+        List<MultiTechTransaction> transactions =
+            createForAllReaders(configurePcscPlugin(), configuration);
+        for (MultiTechTransaction transaction : transactions) {
+          transaction.setVerificationMode(verificationMode);
+          transaction.setCardImageCache(cardImageCache); // Shared by all the readers
+          transaction.setLatencyRecorder(latencyRecorder); // Keyed by reader name
+          transaction.setLayoutSchema(layoutSchema); // Compiled once for all the readers
+        }
+        if (configurationFile != null) {
+          watchConfiguration(configurationFile, configuration, transactions);
+        }
+        MultiReaderEngine engine = new MultiReaderEngine(transactions);
+        engine.start();
+        awaitStopRequest(latencyRecorder);
+        engine.stop(5, TimeUnit.SECONDS);
+        engine.logMetrics(logger);
+      } else {
+        // Create and execute the multi-technology transaction
+        MultiTechTransaction demo = new MultiTechTransaction(configurePcscPlugin(), configuration);
+        demo.setVerificationMode(verificationMode);
+        demo.setCardImageCache(cardImageCache);
+        demo.setLatencyRecorder(latencyRecorder);
+        demo.setLayoutSchema(layoutSchema);
+        if (Arrays.asList(args).contains("--continuous")) {
+          // Process every card entering the field until the user stops the demo
+          if (configurationFile != null) {
+            watchConfiguration(configurationFile, configuration, Collections.singletonList(demo));
+          }
+          demo.startCardDetection();
+          awaitStopRequest(latencyRecorder);
+          demo.stopCardDetection();
+        } else {
+          demo.execute();
+        }
+      }
+      if (cardImageCache != null) {
+        logger.info("Image cache: {}", cardImageCache);
+      }
 
       logger.info("=== Demo completed successfully ===");
 
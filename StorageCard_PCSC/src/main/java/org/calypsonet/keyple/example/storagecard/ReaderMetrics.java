@@ -0,0 +1,154 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tap counters and durations of one reader of a {@link MultiReaderEngine}.
+ *
+ * <p>The metrics are updated by the worker of the reader and can be read at any time from other
+ * threads.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class ReaderMetrics {
+
+  private final String readerName;
+  private final AtomicLong tapCount = new AtomicLong();
+  private final AtomicLong failedTapCount = new AtomicLong();
+  private final AtomicLong readerErrorCount = new AtomicLong();
+  private final AtomicLong totalProcessingNanos = new AtomicLong();
+  private final AtomicLong maxProcessingNanos = new AtomicLong();
+  private volatile String lastError;
+
+  /**
+   * Constructor.
+   *
+   * @param readerName The name of the reader.
+   */
+  ReaderMetrics(String readerName) {
+    this.readerName = readerName;
+  }
+
+  /**
+   * Records a processed tap.
+   *
+   * @param processingNanos The processing duration in nanoseconds.
+   * @param error The error that made the processing fail, or null if it succeeded.
+   */
+  void recordTap(long processingNanos, Throwable error) {
+    tapCount.incrementAndGet();
+    totalProcessingNanos.addAndGet(processingNanos);
+    long max = maxProcessingNanos.get();
+    while (processingNanos > max && !maxProcessingNanos.compareAndSet(max, processingNanos)) {
+      max = maxProcessingNanos.get();
+    }
+    if (error != null) {
+      failedTapCount.incrementAndGet();
+      lastError = error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+  }
+
+  /**
+   * Records an error of the reader itself, outside the processing of a tap.
+   *
+   * @param error The error.
+   */
+  void recordReaderError(Throwable error) {
+    readerErrorCount.incrementAndGet();
+    lastError = error.getClass().getSimpleName() + ": " + error.getMessage();
+  }
+
+  /**
+   * Returns the name of the reader.
+   *
+   * @return A not empty string.
+   */
+  public String getReaderName() {
+    return readerName;
+  }
+
+  /**
+   * Returns the number of processed taps, failed or not.
+   *
+   * @return A positive number.
+   */
+  public long getTapCount() {
+    return tapCount.get();
+  }
+
+  /**
+   * Returns the number of taps whose processing failed.
+   *
+   * @return A positive number.
+   */
+  public long getFailedTapCount() {
+    return failedTapCount.get();
+  }
+
+  /**
+   * Returns the number of errors of the reader outside the processing of a tap (e.g. reader
+   * unplugged).
+   *
+   * @return A positive number.
+   */
+  public long getReaderErrorCount() {
+    return readerErrorCount.get();
+  }
+
+  /**
+   * Returns the average processing duration of the taps.
+   *
+   * @return A duration in nanoseconds, 0 if no tap was processed.
+   */
+  public long getAverageProcessingNanos() {
+    long count = tapCount.get();
+    return count == 0 ? 0 : totalProcessingNanos.get() / count;
+  }
+
+  /**
+   * Returns the longest processing duration of the taps.
+   *
+   * @return A duration in nanoseconds, 0 if no tap was processed.
+   */
+  public long getMaxProcessingNanos() {
+    return maxProcessingNanos.get();
+  }
+
+  /**
+   * Returns the description of the last error.
+   *
+   * @return Null if no error occurred.
+   */
+  public String getLastError() {
+    return lastError;
+  }
+
+  @Override
+  public String toString() {
+    return readerName
+        + ": taps="
+        + getTapCount()
+        + " failed="
+        + getFailedTapCount()
+        + " readerErrors="
+        + getReaderErrorCount()
+        + " avg="
+        + getAverageProcessingNanos() / 1000
+        + "us max="
+        + getMaxProcessingNanos() / 1000
+        + "us"
+        + (lastError != null ? " lastError=" + lastError : "");
+  }
+}
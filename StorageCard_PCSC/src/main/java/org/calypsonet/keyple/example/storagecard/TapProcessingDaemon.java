@@ -0,0 +1,172 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.keyple.core.service.Plugin;
+import org.eclipse.keyple.core.service.SmartCardServiceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-running service processing the taps of the readers of a {@link MultiReaderEngine} until the
+ * JVM is asked to stop.
+ *
+ * <p>The plugin, the readers and the selection scenarios are initialized once, so that the taps no
+ * longer pay the JVM startup, the plugin registration nor the JIT warm-up, and reach the steady
+ * state throughput of the terminal. The service runs until a shutdown signal (SIGTERM sent by the
+ * service manager, Ctrl+C) or a call to {@link #shutdown()}, and then stops gracefully:
+ *
+ * <ol>
+ *   <li>The workers stop, the taps in progress being completed within the shutdown timeout (the
+ *       workers still busy after it are interrupted)
+ *   <li>The shutdown tasks run in registration order (e.g. flush of the metrics and journals)
+ *   <li>The plugin is unregistered, releasing the readers
+ * </ol>
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * TapProcessingDaemon daemon =
+ *     new TapProcessingDaemon(engine, plugin, 5, TimeUnit.SECONDS);
+ * daemon.addShutdownTask("metrics", ...);
+ * daemon.run(); // Returns once stopped
+ * }</pre>
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class TapProcessingDaemon {
+  private static final Logger logger = LoggerFactory.getLogger(TapProcessingDaemon.class);
+
+  /** Default maximum time given to the taps in progress to complete at shutdown. */
+  public static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+  private final MultiReaderEngine engine;
+  private final Plugin plugin;
+  private final long shutdownTimeoutMillis;
+  private final List<String> shutdownTaskNames = new ArrayList<String>();
+  private final List<Runnable> shutdownTasks = new ArrayList<Runnable>();
+  private final AtomicBoolean isStarted = new AtomicBoolean();
+  private final AtomicBoolean isShutdownStarted = new AtomicBoolean();
+  private final CountDownLatch terminated = new CountDownLatch(1);
+  private final Thread shutdownHook;
+
+  /**
+   * Creates a daemon.
+   *
+   * @param engine The engine processing the taps of the readers, not started.
+   * @param plugin The plugin of the readers, unregistered at shutdown.
+   * @param shutdownTimeout The maximum time given to the taps in progress to complete.
+   * @param unit The unit of the timeout.
+   */
+  public TapProcessingDaemon(
+      MultiReaderEngine engine, Plugin plugin, long shutdownTimeout, TimeUnit unit) {
+    this.engine = engine;
+    this.plugin = plugin;
+    this.shutdownTimeoutMillis = unit.toMillis(shutdownTimeout);
+    this.shutdownHook =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                logger.info("Shutdown signal received");
+                shutdown();
+              }
+            },
+            "tap-daemon-shutdown");
+  }
+
+  /**
+   * Adds a task run at shutdown, once the taps are stopped and before the plugin is unregistered.
+   *
+   * <p>A failing task is logged and does not prevent the next ones from running.
+   *
+   * @param name The name of the task, for the logs.
+   * @param task The task.
+   */
+  public synchronized void addShutdownTask(String name, Runnable task) {
+    shutdownTaskNames.add(name);
+    shutdownTasks.add(task);
+  }
+
+  /**
+   * Starts processing the taps and waits until the daemon is stopped.
+   *
+   * @throws InterruptedException If the calling thread is interrupted while waiting, the daemon
+   *     keeping running.
+   * @throws IllegalStateException If the daemon was already started.
+   */
+  public void run() throws InterruptedException {
+    if (!isStarted.compareAndSet(false, true)) {
+      throw new IllegalStateException("Tap processing daemon already started");
+    }
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+    engine.start();
+    logger.info("Tap processing daemon started, waiting for a shutdown signal");
+    terminated.await();
+  }
+
+  /**
+   * Stops the daemon gracefully, see the class description.
+   *
+   * <p>Called by the shutdown hook when the JVM is asked to stop, and may be called from any
+   * thread, only the first call having an effect. It returns once the daemon is stopped.
+   */
+  public void shutdown() {
+    if (!isShutdownStarted.compareAndSet(false, true)) {
+      awaitTermination();
+      return;
+    }
+    try {
+      Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    } catch (IllegalStateException e) {
+      // Called by the hook itself, the JVM is shutting down
+    }
+    logger.info("Stopping the tap processing daemon...");
+    try {
+      engine.stop(shutdownTimeoutMillis, TimeUnit.MILLISECONDS);
+      runShutdownTasks();
+      try {
+        SmartCardServiceProvider.getService().unregisterPlugin(plugin.getName());
+        logger.info("Plugin {} unregistered", plugin.getName());
+      } catch (RuntimeException e) {
+        logger.error("Failed to unregister plugin {}: {}", plugin.getName(), e.getMessage());
+      }
+    } finally {
+      terminated.countDown();
+    }
+    logger.info("Tap processing daemon stopped");
+  }
+
+  private synchronized void runShutdownTasks() {
+    for (int i = 0; i < shutdownTasks.size(); i++) {
+      try {
+        shutdownTasks.get(i).run();
+      } catch (RuntimeException e) {
+        logger.error("Shutdown task '{}' failed: {}", shutdownTaskNames.get(i), e.getMessage(), e);
+      }
+    }
+  }
+
+  private void awaitTermination() {
+    try {
+      terminated.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
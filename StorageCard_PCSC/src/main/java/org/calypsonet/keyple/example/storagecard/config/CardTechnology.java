@@ -0,0 +1,186 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.calypsonet.keyple.example.storagecard.memory.BlockRange;
+import org.calypsonet.keyple.example.storagecard.memory.ReadPlan;
+import org.eclipse.keypop.reader.ReaderApiFactory;
+import org.eclipse.keypop.reader.selection.CardSelector;
+import org.eclipse.keypop.storagecard.card.ProductType;
+
+/**
+ * A card technology of a {@link TerminalConfiguration}: Calypso, or a storage card product type.
+ *
+ * <p>The technology holds the mapping of its physical protocol to the logical protocol used by the
+ * selection, and the card selector prebuilt from them (filtered by the AID for Calypso), so that
+ * nothing is parsed nor built when the selection scenario is rebuilt.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class CardTechnology {
+
+  /** Name of the Calypso technology, the other names being the storage card product types. */
+  public static final String CALYPSO = "CALYPSO";
+
+  private final String name;
+  private final ProductType productType;
+  private final String physicalProtocol;
+  private final String logicalProtocol;
+  private final CardSelector<?> cardSelector;
+  private final ReadPlan selectionReadPlan;
+
+  /**
+   * Constructor.
+   *
+   * @param name {@link #CALYPSO} or the name of a storage card product type.
+   * @param physicalProtocol The name of the physical protocol of the reader.
+   * @param logicalProtocol The name of the logical protocol used by the selection.
+   * @param aid The AID selected for Calypso.
+   * @param selectionReadBlocks The [first block, last block] ranges of a storage card read during
+   *     the selection, or null for the whole memory.
+   * @param readerApiFactory The factory of the selectors.
+   * @throws IllegalArgumentException If the name is neither Calypso nor a product type, or a
+   *     range is invalid.
+   */
+  CardTechnology(
+      String name,
+      String physicalProtocol,
+      String logicalProtocol,
+      String aid,
+      List<int[]> selectionReadBlocks,
+      ReaderApiFactory readerApiFactory) {
+    this.name = name;
+    this.physicalProtocol = physicalProtocol;
+    this.logicalProtocol = logicalProtocol;
+    if (CALYPSO.equals(name)) {
+      if (selectionReadBlocks != null) {
+        throw new IllegalArgumentException("No selectionReadBlocks expected for " + name);
+      }
+      this.productType = null;
+      this.selectionReadPlan = null;
+      this.cardSelector =
+          readerApiFactory
+              .createIsoCardSelector()
+              .filterByCardProtocol(logicalProtocol)
+              .filterByDfName(aid);
+    } else {
+      try {
+        this.productType = ProductType.valueOf(name);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown card technology: " + name);
+      }
+      this.selectionReadPlan =
+          selectionReadBlocks != null
+              ? ReadPlan.of(toBlockRanges(selectionReadBlocks, productType))
+              : ReadPlan.wholeMemory(productType);
+      this.cardSelector =
+          readerApiFactory.createBasicCardSelector().filterByCardProtocol(logicalProtocol);
+    }
+  }
+
+  /**
+   * Returns the name of the technology.
+   *
+   * @return {@link #CALYPSO} or the name of a storage card product type.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns whether the technology is Calypso.
+   *
+   * @return true for Calypso, false for a storage card.
+   */
+  public boolean isCalypso() {
+    return productType == null;
+  }
+
+  /**
+   * Returns the product type of a storage card technology.
+   *
+   * @return Null for Calypso.
+   */
+  public ProductType getProductType() {
+    return productType;
+  }
+
+  /**
+   * Returns the blocks of a storage card technology read during the selection, the other blocks
+   * being read on first access (see {@code LazyCardMemory}).
+   *
+   * @return Null for Calypso.
+   */
+  public ReadPlan getSelectionReadPlan() {
+    return selectionReadPlan;
+  }
+
+  /**
+   * Returns the name of the physical protocol of the reader.
+   *
+   * @return A not empty string.
+   */
+  public String getPhysicalProtocol() {
+    return physicalProtocol;
+  }
+
+  /**
+   * Returns the name of the logical protocol used by the selection.
+   *
+   * @return A not empty string.
+   */
+  public String getLogicalProtocol() {
+    return logicalProtocol;
+  }
+
+  /**
+   * Returns the prebuilt card selector, which must not be modified.
+   *
+   * @return An {@code IsoCardSelector} for Calypso, a {@code BasicCardSelector} otherwise.
+   */
+  public CardSelector<?> getCardSelector() {
+    return cardSelector;
+  }
+
+  private static List<BlockRange> toBlockRanges(List<int[]> blocks, ProductType productType) {
+    List<BlockRange> ranges = new ArrayList<BlockRange>();
+    for (int[] range : blocks) {
+      if (range == null
+          || range.length != 2
+          || range[0] < 0
+          || range[1] < range[0]
+          || range[1] >= productType.getBlockCount()) {
+        throw new IllegalArgumentException(
+            "Invalid selectionReadBlocks range for " + productType + ": " + Arrays.toString(range));
+      }
+      ranges.add(new BlockRange(range[0], range[1]));
+    }
+    return ranges;
+  }
+
+  @Override
+  public String toString() {
+    return name
+        + " ("
+        + physicalProtocol
+        + " -> "
+        + logicalProtocol
+        + (selectionReadPlan != null ? ", selection reads " + selectionReadPlan : "")
+        + ")";
+  }
+}
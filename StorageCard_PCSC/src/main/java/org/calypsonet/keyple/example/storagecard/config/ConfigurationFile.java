@@ -0,0 +1,36 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.config;
+
+import java.util.List;
+
+/**
+ * Content of a JSON configuration file, as mapped by Gson before its validation by {@link
+ * TerminalConfiguration}.
+ *
+ * @since 2.0.0
+ */
+final class ConfigurationFile {
+
+  String readerRegex;
+  String calypsoAid;
+  Integer calypsoSfiEnvironmentAndHolder;
+  List<Technology> technologies;
+
+  /** A card technology, the order of the technologies being the selection order. */
+  static final class Technology {
+    String name;
+    String physicalProtocol;
+    String logicalProtocol;
+    List<int[]> selectionReadBlocks; // [first block, last block] ranges, whole memory if null
+  }
+}
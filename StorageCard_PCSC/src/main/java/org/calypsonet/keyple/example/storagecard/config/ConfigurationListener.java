@@ -0,0 +1,28 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.config;
+
+/**
+ * Receiver of the configurations reloaded by a {@link ConfigurationWatcher}.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public interface ConfigurationListener {
+
+  /**
+   * Called from the watcher thread when a new valid configuration has been loaded.
+   *
+   * @param configuration The new configuration.
+   */
+  void onConfigurationChanged(TerminalConfiguration configuration);
+}
@@ -0,0 +1,143 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hot reload of a configuration file.
+ *
+ * <p>A daemon thread polls the modification date and the size of the file. When they change, the
+ * file is loaded into a new {@link TerminalConfiguration} off the tap path, which then replaces
+ * the current one in a single reference swap and is passed to the listener. The taps in progress
+ * keep the configuration they started with and are never paused. A file that cannot be loaded
+ * (e.g. being edited, or invalid) is logged and ignored, the current configuration remaining in
+ * use until the next change.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class ConfigurationWatcher {
+  private static final Logger logger = LoggerFactory.getLogger(ConfigurationWatcher.class);
+
+  /** Default period of the file polling. */
+  public static final long DEFAULT_POLLING_PERIOD_MILLIS = 1000;
+
+  private final File file;
+  private final long pollingPeriodMillis;
+  private final ConfigurationListener listener;
+  private final AtomicReference<TerminalConfiguration> configuration;
+  private final Thread thread;
+  private volatile boolean isStopping;
+  private long lastModified;
+  private long lastLength;
+
+  /**
+   * Creates a watcher.
+   *
+   * @param file The configuration file.
+   * @param initialConfiguration The configuration loaded from the file at startup.
+   * @param pollingPeriod The period of the file polling.
+   * @param unit The unit of the period.
+   * @param listener The receiver of the reloaded configurations.
+   * @throws IllegalArgumentException If the period is not strictly positive.
+   */
+  public ConfigurationWatcher(
+      File file,
+      TerminalConfiguration initialConfiguration,
+      long pollingPeriod,
+      TimeUnit unit,
+      ConfigurationListener listener) {
+    if (pollingPeriod <= 0) {
+      throw new IllegalArgumentException("Invalid polling period: " + pollingPeriod);
+    }
+    this.file = file;
+    this.pollingPeriodMillis = Math.max(1, unit.toMillis(pollingPeriod));
+    this.listener = listener;
+    this.configuration = new AtomicReference<TerminalConfiguration>(initialConfiguration);
+    this.lastModified = file.lastModified();
+    this.lastLength = file.length();
+    this.thread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                watch();
+              }
+            },
+            "config-watcher");
+    thread.setDaemon(true);
+  }
+
+  /** Starts watching the file. */
+  public void start() {
+    thread.start();
+    logger.info("Watching configuration file {}", file);
+  }
+
+  /** Stops watching the file. */
+  public void stop() {
+    isStopping = true;
+    thread.interrupt();
+  }
+
+  /**
+   * Returns the last valid configuration.
+   *
+   * @return A not null reference.
+   */
+  public TerminalConfiguration getConfiguration() {
+    return configuration.get();
+  }
+
+  private void watch() {
+    while (!isStopping) {
+      try {
+        Thread.sleep(pollingPeriodMillis);
+      } catch (InterruptedException e) {
+        return;
+      }
+      long modified = file.lastModified();
+      long length = file.length();
+      if (modified != lastModified || length != lastLength) {
+        lastModified = modified;
+        lastLength = length;
+        reload();
+      }
+    }
+  }
+
+  private void reload() {
+    TerminalConfiguration newConfiguration;
+    try {
+      newConfiguration = TerminalConfiguration.load(file);
+    } catch (IOException e) {
+      logger.warn("Configuration file {} not reloaded: {}", file, e.getMessage());
+      return;
+    } catch (IllegalArgumentException e) {
+      logger.warn("Configuration file {} not reloaded: {}", file, e.getMessage());
+      return;
+    }
+    configuration.set(newConfiguration);
+    logger.info("Configuration reloaded: {}", newConfiguration);
+    try {
+      listener.onConfigurationChanged(newConfiguration);
+    } catch (RuntimeException e) {
+      logger.error("Failed to apply the reloaded configuration: {}", e.getMessage(), e);
+    }
+  }
+}
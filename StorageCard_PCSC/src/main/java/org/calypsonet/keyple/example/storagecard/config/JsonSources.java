@@ -0,0 +1,81 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * Reader of the JSON documents of the application (terminal configuration, storage card layouts),
+ * from a file or a classpath resource.
+ *
+ * <p>The documents are encoded in UTF-8 whatever the default charset of the platform.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class JsonSources {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private JsonSources() {}
+
+  /**
+   * Reads the content of a file.
+   *
+   * @param file The file.
+   * @return The content of the file.
+   * @throws IOException If the file cannot be read.
+   */
+  public static String read(File file) throws IOException {
+    return read(new FileInputStream(file));
+  }
+
+  /**
+   * Reads the content of a classpath resource.
+   *
+   * @param resource The absolute name of the resource.
+   * @return The content of the resource.
+   * @throws IllegalStateException If the resource is missing or cannot be read.
+   */
+  public static String readResource(String resource) {
+    InputStream in = JsonSources.class.getResourceAsStream(resource);
+    if (in == null) {
+      throw new IllegalStateException("Missing resource " + resource);
+    }
+    try {
+      return read(in);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read " + resource, e);
+    }
+  }
+
+  private static String read(InputStream in) throws IOException {
+    Reader reader = new InputStreamReader(in, UTF_8);
+    try {
+      StringBuilder json = new StringBuilder();
+      char[] buffer = new char[4096];
+      int length;
+      while ((length = reader.read(buffer)) >= 0) {
+        json.append(buffer, 0, length);
+      }
+      return json.toString();
+    } finally {
+      reader.close();
+    }
+  }
+}
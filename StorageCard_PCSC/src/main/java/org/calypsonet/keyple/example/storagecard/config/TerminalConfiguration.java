@@ -0,0 +1,262 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.eclipse.keyple.core.service.SmartCardServiceProvider;
+import org.eclipse.keyple.core.util.HexUtil;
+import org.eclipse.keypop.reader.ReaderApiFactory;
+
+/**
+ * Runtime configuration of the card processing, loaded from a JSON file.
+ *
+ * <p>The file is parsed and validated once: the reader name pattern is compiled and the card
+ * selectors are prebuilt, so that using the configuration on the tap path costs nothing. Example
+ * (the default configuration, see {@link #loadDefault()}):
+ *
+ * <pre>{@code
+ * {
+ *   "readerRegex": ".*ASK LoGO.*|.*Contactless.*",
+ *   "calypsoAid": "A000000291FF9101",
+ *   "calypsoSfiEnvironmentAndHolder": 7,
+ *   "technologies": [
+ *     { "name": "CALYPSO", "physicalProtocol": "ISO_14443_4", "logicalProtocol": "ISO_14443_4" },
+ *     { "name": "MIFARE_ULTRALIGHT", "physicalProtocol": "MIFARE_ULTRALIGHT",
+ *       "logicalProtocol": "MIFARE_ULTRALIGHT", "selectionReadBlocks": [[0, 3]] },
+ *     { "name": "ST25_SRT512", "physicalProtocol": "ST25_SRT512",
+ *       "logicalProtocol": "ST25_SRT512", "selectionReadBlocks": [[0, 3]] }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * <p>The order of the technologies is the selection order, a technology not listed is not
+ * selected. The optional {@code selectionReadBlocks} of a storage card technology are the {@code
+ * [first block, last block]} ranges read during the selection (the whole memory by default), the
+ * other blocks being read on first access.
+ *
+ * <p>This class is immutable: a new configuration replaces the previous one as a whole, see {@link
+ * ConfigurationWatcher}.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class TerminalConfiguration {
+
+  /** Classpath resource holding the default configuration. */
+  public static final String DEFAULT_RESOURCE = "/terminal-configuration.json";
+
+  private final String source;
+  private final Pattern readerPattern;
+  private final String calypsoAid;
+  private final byte calypsoSfiEnvironmentAndHolder;
+  private final List<CardTechnology> technologies;
+  private final Map<String, String> protocolMappings;
+
+  /**
+   * Constructor.
+   *
+   * @param file The parsed file.
+   * @param source The description of the origin of the file, for the logs.
+   * @throws IllegalArgumentException If the content is invalid.
+   */
+  private TerminalConfiguration(ConfigurationFile file, String source) {
+    if (file == null
+        || file.readerRegex == null
+        || file.calypsoAid == null
+        || file.calypsoSfiEnvironmentAndHolder == null
+        || file.technologies == null
+        || file.technologies.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Missing readerRegex, calypsoAid, calypsoSfiEnvironmentAndHolder or technologies in "
+              + source);
+    }
+    try {
+      this.readerPattern = Pattern.compile(file.readerRegex);
+    } catch (PatternSyntaxException e) {
+      throw new IllegalArgumentException(
+          "Invalid readerRegex in " + source + ": " + e.getMessage());
+    }
+    if (!HexUtil.isValid(file.calypsoAid)) {
+      throw new IllegalArgumentException(
+          "Invalid calypsoAid in " + source + ": " + file.calypsoAid);
+    }
+    int sfi = file.calypsoSfiEnvironmentAndHolder;
+    if (sfi < 1 || sfi > 30) {
+      throw new IllegalArgumentException(
+          "Invalid calypsoSfiEnvironmentAndHolder in " + source + ": " + sfi);
+    }
+    this.source = source;
+    this.calypsoAid = file.calypsoAid.toUpperCase();
+    this.calypsoSfiEnvironmentAndHolder = (byte) sfi;
+
+    ReaderApiFactory readerApiFactory = SmartCardServiceProvider.getService().getReaderApiFactory();
+    List<CardTechnology> technologyList = new ArrayList<CardTechnology>();
+    Map<String, String> mappings = new LinkedHashMap<String, String>();
+    Set<String> names = new HashSet<String>();
+    for (ConfigurationFile.Technology technology : file.technologies) {
+      if (technology == null
+          || technology.name == null
+          || technology.physicalProtocol == null
+          || technology.logicalProtocol == null) {
+        throw new IllegalArgumentException(
+            "Missing technology name, physicalProtocol or logicalProtocol in " + source);
+      }
+      if (!names.add(technology.name)) {
+        throw new IllegalArgumentException(
+            "Duplicate technology in " + source + ": " + technology.name);
+      }
+      technologyList.add(
+          new CardTechnology(
+              technology.name,
+              technology.physicalProtocol,
+              technology.logicalProtocol,
+              calypsoAid,
+              technology.selectionReadBlocks,
+              readerApiFactory));
+      mappings.put(technology.physicalProtocol, technology.logicalProtocol);
+    }
+    this.technologies = Collections.unmodifiableList(technologyList);
+    this.protocolMappings = Collections.unmodifiableMap(mappings);
+  }
+
+  /**
+   * Parses a configuration.
+   *
+   * @param json The JSON content.
+   * @param source The description of the origin of the content, for the logs.
+   * @return A new configuration.
+   * @throws IllegalArgumentException If the content is not valid JSON or is not a valid
+   *     configuration.
+   */
+  public static TerminalConfiguration parse(String json, String source) {
+    try {
+      return new TerminalConfiguration(new Gson().fromJson(json, ConfigurationFile.class), source);
+    } catch (JsonParseException e) {
+      throw new IllegalArgumentException("Invalid JSON in " + source + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Loads a configuration file.
+   *
+   * @param file The file.
+   * @return A new configuration.
+   * @throws IOException If the file cannot be read.
+   * @throws IllegalArgumentException If the file is not a valid configuration.
+   */
+  public static TerminalConfiguration load(File file) throws IOException {
+    return parse(JsonSources.read(file), file.getPath());
+  }
+
+  /**
+   * Loads the default configuration from the classpath resource {@link #DEFAULT_RESOURCE}.
+   *
+   * @return A new configuration.
+   * @throws IllegalStateException If the resource is missing or invalid.
+   */
+  public static TerminalConfiguration loadDefault() {
+    try {
+      return parse(JsonSources.readResource(DEFAULT_RESOURCE), DEFAULT_RESOURCE);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns the description of the origin of the configuration.
+   *
+   * @return A file path or a resource name.
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * Returns the compiled pattern of the names of the readers to use.
+   *
+   * @return A not null pattern.
+   */
+  public Pattern getReaderPattern() {
+    return readerPattern;
+  }
+
+  /**
+   * Returns whether a reader is to be used.
+   *
+   * @param readerName The name of the reader.
+   * @return true if the whole name matches the reader pattern.
+   */
+  public boolean matchesReader(String readerName) {
+    return readerPattern.matcher(readerName).matches();
+  }
+
+  /**
+   * Returns the AID of the Calypso application.
+   *
+   * @return An hexadecimal string in upper case.
+   */
+  public String getCalypsoAid() {
+    return calypsoAid;
+  }
+
+  /**
+   * Returns the SFI of the Calypso Environment and Holder file, read during the selection.
+   *
+   * @return An SFI in the range [1..30].
+   */
+  public byte getCalypsoSfiEnvironmentAndHolder() {
+    return calypsoSfiEnvironmentAndHolder;
+  }
+
+  /**
+   * Returns the technologies in selection order.
+   *
+   * @return A not empty unmodifiable list.
+   */
+  public List<CardTechnology> getTechnologies() {
+    return technologies;
+  }
+
+  /**
+   * Returns the logical protocol of each physical protocol to activate on the readers.
+   *
+   * @return A not empty unmodifiable map, in selection order.
+   */
+  public Map<String, String> getProtocolMappings() {
+    return protocolMappings;
+  }
+
+  @Override
+  public String toString() {
+    return source
+        + ": readers="
+        + readerPattern.pattern()
+        + " aid="
+        + calypsoAid
+        + " sfi="
+        + calypsoSfiEnvironmentAndHolder
+        + " technologies="
+        + technologies;
+  }
+}
@@ -0,0 +1,60 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import java.util.List;
+import org.calypsonet.keyple.example.storagecard.memory.BlockRange;
+
+/**
+ * Java Flight Recorder event of a card operation in progress, created by {@link CardEvents}.
+ *
+ * <p>The event starts when it is created and is emitted by {@link #finish()}. When no recording
+ * is in progress, or on a Java 8 runtime, the event is a shared instance that does nothing, so that
+ * the card processing pays nothing for the events.
+ *
+ * <p>An event must be finished by the thread that created it.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public interface CardEvent {
+
+  /**
+   * Sets the technology of the card: {@code CALYPSO} or the name of the storage card product type.
+   *
+   * @param productType The technology (may be null if unknown).
+   * @return The event.
+   */
+  CardEvent setProductType(String productType);
+
+  /**
+   * Sets the blocks exchanged with a storage card and the resulting number of bytes.
+   *
+   * @param fromBlock The first block.
+   * @param toBlock The last block (included).
+   * @param blockSize The size of a block in bytes.
+   * @return The event.
+   */
+  CardEvent setBlocks(int fromBlock, int toBlock, int blockSize);
+
+  /**
+   * Sets the ranges of blocks exchanged with a storage card and the resulting number of bytes.
+   *
+   * @param ranges The ranges of blocks.
+   * @param blockSize The size of a block in bytes.
+   * @return The event.
+   */
+  CardEvent setBlocks(List<BlockRange> ranges, int blockSize);
+
+  /** Ends the event and emits it if the recording settings (e.g. threshold) accept it. */
+  void finish();
+}
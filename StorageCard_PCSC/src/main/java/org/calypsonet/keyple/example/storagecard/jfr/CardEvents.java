@@ -0,0 +1,84 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import org.calypsonet.keyple.example.storagecard.perf.TapPhase;
+import org.eclipse.keypop.storagecard.transaction.ChannelControl;
+
+/**
+ * Factory of the Java Flight Recorder events of the card processing.
+ *
+ * <p>The events let a recording taken on a validator correlate the duration of the card exchanges
+ * with the GC pauses, safepoints and thread scheduling of the JVM:
+ *
+ * <ul>
+ *   <li>{@code org.calypsonet.keyple.CardSelection}: processing of the selection scenario.
+ *   <li>{@code org.calypsonet.keyple.StorageCardCommands}: each {@code processCommands} call of
+ *       the storage card processing, with its blocks, byte count and channel control.
+ *   <li>{@code org.calypsonet.keyple.CalypsoCardProcessing}: processing of a Calypso card.
+ * </ul>
+ *
+ * <p>This is the Java 8 version of the class, which returns events doing nothing: the JFR API is
+ * not part of the Java 8 platform. The application jar is a multi-release jar whose {@code
+ * META-INF/versions/11} directory holds the version of this class emitting the events, loaded
+ * instead of this one on a Java 11 or later runtime.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class CardEvents {
+
+  private CardEvents() {}
+
+  /**
+   * Returns whether the events can be emitted by the running JVM.
+   *
+   * @return false with this version of the class.
+   */
+  public static boolean isSupported() {
+    return false;
+  }
+
+  /**
+   * Starts the event of the processing of a selection scenario.
+   *
+   * @param readerName The name of the reader.
+   * @return A not null event.
+   */
+  public static CardEvent beginCardSelection(String readerName) {
+    return NoOpCardEvent.INSTANCE;
+  }
+
+  /**
+   * Starts the event of a {@code processCommands} call on a storage card.
+   *
+   * @param readerName The name of the reader.
+   * @param productType The name of the product type.
+   * @param phase The phase of the tap the commands belong to.
+   * @param channelControl The channel control of the call.
+   * @return A not null event.
+   */
+  public static CardEvent beginStorageCardCommands(
+      String readerName, String productType, TapPhase phase, ChannelControl channelControl) {
+    return NoOpCardEvent.INSTANCE;
+  }
+
+  /**
+   * Starts the event of the processing of a Calypso card.
+   *
+   * @param readerName The name of the reader.
+   * @return A not null event.
+   */
+  public static CardEvent beginCalypsoCardProcessing(String readerName) {
+    return NoOpCardEvent.INSTANCE;
+  }
+}
@@ -0,0 +1,44 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import java.util.List;
+import org.calypsonet.keyple.example.storagecard.memory.BlockRange;
+
+/**
+ * Event returned when the events are not recorded.
+ *
+ * @since 2.0.0
+ */
+enum NoOpCardEvent implements CardEvent {
+  INSTANCE;
+
+  @Override
+  public CardEvent setProductType(String productType) {
+    return this;
+  }
+
+  @Override
+  public CardEvent setBlocks(int fromBlock, int toBlock, int blockSize) {
+    return this;
+  }
+
+  @Override
+  public CardEvent setBlocks(List<BlockRange> ranges, int blockSize) {
+    return this;
+  }
+
+  @Override
+  public void finish() {
+    // Nothing to emit
+  }
+}
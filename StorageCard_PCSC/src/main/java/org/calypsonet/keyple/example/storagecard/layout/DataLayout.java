@@ -0,0 +1,362 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.layout;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.calypsonet.keyple.example.storagecard.memory.LazyCardMemory;
+import org.eclipse.keypop.storagecard.card.ProductType;
+
+/**
+ * Fields of the memory of a storage card product type, compiled from a {@link LayoutSchema} into
+ * flat decoder and encoder tables.
+ *
+ * <p>A field is a run of bits of the memory image (starting at block 0), numbered from the most
+ * significant bit of each byte, spanning at most 8 bytes. For each field, the tables hold the
+ * offset and the number of the bytes it spans, the right shift aligning its last bit and the mask
+ * of its bits. Reading a field thus assembles at most 8 bytes into a {@code long}, shifts and
+ * masks it, without any lookup nor allocation; the fields are designated by their index, the
+ * names being resolved once by {@link #indexOf(String)}. The fields can also be decoded from a
+ * {@link LazyCardMemory}, only the blocks spanned by each field being read from the card.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class DataLayout {
+
+  /**
+   * Value returned for a {@link FieldEncoding#BCD} field holding a nibble which is not a decimal
+   * digit.
+   */
+  public static final long INVALID_BCD = -1;
+
+  private static final int MAX_BYTES_PER_FIELD = 8;
+
+  private final ProductType productType;
+  private final int blockSize;
+  private final String[] names;
+  private final int[] byteOffsets;
+  private final int[] byteCounts;
+  private final int[] shifts;
+  private final int[] bitLengths;
+  private final long[] masks;
+  private final FieldEncoding[] encodings;
+  private final Map<String, Integer> indexes; // Only used to resolve the names
+
+  /**
+   * Compiles the fields of a product type.
+   *
+   * @param productType The product type.
+   * @param blockSize The size of a block in bytes.
+   * @param blockCount The number of blocks of the memory.
+   * @param fields The fields.
+   * @param source The description of the origin of the fields, for the error messages.
+   * @throws IllegalArgumentException If a field is invalid or outside the memory.
+   */
+  DataLayout(
+      ProductType productType,
+      int blockSize,
+      int blockCount,
+      List<LayoutFile.Field> fields,
+      String source) {
+    int count = fields.size();
+    this.productType = productType;
+    this.blockSize = blockSize;
+    this.names = new String[count];
+    this.byteOffsets = new int[count];
+    this.byteCounts = new int[count];
+    this.shifts = new int[count];
+    this.bitLengths = new int[count];
+    this.masks = new long[count];
+    this.encodings = new FieldEncoding[count];
+    this.indexes = new HashMap<String, Integer>();
+    long memoryBits = 8L * blockSize * blockCount;
+    for (int i = 0; i < count; i++) {
+      LayoutFile.Field field = fields.get(i);
+      if (field == null || field.name == null || field.block == null || field.bitLength == null) {
+        throw new IllegalArgumentException(
+            "Missing field name, block or bitLength for " + productType + " in " + source);
+      }
+      if (indexes.put(field.name, i) != null) {
+        throw new IllegalArgumentException(
+            "Duplicate field for " + productType + " in " + source + ": " + field.name);
+      }
+      FieldEncoding encoding;
+      try {
+        encoding =
+            field.encoding != null
+                ? FieldEncoding.valueOf(field.encoding.toUpperCase())
+                : FieldEncoding.UNSIGNED;
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            "Unknown encoding of field " + field.name + " in " + source + ": " + field.encoding);
+      }
+      int bitOffset = field.bitOffset != null ? field.bitOffset : 0;
+      int bitLength = field.bitLength;
+      long firstBit = 8L * blockSize * field.block + bitOffset;
+      long endBit = firstBit + bitLength;
+      int byteOffset = (int) (firstBit >>> 3);
+      int byteCount = (int) ((endBit + 7) >>> 3) - byteOffset;
+      if (field.block < 0
+          || bitOffset < 0
+          || bitLength <= 0
+          || endBit > memoryBits
+          || byteCount > MAX_BYTES_PER_FIELD
+          || (encoding == FieldEncoding.BCD && bitLength % 4 != 0)) {
+        throw new IllegalArgumentException(
+            "Invalid field "
+                + field.name
+                + " for "
+                + productType
+                + " in "
+                + source
+                + ": block "
+                + field.block
+                + ", bits "
+                + bitOffset
+                + "+"
+                + bitLength
+                + " "
+                + encoding);
+      }
+      names[i] = field.name;
+      byteOffsets[i] = byteOffset;
+      byteCounts[i] = byteCount;
+      shifts[i] = 8 * byteCount - (int) (firstBit & 7) - bitLength;
+      bitLengths[i] = bitLength;
+      masks[i] = bitLength == Long.SIZE ? -1L : (1L << bitLength) - 1;
+      encodings[i] = encoding;
+    }
+  }
+
+  /**
+   * Returns the product type of the layout.
+   *
+   * @return A not null reference.
+   */
+  public ProductType getProductType() {
+    return productType;
+  }
+
+  /**
+   * Returns the number of fields.
+   *
+   * @return A positive number.
+   */
+  public int getFieldCount() {
+    return names.length;
+  }
+
+  /**
+   * Returns the name of a field.
+   *
+   * @param field The index of the field.
+   * @return A not null string.
+   */
+  public String getFieldName(int field) {
+    return names[field];
+  }
+
+  /**
+   * Returns the index of a field, to be resolved once and not for each access.
+   *
+   * @param name The name of the field.
+   * @return The index of the field.
+   * @throws IllegalArgumentException If the field is unknown.
+   */
+  public int indexOf(String name) {
+    Integer index = indexes.get(name);
+    if (index == null) {
+      throw new IllegalArgumentException("Unknown field for " + productType + ": " + name);
+    }
+    return index;
+  }
+
+  /**
+   * Decodes a field.
+   *
+   * @param image The memory image, starting at block 0.
+   * @param field The index of the field.
+   * @return The value of the field, {@link #INVALID_BCD} for a BCD field holding an invalid digit.
+   */
+  public long get(byte[] image, int field) {
+    return decodeWord(field, readWord(image, byteOffsets[field], byteCounts[field]));
+  }
+
+  /**
+   * Decodes a field from the memory of a card, reading from the card the blocks it spans if not
+   * read yet.
+   *
+   * @param memory The memory of the card, of the product type of the layout.
+   * @param field The index of the field.
+   * @return The value of the field, {@link #INVALID_BCD} for a BCD field holding an invalid digit.
+   */
+  public long get(LazyCardMemory memory, int field) {
+    int firstBlock = byteOffsets[field] / blockSize;
+    int lastBlock = (byteOffsets[field] + byteCounts[field] - 1) / blockSize;
+    byte[] blocks = memory.getBlocks(firstBlock, lastBlock);
+    return decodeWord(
+        field, readWord(blocks, byteOffsets[field] - firstBlock * blockSize, byteCounts[field]));
+  }
+
+  private long decodeWord(int field, long word) {
+    long bits = (word >>> shifts[field]) & masks[field];
+    switch (encodings[field]) {
+      case SIGNED:
+        int unusedBits = Long.SIZE - bitLengths[field];
+        return (bits << unusedBits) >> unusedBits;
+      case BCD:
+        return fromBcd(bits);
+      default:
+        return bits;
+    }
+  }
+
+  /**
+   * Decodes all the fields.
+   *
+   * @param image The memory image, starting at block 0.
+   * @param values The array receiving the value of each field at its index, of at least {@link
+   *     #getFieldCount()} elements, reusable from one image to the next.
+   */
+  public void decode(byte[] image, long[] values) {
+    for (int field = 0; field < names.length; field++) {
+      values[field] = get(image, field);
+    }
+  }
+
+  /**
+   * Decodes all the fields from the memory of a card, reading from the card only the blocks they
+   * span (with their read-ahead windows) if not read yet.
+   *
+   * @param memory The memory of the card, of the product type of the layout.
+   * @param values The array receiving the value of each field at its index, of at least {@link
+   *     #getFieldCount()} elements, reusable from one card to the next.
+   */
+  public void decode(LazyCardMemory memory, long[] values) {
+    for (int field = 0; field < names.length; field++) {
+      values[field] = get(memory, field);
+    }
+  }
+
+  /**
+   * Encodes a field in place, the other bits of the image being left unchanged.
+   *
+   * @param image The memory image, starting at block 0.
+   * @param field The index of the field.
+   * @param value The value of the field.
+   * @return true if the content of the image changed.
+   * @throws IllegalArgumentException If the value does not fit in the field.
+   */
+  public boolean set(byte[] image, int field, long value) {
+    long bits = toBits(field, value);
+    long word = readWord(image, byteOffsets[field], byteCounts[field]);
+    int shift = shifts[field];
+    long newWord = (word & ~(masks[field] << shift)) | (bits << shift);
+    if (newWord == word) {
+      return false;
+    }
+    for (int i = byteOffsets[field] + byteCounts[field] - 1; i >= byteOffsets[field]; i--) {
+      image[i] = (byte) newWord;
+      newWord >>>= 8;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the fields and their decoded values, for the logs.
+   *
+   * @param values The values filled by {@link #decode(byte[], long[])} or {@link
+   *     #decode(LazyCardMemory, long[])}.
+   * @return A string made of the "name=value" pairs.
+   */
+  public String format(long[] values) {
+    StringBuilder sb = new StringBuilder();
+    for (int field = 0; field < names.length; field++) {
+      if (field > 0) {
+        sb.append(", ");
+      }
+      sb.append(names[field]).append('=').append(values[field]);
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return productType + " (" + names.length + " fields)";
+  }
+
+  /** Assembles the bytes spanned by a field, big-endian. */
+  private static long readWord(byte[] bytes, int offset, int byteCount) {
+    long word = 0;
+    for (int i = offset; i < offset + byteCount; i++) {
+      word = (word << 8) | (bytes[i] & 0xFF);
+    }
+    return word;
+  }
+
+  private long toBits(int field, long value) {
+    int bitLength = bitLengths[field];
+    switch (encodings[field]) {
+      case SIGNED:
+        if (bitLength < Long.SIZE
+            && (value < -(1L << (bitLength - 1)) || value >= 1L << (bitLength - 1))) {
+          throw newOutOfRangeException(field, value);
+        }
+        return value & masks[field];
+      case BCD:
+        long bits = value >= 0 ? toBcd(value) : INVALID_BCD;
+        if (bits == INVALID_BCD || (bits & ~masks[field]) != 0) {
+          throw newOutOfRangeException(field, value);
+        }
+        return bits;
+      default:
+        if ((value & ~masks[field]) != 0) {
+          throw newOutOfRangeException(field, value);
+        }
+        return value;
+    }
+  }
+
+  private IllegalArgumentException newOutOfRangeException(int field, long value) {
+    return new IllegalArgumentException(
+        "Value out of range of field " + names[field] + " (" + encodings[field] + "): " + value);
+  }
+
+  private static long fromBcd(long bits) {
+    long value = 0;
+    for (int shift = Long.SIZE - 4; shift >= 0; shift -= 4) {
+      int digit = (int) (bits >>> shift) & 0xF;
+      if (digit > 9) {
+        return INVALID_BCD;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  /** Returns the BCD digits of a positive value, INVALID_BCD if it has more than 16 digits. */
+  private static long toBcd(long value) {
+    long bits = 0;
+    for (int shift = 0; value != 0; shift += 4) {
+      if (shift == Long.SIZE) {
+        return INVALID_BCD;
+      }
+      bits |= (value % 10) << shift;
+      value /= 10;
+    }
+    return bits;
+  }
+}
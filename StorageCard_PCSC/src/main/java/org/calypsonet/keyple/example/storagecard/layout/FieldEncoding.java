@@ -0,0 +1,30 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.layout;
+
+/**
+ * Encoding of the bits of a field of a {@link DataLayout}.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public enum FieldEncoding {
+
+  /** Unsigned binary integer. */
+  UNSIGNED,
+
+  /** Signed binary integer in two's complement. */
+  SIGNED,
+
+  /** Binary-coded decimal integer, 4 bits per digit, the most significant digit first. */
+  BCD
+}
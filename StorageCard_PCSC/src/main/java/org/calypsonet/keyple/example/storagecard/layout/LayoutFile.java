@@ -0,0 +1,40 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.layout;
+
+import java.util.List;
+
+/**
+ * Content of a JSON data layout schema file, as mapped by Gson before its compilation by {@link
+ * LayoutSchema}.
+ *
+ * @since 2.0.0
+ */
+final class LayoutFile {
+
+  List<Layout> layouts;
+
+  /** The fields of the memory of a product type. */
+  static final class Layout {
+    String productType;
+    List<Field> fields;
+  }
+
+  /** A field, its bits being numbered from the most significant bit of its first block. */
+  static final class Field {
+    String name;
+    Integer block;
+    Integer bitOffset; // 0 if null
+    Integer bitLength;
+    String encoding; // UNSIGNED if null
+  }
+}
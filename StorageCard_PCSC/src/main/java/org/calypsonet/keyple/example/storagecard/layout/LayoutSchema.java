@@ -0,0 +1,174 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.layout;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.calypsonet.keyple.example.storagecard.config.JsonSources;
+import org.eclipse.keypop.storagecard.card.ProductType;
+
+/**
+ * Data layouts of the storage card product types, loaded from a JSON schema file.
+ *
+ * <p>The schema describes the fields of the memory of each product type, for example:
+ *
+ * <pre>{@code
+ * {
+ *   "layouts": [
+ *     {
+ *       "productType": "MIFARE_ULTRALIGHT",
+ *       "fields": [
+ *         { "name": "version", "block": 4, "bitLength": 4 },
+ *         { "name": "networkId", "block": 4, "bitOffset": 4, "bitLength": 24, "encoding": "BCD" },
+ *         { "name": "balance", "block": 7, "bitOffset": 13, "bitLength": 20, "encoding": "SIGNED" }
+ *       ]
+ *     }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * The bits of a field start at its {@code bitOffset} (0 by default) from the most significant bit
+ * of its {@code block} and may overlap the next blocks, within 8 bytes. The {@code encoding} is one
+ * of the {@link FieldEncoding} values ({@code UNSIGNED} by default). The schema is compiled once
+ * into a {@link DataLayout} per product type, decoding the fields without parsing anything per
+ * tap.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class LayoutSchema {
+
+  /** Classpath resource holding the default schema. */
+  public static final String DEFAULT_RESOURCE = "/storage-card-layouts.json";
+
+  private final String source;
+  private final DataLayout[] layouts; // Indexed by product type ordinal, null if not described
+
+  /**
+   * Constructor.
+   *
+   * @param file The parsed file.
+   * @param source The description of the origin of the file, for the logs.
+   * @throws IllegalArgumentException If the content is invalid.
+   */
+  private LayoutSchema(LayoutFile file, String source) {
+    if (file == null || file.layouts == null || file.layouts.isEmpty()) {
+      throw new IllegalArgumentException("Missing layouts in " + source);
+    }
+    this.source = source;
+    this.layouts = new DataLayout[ProductType.values().length];
+    for (LayoutFile.Layout layout : file.layouts) {
+      if (layout == null
+          || layout.productType == null
+          || layout.fields == null
+          || layout.fields.isEmpty()) {
+        throw new IllegalArgumentException("Missing layout productType or fields in " + source);
+      }
+      ProductType productType;
+      try {
+        productType = ProductType.valueOf(layout.productType);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            "Unknown product type in " + source + ": " + layout.productType);
+      }
+      if (layouts[productType.ordinal()] != null) {
+        throw new IllegalArgumentException(
+            "Duplicate layout in " + source + ": " + layout.productType);
+      }
+      layouts[productType.ordinal()] =
+          new DataLayout(
+              productType,
+              productType.getBlockSize(),
+              productType.getBlockCount(),
+              layout.fields,
+              source);
+    }
+  }
+
+  /**
+   * Parses a schema.
+   *
+   * @param json The JSON content.
+   * @param source The description of the origin of the content, for the logs.
+   * @return A new schema.
+   * @throws IllegalArgumentException If the content is not valid JSON or is not a valid schema.
+   */
+  public static LayoutSchema parse(String json, String source) {
+    try {
+      return new LayoutSchema(new Gson().fromJson(json, LayoutFile.class), source);
+    } catch (JsonParseException e) {
+      throw new IllegalArgumentException("Invalid JSON in " + source + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Loads a schema file.
+   *
+   * @param file The file.
+   * @return A new schema.
+   * @throws IOException If the file cannot be read.
+   * @throws IllegalArgumentException If the file is not a valid schema.
+   */
+  public static LayoutSchema load(File file) throws IOException {
+    return parse(JsonSources.read(file), file.getPath());
+  }
+
+  /**
+   * Loads the default schema from the classpath resource {@link #DEFAULT_RESOURCE}.
+   *
+   * @return A new schema.
+   * @throws IllegalStateException If the resource is missing or invalid.
+   */
+  public static LayoutSchema loadDefault() {
+    try {
+      return parse(JsonSources.readResource(DEFAULT_RESOURCE), DEFAULT_RESOURCE);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns the description of the origin of the schema.
+   *
+   * @return A file path or a resource name.
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * Returns the layout of a product type.
+   *
+   * @param productType The product type.
+   * @return Null if the schema does not describe the product type.
+   */
+  public DataLayout getLayout(ProductType productType) {
+    return layouts[productType.ordinal()];
+  }
+
+  @Override
+  public String toString() {
+    List<DataLayout> described = new ArrayList<DataLayout>();
+    for (DataLayout layout : layouts) {
+      if (layout != null) {
+        described.add(layout);
+      }
+    }
+    return source + " " + described;
+  }
+}
@@ -0,0 +1,269 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous output of the logs written to {@code System.err}, the output of the SLF4J simple
+ * logger configured in {@code simplelogger.properties}.
+ *
+ * <p>Once installed, {@code System.err} is replaced by a stream that encodes each log line and
+ * puts it in a bounded lock-free queue, without any I/O. A single background thread drains the
+ * queue and writes the lines to the original stream in batches, with one flush per batch. A slow
+ * console or disk therefore no longer adds latency to the card processing: when the queue is full,
+ * the line is dropped and counted, or the logging thread waits, depending on the {@link
+ * OverflowPolicy}.
+ *
+ * <p>The simple logger resolves {@code System.err} on each write, so the output can be installed
+ * at any time, provided {@code org.slf4j.simpleLogger.cacheOutputStream} is not enabled. The
+ * pending lines are written when the output is closed: the application calls {@link #close()} last
+ * in its shutdown sequence, so that the lines logged by the previous steps are not lost.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class AsyncLogOutput {
+
+  /** Default capacity of the queue, in log lines. */
+  public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+
+  private static final int MAX_BATCH_SIZE = 256; // Lines per flush
+  private static final int BATCH_BUFFER_SIZE = 1 << 16;
+  private static final long IDLE_PERIOD_NANOS = 1000000L; // 1 ms
+  private static final long BLOCKED_PERIOD_NANOS = 50000L; // 50 us
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+  private static final Charset CHARSET = Charset.defaultCharset(); // That of the PrintStream
+
+  private static AsyncLogOutput installedOutput; // Guarded by AsyncLogOutput.class
+
+  private final PrintStream target;
+  private final OutputStream batchOutput;
+  private final LogChunkQueue queue;
+  private final OverflowPolicy overflowPolicy;
+  private final Thread writerThread;
+  private final AtomicLong droppedCount = new AtomicLong();
+  private volatile boolean isRunning = true;
+
+  private AsyncLogOutput(PrintStream target, int queueCapacity, OverflowPolicy overflowPolicy) {
+    this.target = target;
+    this.batchOutput = new BufferedOutputStream(target, BATCH_BUFFER_SIZE);
+    this.queue = new LogChunkQueue(queueCapacity);
+    this.overflowPolicy = overflowPolicy;
+    this.writerThread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                writeLoop();
+              }
+            },
+            "async-log-writer");
+    writerThread.setDaemon(true);
+  }
+
+  /**
+   * Replaces {@code System.err} by an asynchronous output.
+   *
+   * @param queueCapacity The maximum number of pending log lines, rounded up to a power of two.
+   * @param overflowPolicy The behavior when the queue is full.
+   * @return The installed output.
+   * @throws IllegalArgumentException If the capacity is not strictly positive.
+   * @throws IllegalStateException If an asynchronous output is already installed.
+   */
+  public static synchronized AsyncLogOutput install(
+      int queueCapacity, OverflowPolicy overflowPolicy) {
+    if (queueCapacity <= 0 || queueCapacity > (1 << 30)) {
+      throw new IllegalArgumentException("Invalid queue capacity: " + queueCapacity);
+    }
+    if (installedOutput != null) {
+      throw new IllegalStateException("Asynchronous log output already installed");
+    }
+    AsyncLogOutput output = new AsyncLogOutput(System.err, queueCapacity, overflowPolicy);
+    output.writerThread.start();
+    System.setErr(new AsyncPrintStream(output));
+    installedOutput = output;
+    return output;
+  }
+
+  /**
+   * Returns the number of outputs, typically log lines, dropped because the queue was full.
+   *
+   * @return A positive number, always 0 with {@link OverflowPolicy#BLOCK}.
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Writes the pending lines and restores the original {@code System.err}.
+   *
+   * <p>No shutdown hook is registered: the application calls this method once the other steps of
+   * its shutdown are done, otherwise the pending lines are lost when the JVM exits. Lines logged
+   * afterwards through a stale reference to the asynchronous stream are written synchronously.
+   * Calling this method again has no effect.
+   */
+  public void close() {
+    synchronized (AsyncLogOutput.class) {
+      if (installedOutput != this) {
+        return;
+      }
+      installedOutput = null;
+      System.setErr(target);
+    }
+    isRunning = false;
+    LockSupport.unpark(writerThread);
+    boolean isInterrupted = false;
+    while (writerThread.isAlive()) {
+      try {
+        writerThread.join();
+      } catch (InterruptedException e) {
+        isInterrupted = true;
+      }
+    }
+    try {
+      while (writeBatch()) {
+        // Drain the lines queued while the writer was stopping
+      }
+    } catch (IOException e) {
+      // Nothing more can be reported, the log output itself failed
+    }
+    long dropped = droppedCount.get();
+    if (dropped > 0) {
+      target.println("[AsyncLogOutput] " + dropped + " log lines dropped, queue full");
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Queues an encoded output, applying the overflow policy if the queue is full.
+   *
+   * @param chunk The encoded output, owned by the queue.
+   */
+  private void enqueue(byte[] chunk) {
+    if (!isRunning) {
+      writeDirectly(chunk);
+      return;
+    }
+    if (queue.offer(chunk)) {
+      return;
+    }
+    if (overflowPolicy == OverflowPolicy.DROP) {
+      droppedCount.incrementAndGet();
+      return;
+    }
+    while (!queue.offer(chunk)) {
+      if (!isRunning) {
+        writeDirectly(chunk);
+        return;
+      }
+      LockSupport.parkNanos(this, BLOCKED_PERIOD_NANOS);
+    }
+  }
+
+  private void writeDirectly(byte[] chunk) {
+    synchronized (target) {
+      target.write(chunk, 0, chunk.length);
+      target.flush();
+    }
+  }
+
+  /** Body of the writer thread: writes the queued lines until the output is closed. */
+  private void writeLoop() {
+    try {
+      while (isRunning) {
+        if (!writeBatch()) {
+          LockSupport.parkNanos(this, IDLE_PERIOD_NANOS);
+        }
+      }
+    } catch (IOException e) {
+      target.println("[AsyncLogOutput] Log writing failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes up to {@link #MAX_BATCH_SIZE} queued lines with a single flush.
+   *
+   * @return true if lines were written.
+   * @throws IOException If the original stream cannot be written.
+   */
+  private boolean writeBatch() throws IOException {
+    int count = 0;
+    byte[] chunk;
+    synchronized (target) {
+      while (count < MAX_BATCH_SIZE && (chunk = queue.poll()) != null) {
+        batchOutput.write(chunk);
+        count++;
+      }
+      if (count > 0) {
+        batchOutput.flush();
+      }
+    }
+    return count > 0;
+  }
+
+  /**
+   * Stream installed as {@code System.err}, turning each print into a queued chunk.
+   *
+   * <p>The strings are encoded and queued in a single chunk, bypassing the buffer of the {@link
+   * PrintStream} encoder that splits the long ones, and the lines are printed with their separator,
+   * so that a line logged by the simple logger is never split by a drop. The other prints are
+   * queued as encoded by the {@link PrintStream}.
+   */
+  private static final class AsyncPrintStream extends PrintStream {
+
+    private final AsyncLogOutput output;
+
+    private AsyncPrintStream(final AsyncLogOutput output) {
+      super(
+          new OutputStream() {
+            @Override
+            public void write(int b) {
+              output.enqueue(new byte[] {(byte) b});
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+              output.enqueue(Arrays.copyOfRange(b, off, off + len));
+            }
+          },
+          false);
+      this.output = output;
+    }
+
+    @Override
+    public void print(String s) {
+      output.enqueue(String.valueOf(s).getBytes(CHARSET));
+    }
+
+    @Override
+    public void println(String x) {
+      print(x + LINE_SEPARATOR);
+    }
+
+    @Override
+    public void println(Object x) {
+      print(String.valueOf(x) + LINE_SEPARATOR);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of encoded log output, with multiple producers and a single consumer.
+ *
+ * <p>The producers claim a slot by incrementing the tail with a CAS, then publish their chunk in
+ * it. The consumer takes the chunks in claim order, a claimed but not yet published slot being
+ * seen as empty until its producer completes.
+ *
+ * @since 2.0.0
+ */
+final class LogChunkQueue {
+
+  private final AtomicReferenceArray<byte[]> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong(); // Next slot to claim by a producer
+  private final AtomicLong head = new AtomicLong(); // Next slot to take by the consumer
+
+  /**
+   * Constructor.
+   *
+   * @param capacity The capacity, rounded up to a power of two.
+   */
+  LogChunkQueue(int capacity) {
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.slots = new AtomicReferenceArray<byte[]>(size);
+    this.mask = size - 1;
+  }
+
+  /**
+   * Adds a chunk if the queue is not full.
+   *
+   * @param chunk The chunk.
+   * @return false if the queue is full.
+   */
+  boolean offer(byte[] chunk) {
+    long position;
+    do {
+      position = tail.get();
+      if (position - head.get() > mask) {
+        return false;
+      }
+    } while (!tail.compareAndSet(position, position + 1));
+    slots.lazySet((int) (position & mask), chunk);
+    return true;
+  }
+
+  /**
+   * Takes the oldest chunk, to be called by the consumer thread only.
+   *
+   * @return null if no chunk is available.
+   */
+  byte[] poll() {
+    long position = head.get();
+    int index = (int) (position & mask);
+    byte[] chunk = slots.get(index);
+    if (chunk == null) {
+      return null;
+    }
+    slots.lazySet(index, null);
+    head.lazySet(position + 1);
+    return chunk;
+  }
+
+  /**
+   * Returns whether all the claimed slots have been consumed.
+   *
+   * @return true if the queue is empty.
+   */
+  boolean isEmpty() {
+    return head.get() == tail.get();
+  }
+}
@@ -0,0 +1,27 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.logging;
+
+/**
+ * Behavior of {@link AsyncLogOutput} when its queue is full.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public enum OverflowPolicy {
+
+  /** The output is discarded and counted, the logging thread never waits. */
+  DROP,
+
+  /** The logging thread waits until the writer has freed space in the queue, no output is lost. */
+  BLOCK
+}
@@ -0,0 +1,31 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.List;
+
+/**
+ * Reads blocks of a storage card on behalf of a {@link LazyCardMemory}.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public interface BlockFetcher {
+
+  /**
+   * Reads the provided blocks from the card, so that they are available through {@code
+   * StorageCard.getBlocks}.
+   *
+   * @param ranges The ranges to read, in increasing order, neither overlapping nor adjacent.
+   */
+  void fetch(List<BlockRange> ranges);
+}
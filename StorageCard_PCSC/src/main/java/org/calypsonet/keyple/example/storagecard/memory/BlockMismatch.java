@@ -0,0 +1,79 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import org.eclipse.keyple.core.util.HexUtil;
+
+/**
+ * Block whose content read back from the card differs from the written one.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class BlockMismatch {
+
+  private final int block;
+  private final byte[] expected;
+  private final byte[] actual;
+
+  /**
+   * Constructor.
+   *
+   * @param block The block number.
+   * @param expected The expected content, owned by the instance.
+   * @param actual The content read back, owned by the instance.
+   */
+  BlockMismatch(int block, byte[] expected, byte[] actual) {
+    this.block = block;
+    this.expected = expected;
+    this.actual = actual;
+  }
+
+  /**
+   * Returns the block number.
+   *
+   * @return A positive number.
+   */
+  public int getBlock() {
+    return block;
+  }
+
+  /**
+   * Returns the expected content of the block.
+   *
+   * @return A new array.
+   */
+  public byte[] getExpected() {
+    return expected.clone();
+  }
+
+  /**
+   * Returns the content of the block read back from the card.
+   *
+   * @return A new array.
+   */
+  public byte[] getActual() {
+    return actual.clone();
+  }
+
+  @Override
+  public String toString() {
+    return "block "
+        + block
+        + ": expected "
+        + HexUtil.toHex(expected)
+        + ", read "
+        + HexUtil.toHex(actual);
+  }
+}
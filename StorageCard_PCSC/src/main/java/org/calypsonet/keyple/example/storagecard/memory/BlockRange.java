@@ -0,0 +1,113 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.Arrays;
+
+/**
+ * Range of consecutive blocks of a storage card memory, bounds included.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class BlockRange {
+
+  private final int fromBlock;
+  private final int toBlock;
+
+  /**
+   * Creates a range.
+   *
+   * @param fromBlock The first block.
+   * @param toBlock The last block (included).
+   * @throws IllegalArgumentException If the bounds are negative or inverted.
+   */
+  public BlockRange(int fromBlock, int toBlock) {
+    if (fromBlock < 0 || toBlock < fromBlock) {
+      throw new IllegalArgumentException("Invalid block range: " + fromBlock + ".." + toBlock);
+    }
+    this.fromBlock = fromBlock;
+    this.toBlock = toBlock;
+  }
+
+  /**
+   * Returns the first block of the range.
+   *
+   * @return A positive number.
+   */
+  public int getFromBlock() {
+    return fromBlock;
+  }
+
+  /**
+   * Returns the last block of the range (included).
+   *
+   * @return A number greater than or equal to the first block.
+   */
+  public int getToBlock() {
+    return toBlock;
+  }
+
+  /**
+   * Returns the number of blocks of the range.
+   *
+   * @return A strictly positive number.
+   */
+  public int getBlockCount() {
+    return toBlock - fromBlock + 1;
+  }
+
+  /**
+   * Returns whether the range contains a block.
+   *
+   * @param block The block number.
+   * @return true if the block is within the bounds.
+   */
+  public boolean contains(int block) {
+    return block >= fromBlock && block <= toBlock;
+  }
+
+  /**
+   * Copies the content of the range from a memory image.
+   *
+   * @param image The image of the memory, starting at block 0.
+   * @param blockSize The size of a block in bytes.
+   * @return A new array of {@code getBlockCount() * blockSize} bytes.
+   */
+  public byte[] copyOf(byte[] image, int blockSize) {
+    return Arrays.copyOfRange(image, fromBlock * blockSize, (toBlock + 1) * blockSize);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BlockRange)) {
+      return false;
+    }
+    BlockRange that = (BlockRange) o;
+    return fromBlock == that.fromBlock && toBlock == that.toBlock;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * fromBlock + toBlock;
+  }
+
+  @Override
+  public String toString() {
+    return fromBlock == toBlock ? String.valueOf(fromBlock) : fromBlock + ".." + toBlock;
+  }
+}
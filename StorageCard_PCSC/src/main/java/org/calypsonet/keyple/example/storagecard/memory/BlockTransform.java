@@ -0,0 +1,36 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+/**
+ * Transformation applied in place to the blocks of a {@link MemoryImage}, see {@link
+ * WritePlanner#applyTransform(MemoryImage, int, int, BlockTransform)}.
+ *
+ * <p>Implementations work directly on the image buffer and must not allocate, so that the
+ * processing of a tap creates no garbage whatever the size of the memory.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public interface BlockTransform {
+
+  /**
+   * Transforms a block in place.
+   *
+   * @param image The buffer of the memory image.
+   * @param offset The offset of the block in the buffer.
+   * @param blockSize The size of the block in bytes.
+   * @param blockNumber The number of the block.
+   * @return true if the content of the block changed, i.e. if it has to be written.
+   */
+  boolean apply(byte[] image, int offset, int blockSize, int blockNumber);
+}
@@ -0,0 +1,184 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.util.HexUtil;
+
+/**
+ * In-memory cache of the last known memory images of storage cards, keyed by card UID.
+ *
+ * <p>Each image is stored with a fingerprint, i.e. the content of a few blocks of the card that
+ * change on every update (typically version or counter blocks). On the next tap, only these blocks
+ * have to be read: when they still match the fingerprint, the cached image is the current content
+ * of the card and the full read can be skipped. Commuters tapping the same cards on the same gates
+ * every day make this the common case.
+ *
+ * <p>The cache holds at most {@code capacity} images, the least recently used one being evicted
+ * first, and an image expires {@code timeToLive} after it was stored.
+ *
+ * <p>This class is thread-safe, an instance may be shared by several readers.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class CardImageCache {
+
+  private final int capacity;
+  private final long timeToLiveNanos;
+  private final Map<String, Entry> entries;
+
+  private long hitCount;
+  private long missCount;
+
+  /**
+   * Creates a cache.
+   *
+   * @param capacity The maximum number of images.
+   * @param timeToLive The time during which an image is valid.
+   * @param unit The unit of the time to live.
+   * @throws IllegalArgumentException If the capacity or the time to live is not strictly positive.
+   */
+  public CardImageCache(int capacity, long timeToLive, TimeUnit unit) {
+    if (capacity <= 0 || timeToLive <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid capacity or time to live: " + capacity + ", " + timeToLive);
+    }
+    this.capacity = capacity;
+    this.timeToLiveNanos = unit.toNanos(timeToLive);
+    this.entries =
+        new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > CardImageCache.this.capacity;
+          }
+        };
+  }
+
+  /**
+   * Returns the cached image of a card if its fingerprint is unchanged.
+   *
+   * <p>A stale entry (expired, or whose fingerprint differs) is removed.
+   *
+   * @param uid The UID of the card.
+   * @param fingerprint The content of the fingerprint blocks read from the card.
+   * @return A copy of the cached image, or null if the card has to be read.
+   */
+  public synchronized byte[] get(byte[] uid, byte[] fingerprint) {
+    String key = HexUtil.toHex(uid);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    if (System.nanoTime() - entry.storedAtNanos > timeToLiveNanos
+        || !Arrays.equals(entry.fingerprint, fingerprint)) {
+      entries.remove(key);
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    return entry.image.clone();
+  }
+
+  /**
+   * Stores the image of a card, replacing the previous one.
+   *
+   * @param uid The UID of the card.
+   * @param fingerprint The content of the fingerprint blocks in the image.
+   * @param image The memory image of the card, starting at block 0.
+   */
+  public synchronized void put(byte[] uid, byte[] fingerprint, byte[] image) {
+    entries.put(
+        HexUtil.toHex(uid), new Entry(fingerprint.clone(), image.clone(), System.nanoTime()));
+  }
+
+  /**
+   * Stores a copy of the loaded content of a reusable memory image, replacing the previous one.
+   *
+   * <p>The copy is the only allocation of the image, the callers processing the memory in place.
+   *
+   * @param uid The UID of the card.
+   * @param fingerprint The content of the fingerprint blocks in the image.
+   * @param image The memory image of the card, starting at block 0.
+   */
+  public synchronized void put(byte[] uid, byte[] fingerprint, MemoryImage image) {
+    entries.put(
+        HexUtil.toHex(uid), new Entry(fingerprint.clone(), image.toByteArray(), System.nanoTime()));
+  }
+
+  /**
+   * Removes the image of a card, e.g. when its content is no longer known after a failed write.
+   *
+   * @param uid The UID of the card.
+   */
+  public synchronized void invalidate(byte[] uid) {
+    entries.remove(HexUtil.toHex(uid));
+  }
+
+  /**
+   * Returns the number of cached images.
+   *
+   * @return A positive number, at most the capacity.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the number of lookups that returned an image.
+   *
+   * @return A positive number.
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns the number of lookups that required a read of the card.
+   *
+   * @return A positive number.
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "CardImageCache{size="
+        + entries.size()
+        + "/"
+        + capacity
+        + ", hits="
+        + hitCount
+        + ", misses="
+        + missCount
+        + "}";
+  }
+
+  /** Cached image with its fingerprint and storage time. */
+  private static final class Entry {
+
+    private final byte[] fingerprint;
+    private final byte[] image;
+    private final long storedAtNanos;
+
+    private Entry(byte[] fingerprint, byte[] image, long storedAtNanos) {
+      this.fingerprint = fingerprint;
+      this.image = image;
+      this.storedAtNanos = storedAtNanos;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keypop.storagecard.card.ProductType;
+import org.eclipse.keypop.storagecard.card.StorageCard;
+
+/**
+ * Memory of a selected storage card, whose blocks are read from the card on first access.
+ *
+ * <p>The blocks read during the selection (see {@link ReadPlan}) are available at once. The other
+ * blocks are read by the {@link BlockFetcher} when {@link #getBlocks(int, int)} first covers them,
+ * within the channel left open by the previous commands. The reads are extended to the aligned
+ * windows of {@code readAheadBlocks} blocks around the requested blocks, the consecutive missing
+ * blocks being read together in a single batch. A decoder touching a few fields of a large memory
+ * thus reads only the windows holding them, and the next accesses to neighbouring fields are
+ * free. A block is read at most once.
+ *
+ * <p>This class is not thread-safe, an instance being used during a single tap.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class LazyCardMemory {
+
+  private final StorageCard card;
+  private final BlockFetcher fetcher;
+  private final int readAheadBlocks;
+  private final boolean[] isLoaded;
+  private int fetchCount;
+  private int fetchedBlockCount;
+
+  /**
+   * Creates the memory of a selected card, with the default read-ahead of its product type.
+   *
+   * @param card The selected card.
+   * @param preRead The blocks read during the selection.
+   * @param fetcher The reader of the other blocks.
+   * @see #getDefaultReadAheadBlocks(ProductType)
+   */
+  public LazyCardMemory(StorageCard card, ReadPlan preRead, BlockFetcher fetcher) {
+    this(card, preRead, getDefaultReadAheadBlocks(card.getProductType()), fetcher);
+  }
+
+  /**
+   * Creates the memory of a selected card.
+   *
+   * @param card The selected card.
+   * @param preRead The blocks read during the selection.
+   * @param readAheadBlocks The size of the read windows, in blocks (1 to read only the requested
+   *     blocks).
+   * @param fetcher The reader of the other blocks.
+   * @throws IllegalArgumentException If the read-ahead is not strictly positive.
+   */
+  public LazyCardMemory(
+      StorageCard card, ReadPlan preRead, int readAheadBlocks, BlockFetcher fetcher) {
+    if (readAheadBlocks <= 0) {
+      throw new IllegalArgumentException("Invalid read-ahead: " + readAheadBlocks);
+    }
+    this.card = card;
+    this.fetcher = fetcher;
+    this.readAheadBlocks = readAheadBlocks;
+    this.isLoaded = new boolean[card.getProductType().getBlockCount()];
+    for (BlockRange range : preRead.getRanges()) {
+      markLoaded(range);
+    }
+  }
+
+  /**
+   * Returns the default size of the read windows of a product type.
+   *
+   * <p>It is the number of blocks returned by a single read command of the card: 4 pages for MIFARE
+   * Ultralight (READ command), and 16 blocks (64 bytes) for the other product types, read with the
+   * multi-block mode of the reader.
+   *
+   * @param productType The product type.
+   * @return A number of blocks.
+   */
+  public static int getDefaultReadAheadBlocks(ProductType productType) {
+    switch (productType) {
+      case MIFARE_ULTRALIGHT:
+        return 4;
+      default:
+        return Math.max(1, Math.min(productType.getBlockCount(), 64 / productType.getBlockSize()));
+    }
+  }
+
+  /**
+   * Returns the content of a block, reading it from the card if not read yet.
+   *
+   * @param block The block number.
+   * @return A new array.
+   * @throws IllegalArgumentException If the block is out of the memory.
+   */
+  public byte[] getBlock(int block) {
+    return getBlocks(block, block);
+  }
+
+  /**
+   * Returns the content of blocks, reading from the card those not read yet with their read-ahead
+   * windows.
+   *
+   * @param fromBlock The first block.
+   * @param toBlock The last block (included).
+   * @return A new array.
+   * @throws IllegalArgumentException If the range is out of the memory.
+   */
+  public byte[] getBlocks(int fromBlock, int toBlock) {
+    if (fromBlock < 0 || toBlock < fromBlock || toBlock >= isLoaded.length) {
+      throw new IllegalArgumentException("Invalid block range: " + fromBlock + ".." + toBlock);
+    }
+    if (isLoaded(fromBlock, toBlock)) {
+      return card.getBlocks(fromBlock, toBlock);
+    }
+    // Extend the read to the windows holding the requested blocks
+    int windowStart = fromBlock - fromBlock % readAheadBlocks;
+    int windowEnd =
+        Math.min(isLoaded.length - 1, toBlock - toBlock % readAheadBlocks + readAheadBlocks - 1);
+    List<BlockRange> missingRanges = new ArrayList<BlockRange>();
+    int block = windowStart;
+    while (block <= windowEnd) {
+      if (isLoaded[block]) {
+        block++;
+        continue;
+      }
+      int rangeStart = block;
+      while (block <= windowEnd && !isLoaded[block]) {
+        block++;
+      }
+      missingRanges.add(new BlockRange(rangeStart, block - 1));
+    }
+    fetcher.fetch(missingRanges);
+    fetchCount++;
+    for (BlockRange range : missingRanges) {
+      markLoaded(range);
+      fetchedBlockCount += range.getBlockCount();
+    }
+    return card.getBlocks(fromBlock, toBlock);
+  }
+
+  private boolean isLoaded(int fromBlock, int toBlock) {
+    for (int i = fromBlock; i <= toBlock; i++) {
+      if (!isLoaded[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether a block is available without reading the card.
+   *
+   * @param block The block number.
+   * @return true if the block was read during the selection or fetched.
+   */
+  public boolean isLoaded(int block) {
+    return isLoaded[block];
+  }
+
+  /**
+   * Returns the number of batches read after the selection.
+   *
+   * @return A positive number.
+   */
+  public int getFetchCount() {
+    return fetchCount;
+  }
+
+  /**
+   * Returns the number of blocks read after the selection, including the read-ahead.
+   *
+   * @return A positive number.
+   */
+  public int getFetchedBlockCount() {
+    return fetchedBlockCount;
+  }
+
+  private void markLoaded(BlockRange range) {
+    int toBlock = Math.min(range.getToBlock(), isLoaded.length - 1);
+    for (int i = range.getFromBlock(); i <= toBlock; i++) {
+      isLoaded[i] = true;
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import org.eclipse.keypop.storagecard.card.ProductType;
+
+/**
+ * Reusable buffer holding the memory image of a storage card, starting at block 0.
+ *
+ * <p>The buffer is allocated once with the capacity of the largest memory and is reloaded for each
+ * card, so that the image can be transformed in place (see {@link BlockTransform}) without any
+ * allocation per tap. It can also be accessed through a {@link ByteBuffer} view.
+ *
+ * <p>This class is not thread-safe: an instance is meant to be reused by the successive taps of a
+ * reader.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class MemoryImage {
+
+  private final byte[] buffer;
+  private final ByteBuffer view;
+  private int blockSize;
+  private int blockCount;
+
+  /**
+   * Creates an empty image.
+   *
+   * @param capacity The capacity of the buffer in bytes.
+   * @throws IllegalArgumentException If the capacity is not strictly positive.
+   */
+  public MemoryImage(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    this.buffer = new byte[capacity];
+    this.view = ByteBuffer.wrap(buffer);
+  }
+
+  /**
+   * Creates an empty image able to hold the memory of any product type.
+   *
+   * @return A new image.
+   */
+  public static MemoryImage forLargestProductType() {
+    int capacity = 0;
+    for (ProductType productType : ProductType.values()) {
+      capacity = Math.max(capacity, productType.getBlockCount() * productType.getBlockSize());
+    }
+    return new MemoryImage(capacity);
+  }
+
+  /**
+   * Replaces the content of the image by a copy of the memory of a card.
+   *
+   * @param content The memory content, starting at block 0.
+   * @param blockSize The size of a block in bytes.
+   * @throws IllegalArgumentException If the content exceeds the capacity or is not a whole number
+   *     of blocks.
+   */
+  public void load(byte[] content, int blockSize) {
+    if (content.length > buffer.length || blockSize <= 0 || content.length % blockSize != 0) {
+      throw new IllegalArgumentException(
+          "Invalid memory content: " + content.length + " bytes, blocks of " + blockSize);
+    }
+    System.arraycopy(content, 0, buffer, 0, content.length);
+    this.blockSize = blockSize;
+    this.blockCount = content.length / blockSize;
+  }
+
+  /**
+   * Returns the size of a block of the loaded memory.
+   *
+   * @return A strictly positive number, 0 if nothing is loaded.
+   */
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Returns the number of blocks of the loaded memory.
+   *
+   * @return A positive number.
+   */
+  public int getBlockCount() {
+    return blockCount;
+  }
+
+  /**
+   * Returns the length of the loaded memory.
+   *
+   * @return A positive number of bytes.
+   */
+  public int getLength() {
+    return blockCount * blockSize;
+  }
+
+  /**
+   * Returns the buffer of the image, valid up to {@link #getLength()}.
+   *
+   * @return The buffer itself, modified by the next {@link #load(byte[], int)}.
+   */
+  public byte[] array() {
+    return buffer;
+  }
+
+  /**
+   * Returns a view of the loaded memory.
+   *
+   * @return The view itself, with its position reset to 0 and its limit set to {@link
+   *     #getLength()}.
+   */
+  public ByteBuffer asByteBuffer() {
+    // Called through Buffer to stay compatible with Java 8 when compiled with a later JDK
+    ((Buffer) view).clear();
+    ((Buffer) view).limit(getLength());
+    return view;
+  }
+
+  /**
+   * Returns a copy of the loaded memory.
+   *
+   * @return A new array of {@link #getLength()} bytes.
+   */
+  public byte[] toByteArray() {
+    byte[] content = new byte[getLength()];
+    System.arraycopy(buffer, 0, content, 0, content.length);
+    return content;
+  }
+}
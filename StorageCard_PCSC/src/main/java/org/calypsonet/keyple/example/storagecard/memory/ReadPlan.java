@@ -0,0 +1,147 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.eclipse.keypop.storagecard.card.ProductType;
+import org.eclipse.keypop.storagecard.card.StorageCardSelectionExtension;
+
+/**
+ * Blocks of a storage card to read in one go, typically during the selection.
+ *
+ * <p>The ranges of the plan are merged when they overlap or are adjacent, so that each range is
+ * read with a single {@code prepareReadBlocks} call, split by the storage card extension into as
+ * few read commands as the product type allows.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class ReadPlan {
+
+  private static final Comparator<BlockRange> BY_FIRST_BLOCK =
+      new Comparator<BlockRange>() {
+        @Override
+        public int compare(BlockRange r1, BlockRange r2) {
+          return r1.getFromBlock() - r2.getFromBlock();
+        }
+      };
+
+  private final List<BlockRange> ranges;
+
+  /**
+   * Constructor.
+   *
+   * @param ranges The merged ranges, in increasing order.
+   */
+  private ReadPlan(List<BlockRange> ranges) {
+    this.ranges = Collections.unmodifiableList(ranges);
+  }
+
+  /**
+   * Creates a plan reading the provided ranges.
+   *
+   * @param ranges The ranges, in any order, possibly overlapping.
+   * @return A new plan holding the merged ranges.
+   */
+  public static ReadPlan of(List<BlockRange> ranges) {
+    List<BlockRange> sorted = new ArrayList<BlockRange>(ranges);
+    Collections.sort(sorted, BY_FIRST_BLOCK);
+    List<BlockRange> merged = new ArrayList<BlockRange>();
+    BlockRange current = null;
+    for (BlockRange range : sorted) {
+      if (current == null) {
+        current = range;
+      } else if (range.getFromBlock() <= current.getToBlock() + 1) {
+        if (range.getToBlock() > current.getToBlock()) {
+          current = new BlockRange(current.getFromBlock(), range.getToBlock());
+        }
+      } else {
+        merged.add(current);
+        current = range;
+      }
+    }
+    if (current != null) {
+      merged.add(current);
+    }
+    return new ReadPlan(merged);
+  }
+
+  /**
+   * Creates a plan reading the whole memory of a product type.
+   *
+   * @param productType The product type.
+   * @return A new plan.
+   */
+  public static ReadPlan wholeMemory(ProductType productType) {
+    return new ReadPlan(
+        Collections.singletonList(new BlockRange(0, productType.getBlockCount() - 1)));
+  }
+
+  /**
+   * Returns a plan reading the blocks of this plan and of a range.
+   *
+   * @param range The range to add.
+   * @return A new plan, or this one if it already reads the range.
+   */
+  public ReadPlan with(BlockRange range) {
+    for (BlockRange planned : ranges) {
+      if (planned.contains(range.getFromBlock()) && planned.contains(range.getToBlock())) {
+        return this;
+      }
+    }
+    List<BlockRange> extended = new ArrayList<BlockRange>(ranges);
+    extended.add(range);
+    return of(extended);
+  }
+
+  /**
+   * Returns the merged ranges.
+   *
+   * @return An unmodifiable list in increasing order, with neither overlapping nor adjacent
+   *     ranges.
+   */
+  public List<BlockRange> getRanges() {
+    return ranges;
+  }
+
+  /**
+   * Returns the last block read by the plan.
+   *
+   * @return -1 if the plan is empty.
+   */
+  public int getLastBlock() {
+    return ranges.isEmpty() ? -1 : ranges.get(ranges.size() - 1).getToBlock();
+  }
+
+  /**
+   * Prepares the reads of the plan on a selection extension.
+   *
+   * @param extension The selection extension of the storage card.
+   * @return The extension.
+   */
+  public StorageCardSelectionExtension prepareReads(StorageCardSelectionExtension extension) {
+    for (BlockRange range : ranges) {
+      extension.prepareReadBlocks(range.getFromBlock(), range.getToBlock());
+    }
+    return extension;
+  }
+
+  @Override
+  public String toString() {
+    return ranges.toString();
+  }
+}
@@ -0,0 +1,33 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+/**
+ * Extent of the read-back performed after writing a storage card, see {@link WriteVerifier}.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public enum VerificationMode {
+
+  /** No read-back: the status of the write commands is trusted. */
+  NONE,
+
+  /** Read-back of the written blocks only. */
+  WRITTEN_RANGES,
+
+  /** Read-back of a random sample of the written blocks. */
+  SAMPLE,
+
+  /** Read-back of the whole memory. */
+  FULL
+}
@@ -0,0 +1,93 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of the read-back of the written blocks, see {@link WriteVerifier}.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class VerificationResult {
+
+  private final VerificationMode mode;
+  private final List<BlockRange> checkedRanges;
+  private final List<BlockMismatch> mismatches;
+
+  /**
+   * Constructor.
+   *
+   * @param mode The verification mode.
+   * @param checkedRanges The ranges read back.
+   * @param mismatches The blocks whose content differs.
+   */
+  VerificationResult(
+      VerificationMode mode, List<BlockRange> checkedRanges, List<BlockMismatch> mismatches) {
+    this.mode = mode;
+    this.checkedRanges = Collections.unmodifiableList(checkedRanges);
+    this.mismatches = Collections.unmodifiableList(mismatches);
+  }
+
+  /**
+   * Returns the verification mode.
+   *
+   * @return A not null reference.
+   */
+  public VerificationMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Returns the ranges of blocks read back.
+   *
+   * @return An unmodifiable list, empty in {@link VerificationMode#NONE} mode.
+   */
+  public List<BlockRange> getCheckedRanges() {
+    return checkedRanges;
+  }
+
+  /**
+   * Returns the number of blocks read back.
+   *
+   * @return A positive number.
+   */
+  public int getCheckedBlockCount() {
+    int count = 0;
+    for (BlockRange range : checkedRanges) {
+      count += range.getBlockCount();
+    }
+    return count;
+  }
+
+  /**
+   * Returns the blocks whose content read back differs from the expected one.
+   *
+   * @return An unmodifiable list, empty if the verification succeeded.
+   */
+  public List<BlockMismatch> getMismatches() {
+    return mismatches;
+  }
+
+  /**
+   * Returns whether all the blocks read back hold the expected content.
+   *
+   * @return true if no mismatch was found.
+   */
+  public boolean isSuccessful() {
+    return mismatches.isEmpty();
+  }
+}
@@ -0,0 +1,120 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes computed by a {@link WritePlanner}: the target image of the memory and the ranges of
+ * blocks to write to reach it.
+ *
+ * <p>The target image of a plan returned by {@link WritePlanner#applyTransform(MemoryImage, int,
+ * int, BlockTransform)} is the buffer of the transformed {@link MemoryImage} itself, not a copy: the
+ * plan is only valid until the image is reloaded, typically for the rest of the tap. The plans are
+ * otherwise immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class WritePlan {
+
+  private final byte[] targetImage;
+  private final int imageLength;
+  private final int blockSize;
+  private final List<BlockRange> ranges;
+
+  /**
+   * Constructor.
+   *
+   * @param targetImage The target image, owned by the plan or by the {@link MemoryImage} it was
+   *     computed from.
+   * @param imageLength The length of the target image, up to which the array is valid.
+   * @param blockSize The size of a block in bytes.
+   * @param ranges The ranges of blocks to write, in increasing order.
+   */
+  WritePlan(byte[] targetImage, int imageLength, int blockSize, List<BlockRange> ranges) {
+    this.targetImage = targetImage;
+    this.imageLength = imageLength;
+    this.blockSize = blockSize;
+    this.ranges = Collections.unmodifiableList(ranges);
+  }
+
+  /**
+   * Returns the ranges of blocks to write.
+   *
+   * @return An unmodifiable list, empty if the memory already holds the target image.
+   */
+  public List<BlockRange> getRanges() {
+    return ranges;
+  }
+
+  /**
+   * Returns whether there is nothing to write.
+   *
+   * @return true if no block changed.
+   */
+  public boolean isEmpty() {
+    return ranges.isEmpty();
+  }
+
+  /**
+   * Returns the number of blocks to write.
+   *
+   * @return A positive number.
+   */
+  public int getBlockCount() {
+    int count = 0;
+    for (BlockRange range : ranges) {
+      count += range.getBlockCount();
+    }
+    return count;
+  }
+
+  /**
+   * Returns the expected content of the memory once the plan is applied.
+   *
+   * @return A new array, starting at block 0.
+   */
+  public byte[] getTargetImage() {
+    return Arrays.copyOf(targetImage, imageLength);
+  }
+
+  /**
+   * Returns the expected content of a block once the plan is applied.
+   *
+   * @param block The block number.
+   * @return A new array of one block.
+   */
+  public byte[] getTargetBlock(int block) {
+    return new BlockRange(block, block).copyOf(targetImage, blockSize);
+  }
+
+  /**
+   * Returns the size of a block.
+   *
+   * @return A strictly positive number.
+   */
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Returns the target image without copy.
+   *
+   * @return The image of the plan, valid up to its length, not to be modified.
+   */
+  byte[] targetImage() {
+    return targetImage;
+  }
+}
@@ -0,0 +1,179 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keypop.storagecard.card.ProductType;
+import org.eclipse.keypop.storagecard.transaction.StorageCardTransactionManager;
+
+/**
+ * Plans the writes needed to turn the memory of a storage card into a target image.
+ *
+ * <p>The planner compares the target image with the known content of the card block by block,
+ * drops the unchanged blocks and merges the consecutive changed blocks into ranges of at most
+ * {@code maxBlocksPerWrite} blocks, each range being prepared with a single {@code
+ * prepareWriteBlocks} call. Only the modified blocks are then exchanged with the card, which
+ * matters on large memories where an update typically touches a few blocks.
+ *
+ * <p>Alternatively, {@link #applyTransform(MemoryImage, int, int, BlockTransform)} transforms a
+ * reusable image in place and plans the blocks reported as changed by the transform, without the
+ * block by block comparison nor any intermediate copy.
+ *
+ * <p>This class is immutable.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class WritePlanner {
+
+  private final int blockSize;
+  private final int maxBlocksPerWrite;
+
+  /**
+   * Creates a planner.
+   *
+   * @param blockSize The size of a block in bytes.
+   * @param maxBlocksPerWrite The maximum number of blocks of a range.
+   * @throws IllegalArgumentException If a parameter is not strictly positive.
+   */
+  public WritePlanner(int blockSize, int maxBlocksPerWrite) {
+    if (blockSize <= 0 || maxBlocksPerWrite <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid block size or range size: " + blockSize + ", " + maxBlocksPerWrite);
+    }
+    this.blockSize = blockSize;
+    this.maxBlocksPerWrite = maxBlocksPerWrite;
+  }
+
+  /**
+   * Creates a planner for a product type.
+   *
+   * <p>The ranges are not limited: the storage card extension splits the data of a {@code
+   * prepareWriteBlocks} call into the write commands supported by the product type.
+   *
+   * @param productType The product type.
+   * @return A new planner.
+   */
+  public static WritePlanner forProductType(ProductType productType) {
+    return new WritePlanner(productType.getBlockSize(), productType.getBlockCount());
+  }
+
+  /**
+   * Computes the ranges of blocks to write.
+   *
+   * @param currentImage The current content of the memory, starting at block 0.
+   * @param targetImage The target content of the memory, starting at block 0, copied into the
+   *     plan.
+   * @param fromBlock The first block that may be written.
+   * @param toBlock The last block that may be written (included).
+   * @return The plan holding the ranges of changed blocks in increasing order.
+   * @throws IllegalArgumentException If an image does not cover the blocks.
+   */
+  public WritePlan plan(
+      byte[] currentImage, byte[] targetImage, int fromBlock, int toBlock) {
+    if (fromBlock < 0 || toBlock < fromBlock) {
+      throw new IllegalArgumentException("Invalid block range: " + fromBlock + ".." + toBlock);
+    }
+    int end = (toBlock + 1) * blockSize;
+    if (currentImage.length < end || targetImage.length < end) {
+      throw new IllegalArgumentException("Images do not cover block " + toBlock);
+    }
+    RangeCollector collector = new RangeCollector();
+    for (int block = fromBlock; block <= toBlock; block++) {
+      collector.next(block, isBlockChanged(currentImage, targetImage, block));
+    }
+    return new WritePlan(targetImage.clone(), end, blockSize, collector.finish(toBlock));
+  }
+
+  /**
+   * Applies a transform in place to blocks of an image and plans the writes of the changed blocks.
+   *
+   * <p>The blocks reported as changed by the transform are merged into ranges as by {@link
+   * #plan(byte[], byte[], int, int)}. The returned plan references the transformed image without
+   * copying it, so the only allocations are the ranges; it is valid until the image is reloaded.
+   *
+   * @param image The image to transform, holding the current content of the memory.
+   * @param fromBlock The first block to transform.
+   * @param toBlock The last block to transform (included).
+   * @param transform The transform.
+   * @return The plan referencing the transformed image and holding the ranges of changed blocks.
+   * @throws IllegalArgumentException If the block size of the image differs from the planner one,
+   *     or the image does not cover the blocks.
+   */
+  public WritePlan applyTransform(
+      MemoryImage image, int fromBlock, int toBlock, BlockTransform transform) {
+    if (fromBlock < 0 || toBlock < fromBlock) {
+      throw new IllegalArgumentException("Invalid block range: " + fromBlock + ".." + toBlock);
+    }
+    if (image.getBlockSize() != blockSize || image.getBlockCount() <= toBlock) {
+      throw new IllegalArgumentException("Image does not cover block " + toBlock);
+    }
+    byte[] buffer = image.array();
+    RangeCollector collector = new RangeCollector();
+    for (int block = fromBlock; block <= toBlock; block++) {
+      collector.next(block, transform.apply(buffer, block * blockSize, blockSize, block));
+    }
+    return new WritePlan(image.array(), image.getLength(), blockSize, collector.finish(toBlock));
+  }
+
+  /**
+   * Prepares the writes of the planned ranges.
+   *
+   * @param transaction The transaction manager bound to the card.
+   * @param plan The plan returned by {@link #plan(byte[], byte[], int, int)}.
+   */
+  public void prepareWrites(StorageCardTransactionManager transaction, WritePlan plan) {
+    byte[] targetImage = plan.targetImage();
+    for (BlockRange range : plan.getRanges()) {
+      transaction.prepareWriteBlocks(range.getFromBlock(), range.copyOf(targetImage, blockSize));
+    }
+  }
+
+  /** Merges the consecutive changed blocks into ranges of at most maxBlocksPerWrite blocks. */
+  private final class RangeCollector {
+
+    private final List<BlockRange> ranges = new ArrayList<BlockRange>();
+    private int rangeStart = -1;
+
+    private void next(int block, boolean isChanged) {
+      if (isChanged) {
+        if (rangeStart < 0) {
+          rangeStart = block;
+        } else if (block - rangeStart == maxBlocksPerWrite) {
+          ranges.add(new BlockRange(rangeStart, block - 1));
+          rangeStart = block;
+        }
+      } else if (rangeStart >= 0) {
+        ranges.add(new BlockRange(rangeStart, block - 1));
+        rangeStart = -1;
+      }
+    }
+
+    private List<BlockRange> finish(int toBlock) {
+      if (rangeStart >= 0) {
+        ranges.add(new BlockRange(rangeStart, toBlock));
+      }
+      return ranges;
+    }
+  }
+
+  private boolean isBlockChanged(byte[] currentImage, byte[] targetImage, int block) {
+    int offset = block * blockSize;
+    for (int i = offset; i < offset + blockSize; i++) {
+      if (currentImage[i] != targetImage[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
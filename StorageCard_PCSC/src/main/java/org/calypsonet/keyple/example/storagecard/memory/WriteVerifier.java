@@ -0,0 +1,170 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.memory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.keypop.storagecard.card.StorageCard;
+import org.eclipse.keypop.storagecard.transaction.StorageCardTransactionManager;
+
+/**
+ * Verification of the writes of a {@link WritePlan} by reading blocks back from the card.
+ *
+ * <p>The {@link VerificationMode} selects the blocks read back: none, the written ones, a random
+ * sample of the written ones, or the whole memory. Reading back only what was written keeps the
+ * cost of the verification proportional to the update instead of the memory size.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class WriteVerifier {
+
+  private final VerificationMode mode;
+  private final int sampleSize;
+
+  /**
+   * Creates a verifier.
+   *
+   * @param mode The verification mode.
+   * @param sampleSize The number of blocks read back in {@link VerificationMode#SAMPLE} mode.
+   * @throws IllegalArgumentException If the sample size is not strictly positive.
+   */
+  public WriteVerifier(VerificationMode mode, int sampleSize) {
+    if (sampleSize <= 0) {
+      throw new IllegalArgumentException("Invalid sample size: " + sampleSize);
+    }
+    this.mode = mode;
+    this.sampleSize = sampleSize;
+  }
+
+  /**
+   * Returns the verification mode.
+   *
+   * @return A not null reference.
+   */
+  public VerificationMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Selects the ranges of blocks to read back.
+   *
+   * @param plan The applied write plan.
+   * @param lastBlock The last block of the memory.
+   * @return The ranges in increasing order, empty if nothing has to be read back.
+   */
+  public List<BlockRange> selectRanges(WritePlan plan, int lastBlock) {
+    switch (mode) {
+      case NONE:
+        return Collections.emptyList();
+      case WRITTEN_RANGES:
+        return plan.getRanges();
+      case SAMPLE:
+        return sample(plan);
+      case FULL:
+        return Collections.singletonList(new BlockRange(0, lastBlock));
+      default:
+        throw new IllegalStateException("Unsupported verification mode: " + mode);
+    }
+  }
+
+  /**
+   * Prepares the reads of the selected ranges.
+   *
+   * @param transaction The transaction manager bound to the card.
+   * @param ranges The ranges returned by {@link #selectRanges(WritePlan, int)}.
+   */
+  public void prepareReads(StorageCardTransactionManager transaction, List<BlockRange> ranges) {
+    for (BlockRange range : ranges) {
+      transaction.prepareReadBlocks(range.getFromBlock(), range.getToBlock());
+    }
+  }
+
+  /**
+   * Compares the blocks read back with the target image of the plan.
+   *
+   * @param plan The applied write plan.
+   * @param ranges The ranges read back.
+   * @param card The card, holding the blocks read back.
+   * @return The result listing the mismatching blocks.
+   */
+  public VerificationResult verify(WritePlan plan, List<BlockRange> ranges, StorageCard card) {
+    byte[] targetImage = plan.targetImage();
+    int blockSize = plan.getBlockSize();
+    List<BlockMismatch> mismatches = new ArrayList<BlockMismatch>();
+    for (BlockRange range : ranges) {
+      for (int block = range.getFromBlock(); block <= range.getToBlock(); block++) {
+        byte[] actual = card.getBlock(block);
+        if (!isBlockEqual(actual, targetImage, block * blockSize, blockSize)) {
+          mismatches.add(
+              new BlockMismatch(
+                  block,
+                  plan.getTargetBlock(block),
+                  actual != null ? actual.clone() : new byte[0]));
+        }
+      }
+    }
+    return new VerificationResult(mode, ranges, mismatches);
+  }
+
+  private static boolean isBlockEqual(byte[] actual, byte[] image, int offset, int blockSize) {
+    if (actual == null || actual.length != blockSize) {
+      return false;
+    }
+    for (int i = 0; i < blockSize; i++) {
+      if (actual[i] != image[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Selects sampleSize written blocks at random and merges the consecutive ones into ranges. */
+  private List<BlockRange> sample(WritePlan plan) {
+    int blockCount = plan.getBlockCount();
+    if (blockCount <= sampleSize) {
+      return plan.getRanges();
+    }
+    int[] writtenBlocks = new int[blockCount];
+    int i = 0;
+    for (BlockRange range : plan.getRanges()) {
+      for (int block = range.getFromBlock(); block <= range.getToBlock(); block++) {
+        writtenBlocks[i++] = block;
+      }
+    }
+    // Partial Fisher-Yates shuffle: the first sampleSize entries are the sample
+    Random random = new Random();
+    for (i = 0; i < sampleSize; i++) {
+      int j = i + random.nextInt(blockCount - i);
+      int block = writtenBlocks[j];
+      writtenBlocks[j] = writtenBlocks[i];
+      writtenBlocks[i] = block;
+    }
+    int[] sample = Arrays.copyOf(writtenBlocks, sampleSize);
+    Arrays.sort(sample);
+    List<BlockRange> ranges = new ArrayList<BlockRange>(sampleSize);
+    int rangeStart = sample[0];
+    for (i = 1; i < sampleSize; i++) {
+      if (sample[i] != sample[i - 1] + 1) {
+        ranges.add(new BlockRange(rangeStart, sample[i - 1]));
+        rangeStart = sample[i];
+      }
+    }
+    ranges.add(new BlockRange(rangeStart, sample[sampleSize - 1]));
+    return ranges;
+  }
+}
@@ -0,0 +1,149 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.perf;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations with a bounded relative error, in the spirit of HdrHistogram.
+ *
+ * <p>Durations below 64 ns are counted exactly. Above, each power of two is divided into 32
+ * buckets, so that a percentile is reported with a relative error below about 3%, from
+ * nanoseconds up to {@link #MAX_TRACKABLE_NANOS}, longer durations being counted in the last
+ * bucket. The histogram has a fixed size of 8 KiB whatever the number of recorded durations.
+ *
+ * <p>Recording is lock-free and allocation-free, so it can be done from the processing threads of
+ * several readers. The statistics read while durations are recorded may be slightly inconsistent
+ * with each other.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class LatencyHistogram {
+
+  /** Longest duration counted in its own bucket (about 68 seconds). */
+  public static final long MAX_TRACKABLE_NANOS = (1L << 36) - 1;
+
+  private static final int LINEAR_BUCKET_COUNT = 64;
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * Records a duration.
+   *
+   * @param durationNanos The duration in nanoseconds, negative values being counted as 0.
+   */
+  public void record(long durationNanos) {
+    long value = Math.max(0, durationNanos);
+    counts.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_NANOS)));
+    totalCount.incrementAndGet();
+    totalNanos.addAndGet(value);
+    long min = minNanos.get();
+    while (value < min && !minNanos.compareAndSet(min, value)) {
+      min = minNanos.get();
+    }
+    long max = maxNanos.get();
+    while (value > max && !maxNanos.compareAndSet(max, value)) {
+      max = maxNanos.get();
+    }
+  }
+
+  /**
+   * Returns the number of recorded durations.
+   *
+   * @return A positive number.
+   */
+  public long getCount() {
+    return totalCount.get();
+  }
+
+  /**
+   * Returns the shortest recorded duration.
+   *
+   * @return A duration in nanoseconds, 0 if nothing is recorded.
+   */
+  public long getMin() {
+    long min = minNanos.get();
+    return min == Long.MAX_VALUE ? 0 : min;
+  }
+
+  /**
+   * Returns the longest recorded duration.
+   *
+   * @return A duration in nanoseconds, 0 if nothing is recorded.
+   */
+  public long getMax() {
+    return maxNanos.get();
+  }
+
+  /**
+   * Returns the average of the recorded durations.
+   *
+   * @return A duration in nanoseconds, 0 if nothing is recorded.
+   */
+  public long getMean() {
+    long count = totalCount.get();
+    return count == 0 ? 0 : totalNanos.get() / count;
+  }
+
+  /**
+   * Returns the duration below which the provided percentage of the recorded durations fall
+   * (nearest-rank method), rounded up to the upper bound of its bucket.
+   *
+   * @param percentile The percentile in the range ]0..100].
+   * @return A duration in nanoseconds, at most {@link #getMax()}, 0 if nothing is recorded.
+   */
+  public long getPercentile(double percentile) {
+    long count = totalCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+    long cumulatedCount = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulatedCount += counts.get(i);
+      if (cumulatedCount >= rank) {
+        return Math.min(highestValueOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /** Returns the bucket of a value within [0..MAX_TRACKABLE_NANOS]. */
+  static int indexOf(long value) {
+    if (value < LINEAR_BUCKET_COUNT) {
+      return (int) value;
+    }
+    // Keep the SUB_BUCKET_BITS + 1 most significant bits: sub-bucket in [32..63]
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift);
+    return LINEAR_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_COUNT + subBucket - SUB_BUCKET_COUNT;
+  }
+
+  /** Returns the highest value counted in a bucket. */
+  static long highestValueOf(int index) {
+    if (index < LINEAR_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + 1;
+    long subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
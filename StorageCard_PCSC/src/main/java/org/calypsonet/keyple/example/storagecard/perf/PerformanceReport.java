@@ -0,0 +1,136 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.perf;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+
+/**
+ * Set of {@link StepStatistics} produced by a performance measurement, exportable as CSV.
+ *
+ * <p>The steps are reported in the order of their first recording. This class is not thread-safe.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class PerformanceReport {
+
+  private static final String CSV_HEADER =
+      "technology,step,count,min_us,avg_us,p50_us,p90_us,p99_us,max_us";
+
+  private final Map<String, StepStatistics> statisticsByKey =
+      new LinkedHashMap<String, StepStatistics>();
+
+  /**
+   * Records the duration of a step.
+   *
+   * @param technology The card technology.
+   * @param step The name of the step.
+   * @param durationNanos The duration in nanoseconds.
+   */
+  public void record(String technology, String step, long durationNanos) {
+    getStatistics(technology, step).record(durationNanos);
+  }
+
+  /**
+   * Returns the statistics of a step, creating them if needed.
+   *
+   * @param technology The card technology.
+   * @param step The name of the step.
+   * @return A not null reference.
+   */
+  public StepStatistics getStatistics(String technology, String step) {
+    String key = technology + '/' + step;
+    StepStatistics statistics = statisticsByKey.get(key);
+    if (statistics == null) {
+      statistics = new StepStatistics(technology, step);
+      statisticsByKey.put(key, statistics);
+    }
+    return statistics;
+  }
+
+  /**
+   * Returns all the statistics in recording order.
+   *
+   * @return A not null list.
+   */
+  public List<StepStatistics> getAllStatistics() {
+    return new ArrayList<StepStatistics>(statisticsByKey.values());
+  }
+
+  /**
+   * Logs one line per step.
+   *
+   * @param logger The target logger.
+   */
+  public void log(Logger logger) {
+    for (StepStatistics statistics : statisticsByKey.values()) {
+      logger.info(
+          "{} / {}: count={} min={}us avg={}us p99={}us max={}us",
+          statistics.getTechnology(),
+          statistics.getStep(),
+          statistics.getCount(),
+          toMicros(statistics.getMin()),
+          toMicros(statistics.getAverage()),
+          toMicros(statistics.getPercentile(99)),
+          toMicros(statistics.getMax()));
+    }
+  }
+
+  /**
+   * Writes the report as a CSV file (one line per step, durations in microseconds).
+   *
+   * @param fileName The name of the file to create or overwrite.
+   * @throws IOException If the file cannot be written.
+   */
+  public void writeCsv(String fileName) throws IOException {
+    PrintWriter writer =
+        new PrintWriter(
+            new OutputStreamWriter(new FileOutputStream(fileName), Charset.forName("UTF-8")));
+    try {
+      writer.println(CSV_HEADER);
+      for (StepStatistics statistics : statisticsByKey.values()) {
+        writer.println(
+            String.format(
+                Locale.ROOT,
+                "%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                statistics.getTechnology(),
+                statistics.getStep(),
+                statistics.getCount(),
+                toMicros(statistics.getMin()),
+                toMicros(statistics.getAverage()),
+                toMicros(statistics.getPercentile(50)),
+                toMicros(statistics.getPercentile(90)),
+                toMicros(statistics.getPercentile(99)),
+                toMicros(statistics.getMax())));
+      }
+    } finally {
+      writer.close();
+    }
+    if (writer.checkError()) {
+      throw new IOException("Failed to write " + fileName);
+    }
+  }
+
+  private static double toMicros(long nanos) {
+    return nanos / 1000.0;
+  }
+}
@@ -0,0 +1,118 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.perf;
+
+import java.util.Arrays;
+
+/**
+ * Durations recorded for one step of a card processing, with their min/avg/percentile summary.
+ *
+ * <p>All the samples are kept so that the percentiles are exact. This class is not thread-safe.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class StepStatistics {
+
+  private final String technology;
+  private final String step;
+  private long[] samples = new long[64];
+  private int count;
+  private long total;
+
+  /**
+   * Constructor.
+   *
+   * @param technology The card technology (e.g. "CALYPSO", "MIFARE_ULTRALIGHT").
+   * @param step The name of the step.
+   */
+  public StepStatistics(String technology, String step) {
+    this.technology = technology;
+    this.step = step;
+  }
+
+  /**
+   * Records the duration of one execution of the step.
+   *
+   * @param durationNanos The duration in nanoseconds.
+   */
+  public void record(long durationNanos) {
+    if (count == samples.length) {
+      samples = Arrays.copyOf(samples, count * 2);
+    }
+    samples[count++] = durationNanos;
+    total += durationNanos;
+  }
+
+  /**
+   * @return The card technology.
+   */
+  public String getTechnology() {
+    return technology;
+  }
+
+  /**
+   * @return The name of the step.
+   */
+  public String getStep() {
+    return step;
+  }
+
+  /**
+   * @return The number of recorded durations.
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @return The minimum duration in nanoseconds (0 if nothing is recorded).
+   */
+  public long getMin() {
+    return count == 0 ? 0 : sortedSamples()[0];
+  }
+
+  /**
+   * @return The maximum duration in nanoseconds (0 if nothing is recorded).
+   */
+  public long getMax() {
+    return count == 0 ? 0 : sortedSamples()[count - 1];
+  }
+
+  /**
+   * @return The average duration in nanoseconds (0 if nothing is recorded).
+   */
+  public long getAverage() {
+    return count == 0 ? 0 : total / count;
+  }
+
+  /**
+   * Returns the duration below which the provided percentage of the recorded durations fall
+   * (nearest-rank method).
+   *
+   * @param percentile The percentile in the range ]0..100].
+   * @return A duration in nanoseconds (0 if nothing is recorded).
+   */
+  public long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * count);
+    return sortedSamples()[Math.max(0, Math.min(count, rank) - 1)];
+  }
+
+  private long[] sortedSamples() {
+    long[] sorted = Arrays.copyOf(samples, count);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+}
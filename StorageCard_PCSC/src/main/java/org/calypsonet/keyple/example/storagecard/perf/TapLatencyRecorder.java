@@ -0,0 +1,195 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.perf;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+
+/**
+ * Per-phase latency histograms of the taps, per reader and per card technology (Calypso or storage
+ * card product type).
+ *
+ * <p>Unlike the averages of {@link PerformanceReport}, the histograms expose the tail latencies
+ * (p99, p99.9) of each {@link TapPhase}, which are the ones that make a gate reject a passenger.
+ * They can be dumped at any time, while the taps are being recorded.
+ *
+ * <p>This class is thread-safe: a single instance can be shared by the transactions of all the
+ * readers, the recording of a phase being lock-free once its histogram exists.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class TapLatencyRecorder {
+
+  private static final String CSV_HEADER =
+      "reader,technology,phase,count,min_us,avg_us,p50_us,p90_us,p99_us,p99.9_us,max_us";
+
+  private static final TapPhase[] PHASES = TapPhase.values();
+
+  // Keyed by reader name then technology, so that the lookups of the recording allocate nothing
+  private final ConcurrentMap<String, ConcurrentMap<String, PhaseHistograms>> histogramsByReader =
+      new ConcurrentHashMap<String, ConcurrentMap<String, PhaseHistograms>>();
+
+  /**
+   * Records the duration of a phase.
+   *
+   * @param readerName The name of the reader.
+   * @param technology The card technology.
+   * @param phase The phase.
+   * @param durationNanos The duration in nanoseconds.
+   */
+  public void record(String readerName, String technology, TapPhase phase, long durationNanos) {
+    getHistogram(readerName, technology, phase).record(durationNanos);
+  }
+
+  /**
+   * Returns the histogram of a phase, creating it if needed.
+   *
+   * @param readerName The name of the reader.
+   * @param technology The card technology.
+   * @param phase The phase.
+   * @return A not null reference.
+   */
+  public LatencyHistogram getHistogram(String readerName, String technology, TapPhase phase) {
+    ConcurrentMap<String, PhaseHistograms> histogramsByTechnology =
+        histogramsByReader.get(readerName);
+    if (histogramsByTechnology == null) {
+      ConcurrentMap<String, PhaseHistograms> newHistogramsByTechnology =
+          new ConcurrentHashMap<String, PhaseHistograms>();
+      histogramsByTechnology =
+          histogramsByReader.putIfAbsent(readerName, newHistogramsByTechnology);
+      if (histogramsByTechnology == null) {
+        histogramsByTechnology = newHistogramsByTechnology;
+      }
+    }
+    PhaseHistograms histograms = histogramsByTechnology.get(technology);
+    if (histograms == null) {
+      PhaseHistograms newHistograms = new PhaseHistograms(readerName, technology);
+      histograms = histogramsByTechnology.putIfAbsent(technology, newHistograms);
+      if (histograms == null) {
+        histograms = newHistograms;
+      }
+    }
+    return histograms.byPhase[phase.ordinal()];
+  }
+
+  /**
+   * Logs one line per reader, technology and recorded phase.
+   *
+   * @param logger The target logger.
+   */
+  public void log(Logger logger) {
+    for (PhaseHistograms histograms : getSortedHistograms().values()) {
+      for (TapPhase phase : PHASES) {
+        LatencyHistogram histogram = histograms.byPhase[phase.ordinal()];
+        if (histogram.getCount() == 0) {
+          continue;
+        }
+        logger.info(
+            "[{}] {} / {}: count={} p50={}us p90={}us p99={}us p99.9={}us max={}us",
+            histograms.readerName,
+            histograms.technology,
+            phase,
+            histogram.getCount(),
+            toMicros(histogram.getPercentile(50)),
+            toMicros(histogram.getPercentile(90)),
+            toMicros(histogram.getPercentile(99)),
+            toMicros(histogram.getPercentile(99.9)),
+            toMicros(histogram.getMax()));
+      }
+    }
+  }
+
+  /**
+   * Writes the histograms as a CSV file (one line per reader, technology and recorded phase,
+   * durations in microseconds).
+   *
+   * @param fileName The name of the file to create or overwrite.
+   * @throws IOException If the file cannot be written.
+   */
+  public void writeCsv(String fileName) throws IOException {
+    PrintWriter writer =
+        new PrintWriter(
+            new OutputStreamWriter(new FileOutputStream(fileName), Charset.forName("UTF-8")));
+    try {
+      writer.println(CSV_HEADER);
+      for (PhaseHistograms histograms : getSortedHistograms().values()) {
+        for (TapPhase phase : PHASES) {
+          LatencyHistogram histogram = histograms.byPhase[phase.ordinal()];
+          if (histogram.getCount() == 0) {
+            continue;
+          }
+          writer.println(
+              String.format(
+                  Locale.ROOT,
+                  "%s,%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+                  histograms.readerName,
+                  histograms.technology,
+                  phase,
+                  histogram.getCount(),
+                  toMicros(histogram.getMin()),
+                  toMicros(histogram.getMean()),
+                  toMicros(histogram.getPercentile(50)),
+                  toMicros(histogram.getPercentile(90)),
+                  toMicros(histogram.getPercentile(99)),
+                  toMicros(histogram.getPercentile(99.9)),
+                  toMicros(histogram.getMax())));
+        }
+      }
+    } finally {
+      writer.close();
+    }
+    if (writer.checkError()) {
+      throw new IOException("Failed to write " + fileName);
+    }
+  }
+
+  private Map<String, PhaseHistograms> getSortedHistograms() {
+    Map<String, PhaseHistograms> sortedHistograms = new TreeMap<String, PhaseHistograms>();
+    for (Map.Entry<String, ConcurrentMap<String, PhaseHistograms>> readerEntry :
+        histogramsByReader.entrySet()) {
+      for (Map.Entry<String, PhaseHistograms> entry : readerEntry.getValue().entrySet()) {
+        sortedHistograms.put(readerEntry.getKey() + '/' + entry.getKey(), entry.getValue());
+      }
+    }
+    return sortedHistograms;
+  }
+
+  private static double toMicros(long nanos) {
+    return nanos / 1000.0;
+  }
+
+  /** Histograms of all the phases of a reader and a technology. */
+  private static final class PhaseHistograms {
+
+    private final String readerName;
+    private final String technology;
+    private final LatencyHistogram[] byPhase = new LatencyHistogram[PHASES.length];
+
+    private PhaseHistograms(String readerName, String technology) {
+      this.readerName = readerName;
+      this.technology = technology;
+      for (int i = 0; i < byPhase.length; i++) {
+        byPhase[i] = new LatencyHistogram();
+      }
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.perf;
+
+/**
+ * Phases of the processing of a tap, timed by {@link TapLatencyRecorder}.
+ *
+ * <p>A phase that does not apply to a card (e.g. the storage card memory operations for a Calypso
+ * card) is not recorded.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public enum TapPhase {
+
+  /** Check of the card presence before the selection. */
+  PRESENCE_CHECK,
+
+  /** Processing of the selection scenario. */
+  SELECTION,
+
+  /** Dispatch of the selected card to the processing of its technology. */
+  DISPATCH,
+
+  /** Read of the card data. */
+  READ,
+
+  /** Write of the card data. */
+  WRITE,
+
+  /** Verification of the written data, including the closing of the physical channel. */
+  VERIFY,
+
+  /** Closing of the physical channel, when no written data is verified. */
+  CHANNEL_CLOSE
+}
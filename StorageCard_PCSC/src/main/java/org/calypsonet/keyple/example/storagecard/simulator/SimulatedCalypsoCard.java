@@ -0,0 +1,278 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.keyple.core.util.HexUtil;
+
+/**
+ * Simulated Calypso card (ISO 14443-4).
+ *
+ * <p>The card answers the commands needed for the selection and free (out of secure session)
+ * operations of the Calypso extension:
+ *
+ * <ul>
+ *   <li>SELECT APPLICATION by DF name, answered with a Calypso FCI
+ *   <li>READ RECORD (one record or multiple records)
+ *   <li>UPDATE RECORD / WRITE RECORD / APPEND RECORD
+ *   <li>INCREASE / DECREASE on counters
+ * </ul>
+ *
+ * <p>Files are created on first access with zeroed records of {@link #RECORD_SIZE} bytes. Counters
+ * are stored as 3-byte values in the first record of their file.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class SimulatedCalypsoCard extends SimulatedCard {
+
+  /** Size of the records of the simulated files. */
+  public static final int RECORD_SIZE = 29;
+
+  /** Default power-on data of a contactless ISO 14443-4 card seen through a PC/SC reader. */
+  public static final String DEFAULT_POWER_ON_DATA = "3B8880010000000000718100F9";
+
+  private static final String PHYSICAL_PROTOCOL = "ISO_14443_4";
+  private static final int COUNTER_SIZE = 3;
+  private static final int NB_COUNTERS = RECORD_SIZE / COUNTER_SIZE;
+
+  // Calypso startup information: buffer size, platform, application type/subtype, software
+  // issuer/version/revision (Calypso revision 3 application)
+  private static final byte[] STARTUP_INFO = {0x0A, 0x3C, 0x23, 0x05, 0x14, 0x10, 0x01};
+
+  private final byte[] aid;
+  private final byte[] fci;
+  private final Map<Integer, byte[][]> filesBySfi = new HashMap<Integer, byte[][]>();
+
+  /**
+   * Creates a Calypso card holding the provided application.
+   *
+   * @param aid The DF name of the application (hex string).
+   * @param serialNumber The 8-byte application serial number (hex string).
+   */
+  public SimulatedCalypsoCard(String aid, String serialNumber) {
+    this(aid, serialNumber, DEFAULT_POWER_ON_DATA);
+  }
+
+  /**
+   * Creates a Calypso card holding the provided application.
+   *
+   * @param aid The DF name of the application (hex string).
+   * @param serialNumber The 8-byte application serial number (hex string).
+   * @param powerOnData The power-on data (hex string).
+   */
+  public SimulatedCalypsoCard(String aid, String serialNumber, String powerOnData) {
+    super(PHYSICAL_PROTOCOL, powerOnData);
+    this.aid = HexUtil.toByteArray(aid);
+    this.fci = buildFci(this.aid, HexUtil.toByteArray(serialNumber));
+  }
+
+  /**
+   * Sets the content of a record.
+   *
+   * @param sfi The SFI of the file.
+   * @param recordNumber The record number (1..n).
+   * @param content The record content (hex string, at most {@link #RECORD_SIZE} bytes).
+   * @return The current instance.
+   */
+  public SimulatedCalypsoCard withRecord(int sfi, int recordNumber, String content) {
+    byte[] data = HexUtil.toByteArray(content);
+    byte[] record = getRecords(sfi, recordNumber)[recordNumber - 1];
+    Arrays.fill(record, (byte) 0);
+    System.arraycopy(data, 0, record, 0, Math.min(data.length, RECORD_SIZE));
+    return this;
+  }
+
+  /**
+   * Sets the value of a counter.
+   *
+   * @param sfi The SFI of the counter file.
+   * @param counterNumber The counter number (1..n).
+   * @param value The 24-bit counter value.
+   * @return The current instance.
+   */
+  public SimulatedCalypsoCard withCounter(int sfi, int counterNumber, int value) {
+    setCounter(getRecords(sfi, 1)[0], counterNumber, value);
+    return this;
+  }
+
+  @Override
+  synchronized byte[] processApdu(byte[] apdu) {
+    if (apdu.length < 4) {
+      return SW_WRONG_LENGTH;
+    }
+    int p1 = apdu[2] & 0xFF;
+    int p2 = apdu[3] & 0xFF;
+    switch (apdu[1]) {
+      case (byte) 0xA4:
+        return selectApplication(apdu);
+      case (byte) 0xB2:
+        return readRecords(p1, p2);
+      case (byte) 0xDC:
+      case (byte) 0xD2:
+      case (byte) 0xE2:
+        return writeRecord(apdu, p1, p2);
+      case (byte) 0x32:
+        return changeCounter(apdu, p1, p2, 1);
+      case (byte) 0x30:
+        return changeCounter(apdu, p1, p2, -1);
+      default:
+        return SW_INS_NOT_SUPPORTED;
+    }
+  }
+
+  private byte[] selectApplication(byte[] apdu) {
+    if (apdu.length < 5 || apdu.length < 5 + (apdu[4] & 0xFF)) {
+      return SW_WRONG_LENGTH;
+    }
+    byte[] dfName = Arrays.copyOfRange(apdu, 5, 5 + (apdu[4] & 0xFF));
+    if (!Arrays.equals(dfName, aid)) {
+      return SW_FILE_NOT_FOUND;
+    }
+    return success(fci, 0, fci.length);
+  }
+
+  private byte[] readRecords(int recordNumber, int p2) {
+    if (recordNumber < 1) {
+      return SW_WRONG_PARAMETERS;
+    }
+    byte[][] records = getRecords(p2 >> 3, recordNumber);
+    if ((p2 & 0x07) == 0x05) {
+      // Multiple records: [record number][length][data]... up to the end of the file
+      int count = records.length - recordNumber + 1;
+      byte[] data = new byte[count * (RECORD_SIZE + 2)];
+      int offset = 0;
+      for (int i = recordNumber; i <= records.length; i++) {
+        data[offset++] = (byte) i;
+        data[offset++] = (byte) RECORD_SIZE;
+        System.arraycopy(records[i - 1], 0, data, offset, RECORD_SIZE);
+        offset += RECORD_SIZE;
+      }
+      return success(data, 0, data.length);
+    }
+    return success(records[recordNumber - 1], 0, RECORD_SIZE);
+  }
+
+  private byte[] writeRecord(byte[] apdu, int recordNumber, int p2) {
+    int length = apdu.length > 4 ? apdu[4] & 0xFF : 0;
+    if (length == 0 || apdu.length < 5 + length || length > RECORD_SIZE) {
+      return SW_WRONG_LENGTH;
+    }
+    if (recordNumber < 1 && apdu[1] != (byte) 0xE2) {
+      return SW_WRONG_PARAMETERS;
+    }
+    int sfi = p2 >> 3;
+    if (apdu[1] == (byte) 0xE2) {
+      // Append record: shift the cyclic file and write in record 1
+      byte[][] records = getRecords(sfi, 1);
+      for (int i = records.length - 1; i > 0; i--) {
+        records[i] = records[i - 1];
+      }
+      records[0] = new byte[RECORD_SIZE];
+      recordNumber = 1;
+    }
+    byte[] record = getRecords(sfi, recordNumber)[recordNumber - 1];
+    if (apdu[1] == (byte) 0xD2) {
+      for (int i = 0; i < length; i++) {
+        record[i] |= apdu[5 + i];
+      }
+    } else {
+      Arrays.fill(record, (byte) 0);
+      System.arraycopy(apdu, 5, record, 0, length);
+    }
+    return SW_SUCCESS;
+  }
+
+  private byte[] changeCounter(byte[] apdu, int counterNumber, int p2, int sign) {
+    if (apdu.length < 8 || (apdu[4] & 0xFF) != COUNTER_SIZE || counterNumber < 1) {
+      return SW_WRONG_LENGTH;
+    }
+    if (counterNumber > NB_COUNTERS) {
+      return SW_WRONG_PARAMETERS;
+    }
+    byte[] record = getRecords(p2 >> 3, 1)[0];
+    int offset = (counterNumber - 1) * COUNTER_SIZE;
+    int value = sign * toInt(apdu, 5) + toInt(record, offset);
+    if (value < 0 || value > 0xFFFFFF) {
+      return SW_SECURITY_STATUS_NOT_SATISFIED;
+    }
+    setCounter(record, counterNumber, value);
+    return success(record, offset, COUNTER_SIZE);
+  }
+
+  private byte[][] getRecords(int sfi, int minRecords) {
+    byte[][] records = filesBySfi.get(sfi);
+    if (records == null || records.length < minRecords) {
+      byte[][] grown = new byte[Math.max(1, minRecords)][];
+      for (int i = 0; i < grown.length; i++) {
+        grown[i] = records != null && i < records.length ? records[i] : new byte[RECORD_SIZE];
+      }
+      filesBySfi.put(sfi, grown);
+      records = grown;
+    }
+    return records;
+  }
+
+  private static int toInt(byte[] data, int offset) {
+    return ((data[offset] & 0xFF) << 16)
+        | ((data[offset + 1] & 0xFF) << 8)
+        | (data[offset + 2] & 0xFF);
+  }
+
+  private static void setCounter(byte[] record, int counterNumber, int value) {
+    int offset = (counterNumber - 1) * COUNTER_SIZE;
+    record[offset] = (byte) (value >> 16);
+    record[offset + 1] = (byte) (value >> 8);
+    record[offset + 2] = (byte) value;
+  }
+
+  /**
+   * Builds the FCI returned by the SELECT APPLICATION command.
+   *
+   * <pre>
+   * 6F L
+   *   84 L [DF name]
+   *   A5 L
+   *     BF0C L
+   *       C7 08 [serial number]
+   *       53 07 [startup information]
+   * </pre>
+   */
+  private static byte[] buildFci(byte[] aid, byte[] serialNumber) {
+    int discretionaryLength = 2 + serialNumber.length + 2 + STARTUP_INFO.length;
+    int proprietaryLength = 3 + discretionaryLength;
+    int fciLength = 2 + aid.length + 2 + proprietaryLength;
+    byte[] fci = new byte[2 + fciLength];
+    int i = 0;
+    fci[i++] = 0x6F;
+    fci[i++] = (byte) fciLength;
+    fci[i++] = (byte) 0x84;
+    fci[i++] = (byte) aid.length;
+    System.arraycopy(aid, 0, fci, i, aid.length);
+    i += aid.length;
+    fci[i++] = (byte) 0xA5;
+    fci[i++] = (byte) proprietaryLength;
+    fci[i++] = (byte) 0xBF;
+    fci[i++] = 0x0C;
+    fci[i++] = (byte) discretionaryLength;
+    fci[i++] = (byte) 0xC7;
+    fci[i++] = (byte) serialNumber.length;
+    System.arraycopy(serialNumber, 0, fci, i, serialNumber.length);
+    i += serialNumber.length;
+    fci[i++] = 0x53;
+    fci[i++] = (byte) STARTUP_INFO.length;
+    System.arraycopy(STARTUP_INFO, 0, fci, i, STARTUP_INFO.length);
+    return fci;
+  }
+}
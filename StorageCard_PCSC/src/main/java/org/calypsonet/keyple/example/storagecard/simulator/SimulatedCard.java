@@ -0,0 +1,89 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+/**
+ * In-memory card that can be inserted into a {@link SimulatedReader}.
+ *
+ * <p>A simulated card answers the APDUs sent by Keyple exactly like the physical card would through
+ * a PC/SC contactless reader. Its physical protocol uses the same names as {@code
+ * PcscCardCommunicationProtocol} so that the protocol mappings activated by the application do not
+ * depend on the plugin in use.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public abstract class SimulatedCard {
+
+  static final byte[] SW_SUCCESS = {(byte) 0x90, (byte) 0x00};
+  static final byte[] SW_WRONG_LENGTH = {(byte) 0x67, (byte) 0x00};
+  static final byte[] SW_SECURITY_STATUS_NOT_SATISFIED = {(byte) 0x69, (byte) 0x82};
+  static final byte[] SW_FILE_NOT_FOUND = {(byte) 0x6A, (byte) 0x82};
+  static final byte[] SW_WRONG_PARAMETERS = {(byte) 0x6B, (byte) 0x00};
+  static final byte[] SW_INS_NOT_SUPPORTED = {(byte) 0x6D, (byte) 0x00};
+
+  private final String physicalProtocol;
+  private final String powerOnData;
+
+  /**
+   * Constructor.
+   *
+   * @param physicalProtocol The physical protocol name reported to Keyple.
+   * @param powerOnData The power-on data (ATR) as a hex string.
+   */
+  SimulatedCard(String physicalProtocol, String powerOnData) {
+    this.physicalProtocol = physicalProtocol;
+    this.powerOnData = powerOnData;
+  }
+
+  /**
+   * Returns the physical protocol of the card.
+   *
+   * @return A not empty string.
+   */
+  public final String getPhysicalProtocol() {
+    return physicalProtocol;
+  }
+
+  /**
+   * Returns the power-on data (ATR) of the card.
+   *
+   * @return A hex string.
+   */
+  public final String getPowerOnData() {
+    return powerOnData;
+  }
+
+  /**
+   * Processes a command APDU and returns the response APDU, status word included.
+   *
+   * @param apdu The command APDU.
+   * @return A not null byte array of at least 2 bytes.
+   */
+  abstract byte[] processApdu(byte[] apdu);
+
+  /**
+   * Concatenates a slice of the provided data with the success status word.
+   *
+   * @param data The response data.
+   * @param offset The offset of the first byte to return.
+   * @param length The number of bytes to return.
+   * @return A new byte array.
+   */
+  static byte[] success(byte[] data, int offset, int length) {
+    byte[] response = new byte[length + 2];
+    System.arraycopy(data, offset, response, 0, length);
+    response[length] = SW_SUCCESS[0];
+    response[length + 1] = SW_SUCCESS[1];
+    return response;
+  }
+}
@@ -0,0 +1,51 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.eclipse.keyple.core.plugin.spi.PluginSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+
+/**
+ * Adapter of {@link SimulatedPlugin} implementing the plugin SPI of the Keyple plugin API.
+ *
+ * @since 2.0.0
+ */
+final class SimulatedPluginAdapter implements SimulatedPlugin, PluginSpi {
+
+  private final Set<SimulatedReaderAdapter> readers;
+
+  /**
+   * Constructor.
+   *
+   * @param readers The readers of the plugin.
+   */
+  SimulatedPluginAdapter(Set<SimulatedReaderAdapter> readers) {
+    this.readers = readers;
+  }
+
+  @Override
+  public String getName() {
+    return PLUGIN_NAME;
+  }
+
+  @Override
+  public Set<ReaderSpi> searchAvailableReaders() {
+    return new HashSet<ReaderSpi>(readers);
+  }
+
+  @Override
+  public void onUnregister() {
+    // Nothing to release
+  }
+}
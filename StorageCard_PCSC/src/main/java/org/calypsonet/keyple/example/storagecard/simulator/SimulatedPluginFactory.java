@@ -0,0 +1,24 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
+
+/**
+ * Factory of the simulated plugin, to be registered with the smart card service in place of the
+ * PC/SC plugin factory.
+ *
+ * @see SimulatedPluginFactoryBuilder
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public interface SimulatedPluginFactory extends KeyplePluginExtensionFactory {}
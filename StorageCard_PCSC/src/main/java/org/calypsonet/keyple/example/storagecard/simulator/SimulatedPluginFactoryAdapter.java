@@ -0,0 +1,69 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.keyple.core.common.CommonApiProperties;
+import org.eclipse.keyple.core.plugin.PluginApiProperties;
+import org.eclipse.keyple.core.plugin.spi.PluginFactorySpi;
+import org.eclipse.keyple.core.plugin.spi.PluginSpi;
+
+/**
+ * Adapter of {@link SimulatedPluginFactory} implementing the plugin factory SPI of the Keyple
+ * plugin API.
+ *
+ * @since 2.0.0
+ */
+final class SimulatedPluginFactoryAdapter implements SimulatedPluginFactory, PluginFactorySpi {
+
+  private final Map<String, SimulatedCard> cardsByReaderName;
+  private final long apduLatencyNanos;
+
+  /**
+   * Constructor.
+   *
+   * @param cardsByReaderName The names of the readers to create, associated with the card
+   *     initially present (may be null).
+   * @param apduLatencyNanos The APDU latency in nanoseconds.
+   */
+  SimulatedPluginFactoryAdapter(
+      Map<String, SimulatedCard> cardsByReaderName, long apduLatencyNanos) {
+    this.cardsByReaderName = cardsByReaderName;
+    this.apduLatencyNanos = apduLatencyNanos;
+  }
+
+  @Override
+  public String getPluginApiVersion() {
+    return PluginApiProperties.VERSION;
+  }
+
+  @Override
+  public String getCommonApiVersion() {
+    return CommonApiProperties.VERSION;
+  }
+
+  @Override
+  public String getPluginName() {
+    return SimulatedPlugin.PLUGIN_NAME;
+  }
+
+  @Override
+  public PluginSpi getPlugin() {
+    Set<SimulatedReaderAdapter> readers = new LinkedHashSet<SimulatedReaderAdapter>();
+    for (Map.Entry<String, SimulatedCard> entry : cardsByReaderName.entrySet()) {
+      readers.add(new SimulatedReaderAdapter(entry.getKey(), entry.getValue(), apduLatencyNanos));
+    }
+    return new SimulatedPluginAdapter(readers);
+  }
+}
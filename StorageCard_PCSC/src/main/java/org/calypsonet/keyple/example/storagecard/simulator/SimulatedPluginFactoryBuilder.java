@@ -0,0 +1,140 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder of the {@link SimulatedPluginFactory}.
+ *
+ * <p>The simulated plugin replaces the PC/SC plugin when no physical reader is available (CI, build
+ * boxes, benchmarks). Its readers emulate a contactless PC/SC reader with Calypso, MIFARE
+ * Ultralight and ST25/SRT512 cards and a configurable per-APDU latency. They are observable: the
+ * card insertions and removals made through {@link SimulatedReader} are notified to the observers
+ * of the reader.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * SimulatedPluginFactory factory =
+ *     SimulatedPluginFactoryBuilder.builder()
+ *         .withReader(SimulatedPluginFactoryBuilder.DEFAULT_READER_NAME)
+ *         .withApduLatency(2, TimeUnit.MILLISECONDS)
+ *         .build();
+ * Plugin plugin = SmartCardServiceProvider.getService().registerPlugin(factory);
+ * plugin
+ *     .getReaderExtension(SimulatedReader.class, SimulatedPluginFactoryBuilder.DEFAULT_READER_NAME)
+ *     .insertCard(new SimulatedCalypsoCard("A000000291FF9101", "0000000011223344"));
+ * }</pre>
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class SimulatedPluginFactoryBuilder {
+
+  /**
+   * Name of the reader created when no reader is explicitly declared. It matches the default
+   * reader pattern of the examples.
+   */
+  public static final String DEFAULT_READER_NAME = "Simulated Contactless Reader";
+
+  /** Physical protocols supported by the simulated readers (PC/SC plugin naming). */
+  static final Set<String> SUPPORTED_PROTOCOLS =
+      Collections.unmodifiableSet(
+          new HashSet<String>(Arrays.asList("ISO_14443_4", "MIFARE_ULTRALIGHT", "ST25_SRT512")));
+
+  /** Constructor */
+  private SimulatedPluginFactoryBuilder() {}
+
+  /**
+   * Creates builder to build a {@link SimulatedPluginFactory}.
+   *
+   * @return Created builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder to build a {@link SimulatedPluginFactory}. */
+  public static final class Builder {
+
+    private final Map<String, SimulatedCard> cardsByReaderName =
+        new LinkedHashMap<String, SimulatedCard>();
+    private long apduLatencyNanos;
+
+    /** Constructor */
+    private Builder() {}
+
+    /**
+     * Declares an empty reader.
+     *
+     * @param readerName The name of the reader.
+     * @return This builder.
+     */
+    public Builder withReader(String readerName) {
+      return withReader(readerName, null);
+    }
+
+    /**
+     * Declares a reader with a card initially present in its field.
+     *
+     * @param readerName The name of the reader.
+     * @param card The card (may be null).
+     * @return This builder.
+     */
+    public Builder withReader(String readerName, SimulatedCard card) {
+      if (readerName == null || readerName.isEmpty()) {
+        throw new IllegalArgumentException("Reader name is null or empty");
+      }
+      cardsByReaderName.put(readerName, card);
+      return this;
+    }
+
+    /**
+     * Sets the latency added to each APDU exchange by all readers (default is 0).
+     *
+     * @param duration The latency duration.
+     * @param unit The unit of the duration.
+     * @return This builder.
+     */
+    public Builder withApduLatency(long duration, TimeUnit unit) {
+      if (duration < 0) {
+        throw new IllegalArgumentException("Negative latency: " + duration);
+      }
+      apduLatencyNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    /**
+     * Returns an instance of {@link SimulatedPluginFactory} created from the fields set on this
+     * builder.
+     *
+     * <p>A reader named {@link #DEFAULT_READER_NAME} is created if no reader has been declared.
+     *
+     * @return A {@link SimulatedPluginFactory}
+     */
+    public SimulatedPluginFactory build() {
+      Map<String, SimulatedCard> readers =
+          new LinkedHashMap<String, SimulatedCard>(cardsByReaderName);
+      if (readers.isEmpty()) {
+        readers.put(DEFAULT_READER_NAME, null);
+      }
+      return new SimulatedPluginFactoryAdapter(readers, apduLatencyNanos);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+
+/**
+ * Extension of a simulated reader, available through {@code
+ * plugin.getReaderExtension(SimulatedReader.class, readerName)}.
+ *
+ * <p>It is used to put cards in and out of the simulated RF field and to tune the simulated
+ * latency.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public interface SimulatedReader extends KeypleReaderExtension {
+
+  /**
+   * Puts a card in the field of the reader, replacing the current one if any.
+   *
+   * @param card The card to insert.
+   */
+  void insertCard(SimulatedCard card);
+
+  /** Removes the current card from the field of the reader. */
+  void removeCard();
+
+  /**
+   * Returns the card currently in the field of the reader.
+   *
+   * @return Null if no card is present.
+   */
+  SimulatedCard getCard();
+
+  /**
+   * Sets the latency added to each APDU exchange, emulating the RF and reader processing time.
+   *
+   * @param duration The latency duration (0 for no latency).
+   * @param unit The unit of the duration.
+   */
+  void setApduLatency(long duration, TimeUnit unit);
+
+  /**
+   * Returns the number of APDUs transmitted since the creation of the reader.
+   *
+   * @return A positive number.
+   */
+  long getTransmittedApduCount();
+}
@@ -0,0 +1,287 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.TaskCanceledException;
+import org.eclipse.keyple.core.plugin.spi.reader.ConfigurableReaderSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.observable.ObservableReaderSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.observable.state.insertion.CardInsertionWaiterBlockingSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.observable.state.removal.CardRemovalWaiterBlockingSpi;
+import org.eclipse.keyple.core.util.HexUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adapter of {@link SimulatedReader} implementing the reader SPI of the Keyple plugin API.
+ *
+ * @since 2.0.0
+ */
+final class SimulatedReaderAdapter
+    implements SimulatedReader,
+        ConfigurableReaderSpi,
+        ObservableReaderSpi,
+        CardInsertionWaiterBlockingSpi,
+        CardRemovalWaiterBlockingSpi {
+
+  private static final Logger logger = LoggerFactory.getLogger(SimulatedReaderAdapter.class);
+
+  private final String name;
+  private final Set<String> activatedProtocols = new HashSet<String>();
+
+  private volatile SimulatedCard card;
+  private volatile long apduLatencyNanos;
+  private final AtomicLong transmittedApduCount = new AtomicLong();
+  private boolean isPhysicalChannelOpen;
+
+  // Card detection (observation mode), guarded by presenceMonitor
+  private final Object presenceMonitor = new Object();
+  private long waitCancelCount; // Each cancellation only ends the waits in progress
+  private boolean isDetectionStopped; // Ends all the waits until the detection is restarted
+
+  /**
+   * Constructor.
+   *
+   * @param name The name of the reader.
+   * @param card The card initially present in the field (may be null).
+   * @param apduLatencyNanos The initial APDU latency in nanoseconds.
+   */
+  SimulatedReaderAdapter(String name, SimulatedCard card, long apduLatencyNanos) {
+    this.name = name;
+    this.card = card;
+    this.apduLatencyNanos = apduLatencyNanos;
+  }
+
+  @Override
+  public void insertCard(SimulatedCard card) {
+    logger.debug("[{}] Insert card: {}", name, card.getPhysicalProtocol());
+    isPhysicalChannelOpen = false;
+    synchronized (presenceMonitor) {
+      this.card = card;
+      presenceMonitor.notifyAll();
+    }
+  }
+
+  @Override
+  public void removeCard() {
+    logger.debug("[{}] Remove card", name);
+    synchronized (presenceMonitor) {
+      card = null;
+      presenceMonitor.notifyAll();
+    }
+    isPhysicalChannelOpen = false;
+  }
+
+  @Override
+  public SimulatedCard getCard() {
+    return card;
+  }
+
+  @Override
+  public void setApduLatency(long duration, TimeUnit unit) {
+    apduLatencyNanos = unit.toNanos(duration);
+  }
+
+  @Override
+  public long getTransmittedApduCount() {
+    return transmittedApduCount.get();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The supported protocols are those of the simulated cards.
+   */
+  @Override
+  public boolean isProtocolSupported(String readerProtocol) {
+    return SimulatedPluginFactoryBuilder.SUPPORTED_PROTOCOLS.contains(readerProtocol);
+  }
+
+  @Override
+  public void activateProtocol(String readerProtocol) {
+    activatedProtocols.add(readerProtocol);
+  }
+
+  @Override
+  public void deactivateProtocol(String readerProtocol) {
+    activatedProtocols.remove(readerProtocol);
+  }
+
+  @Override
+  public boolean isCurrentProtocol(String readerProtocol) {
+    SimulatedCard currentCard = card;
+    return currentCard != null
+        && activatedProtocols.contains(readerProtocol)
+        && currentCard.getPhysicalProtocol().equals(readerProtocol);
+  }
+
+  @Override
+  public void openPhysicalChannel() throws CardIOException {
+    if (card == null) {
+      throw new CardIOException("No card in the field of reader " + name);
+    }
+    isPhysicalChannelOpen = true;
+  }
+
+  @Override
+  public void closePhysicalChannel() {
+    isPhysicalChannelOpen = false;
+  }
+
+  @Override
+  public boolean isPhysicalChannelOpen() {
+    return isPhysicalChannelOpen;
+  }
+
+  @Override
+  public boolean checkCardPresence() {
+    return card != null;
+  }
+
+  @Override
+  public String getPowerOnData() {
+    SimulatedCard currentCard = card;
+    return currentCard != null ? currentCard.getPowerOnData() : "";
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The configured latency is applied before the card processes the command.
+   */
+  @Override
+  public byte[] transmitApdu(byte[] apdu) throws ReaderIOException, CardIOException {
+    SimulatedCard currentCard = card;
+    if (currentCard == null) {
+      throw new CardIOException("Card removed from the field of reader " + name);
+    }
+    if (!isPhysicalChannelOpen) {
+      throw new ReaderIOException("Physical channel not open on reader " + name);
+    }
+    awaitLatency();
+    transmittedApduCount.incrementAndGet();
+    byte[] response = currentCard.processApdu(apdu);
+    if (logger.isTraceEnabled()) {
+      logger.trace("[{}] {} -> {}", name, HexUtil.toHex(apdu), HexUtil.toHex(response));
+    }
+    return response;
+  }
+
+  @Override
+  public boolean isContactless() {
+    return true;
+  }
+
+  @Override
+  public void onUnregister() {
+    card = null;
+    isPhysicalChannelOpen = false;
+  }
+
+  @Override
+  public void onStartDetection() {
+    // The detection relies on the blocking waiters
+    synchronized (presenceMonitor) {
+      isDetectionStopped = false;
+    }
+  }
+
+  @Override
+  public void onStopDetection() {
+    // Also ends a waiter that has not blocked yet
+    synchronized (presenceMonitor) {
+      isDetectionStopped = true;
+      presenceMonitor.notifyAll();
+    }
+  }
+
+  @Override
+  public void waitForCardInsertion() throws TaskCanceledException {
+    awaitCardPresence(true);
+  }
+
+  @Override
+  public void stopWaitForCardInsertion() {
+    cancelWait();
+  }
+
+  @Override
+  public void waitForCardRemoval() throws TaskCanceledException {
+    awaitCardPresence(false);
+  }
+
+  @Override
+  public void stopWaitForCardRemoval() {
+    cancelWait();
+  }
+
+  /**
+   * Blocks until the card presence matches the expected state, the wait is canceled or the
+   * detection is stopped.
+   *
+   * <p>Only the cancellations requested during this call end it: the reader cancels the wait of a
+   * state each time it leaves it, including after the wait has returned, and such a late
+   * cancellation must not end the wait of the next state. A detection stopped before this call
+   * ends it at once, until the detection is restarted.
+   *
+   * @param isPresent The expected card presence.
+   * @throws TaskCanceledException If the wait was canceled or the detection stopped.
+   */
+  private void awaitCardPresence(boolean isPresent) throws TaskCanceledException {
+    synchronized (presenceMonitor) {
+      long cancelCount = waitCancelCount;
+      while ((card != null) != isPresent) {
+        if (isDetectionStopped || waitCancelCount != cancelCount) {
+          throw new TaskCanceledException("Card detection canceled on reader " + name);
+        }
+        try {
+          presenceMonitor.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new TaskCanceledException("Card detection interrupted on reader " + name);
+        }
+      }
+    }
+  }
+
+  private void cancelWait() {
+    synchronized (presenceMonitor) {
+      waitCancelCount++;
+      presenceMonitor.notifyAll();
+    }
+  }
+
+  /** Parks the current thread for the configured latency, ignoring spurious wake-ups. */
+  private void awaitLatency() {
+    long latency = apduLatencyNanos;
+    if (latency <= 0) {
+      return;
+    }
+    long deadline = System.nanoTime() + latency;
+    long remaining = latency;
+    while (remaining > 0) {
+      LockSupport.parkNanos(remaining);
+      remaining = deadline - System.nanoTime();
+    }
+  }
+}
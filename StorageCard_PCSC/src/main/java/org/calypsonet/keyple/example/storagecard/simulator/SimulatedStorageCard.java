@@ -0,0 +1,150 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.simulator;
+
+import org.eclipse.keyple.core.util.HexUtil;
+import org.eclipse.keypop.storagecard.card.ProductType;
+
+/**
+ * Simulated storage card (MIFARE Ultralight, ST25/SRT512).
+ *
+ * <p>The card answers the storage card commands defined by the PC/SC specification (part 3) and
+ * interpreted by contactless PC/SC readers:
+ *
+ * <ul>
+ *   <li>GET DATA (UID): {@code FF CA 00 00 Le}
+ *   <li>READ BINARY: {@code FF B0 [block MSB] [block LSB] Le}
+ *   <li>UPDATE BINARY: {@code FF D6 [block MSB] [block LSB] Lc [data]}
+ * </ul>
+ *
+ * <p>The memory size is given by the {@link ProductType}. The first two blocks hold the
+ * manufacturer data and are read-only.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class SimulatedStorageCard extends SimulatedCard {
+
+  private static final int NB_READ_ONLY_BLOCKS = 2;
+
+  private final ProductType productType;
+  private final byte[] uid;
+  private final byte[] memory;
+  private final int blockSize;
+
+  /**
+   * Creates a storage card of the provided type with a zeroed user memory.
+   *
+   * @param productType The product type.
+   * @param uid The UID of the card (hex string).
+   */
+  public SimulatedStorageCard(ProductType productType, String uid) {
+    super(productType.name(), defaultPowerOnData(productType));
+    this.productType = productType;
+    this.uid = HexUtil.toByteArray(uid);
+    this.blockSize = productType.getBlockSize();
+    this.memory = new byte[productType.getBlockCount() * blockSize];
+    System.arraycopy(
+        this.uid, 0, memory, 0, Math.min(this.uid.length, NB_READ_ONLY_BLOCKS * blockSize));
+  }
+
+  /**
+   * Returns the product type of the card.
+   *
+   * @return A not null reference.
+   */
+  public ProductType getProductType() {
+    return productType;
+  }
+
+  /**
+   * Sets the content of the memory starting from the provided block.
+   *
+   * @param blockNumber The first block to set.
+   * @param content The content (hex string).
+   * @return The current instance.
+   */
+  public synchronized SimulatedStorageCard withBlocks(int blockNumber, String content) {
+    byte[] data = HexUtil.toByteArray(content);
+    System.arraycopy(data, 0, memory, blockNumber * blockSize, data.length);
+    return this;
+  }
+
+  /**
+   * Returns a copy of the whole card memory.
+   *
+   * @return A new byte array.
+   */
+  public synchronized byte[] getMemory() {
+    return memory.clone();
+  }
+
+  @Override
+  synchronized byte[] processApdu(byte[] apdu) {
+    if (apdu.length < 5) {
+      return SW_WRONG_LENGTH;
+    }
+    if (apdu[0] != (byte) 0xFF) {
+      return SW_INS_NOT_SUPPORTED;
+    }
+    int blockNumber = ((apdu[2] & 0xFF) << 8) | (apdu[3] & 0xFF);
+    int length = apdu[4] & 0xFF;
+    switch (apdu[1]) {
+      case (byte) 0xCA:
+        return success(uid, 0, uid.length);
+      case (byte) 0xB0:
+        return readBinary(blockNumber, length == 0 ? blockSize : length);
+      case (byte) 0xD6:
+        return updateBinary(blockNumber, apdu, length);
+      default:
+        return SW_INS_NOT_SUPPORTED;
+    }
+  }
+
+  private byte[] readBinary(int blockNumber, int length) {
+    int offset = blockNumber * blockSize;
+    if (offset + length > memory.length) {
+      return SW_WRONG_PARAMETERS;
+    }
+    return success(memory, offset, length);
+  }
+
+  private byte[] updateBinary(int blockNumber, byte[] apdu, int length) {
+    if (length == 0 || length % blockSize != 0 || apdu.length < 5 + length) {
+      return SW_WRONG_LENGTH;
+    }
+    int offset = blockNumber * blockSize;
+    if (offset + length > memory.length) {
+      return SW_WRONG_PARAMETERS;
+    }
+    if (blockNumber < NB_READ_ONLY_BLOCKS) {
+      return SW_SECURITY_STATUS_NOT_SATISFIED;
+    }
+    System.arraycopy(apdu, 5, memory, offset, length);
+    return SW_SUCCESS;
+  }
+
+  /**
+   * Returns the power-on data built by PC/SC readers for the provided product type (PC/SC part 3,
+   * storage card ATR).
+   */
+  private static String defaultPowerOnData(ProductType productType) {
+    switch (productType) {
+      case MIFARE_ULTRALIGHT:
+        return "3B8F8001804F0CA0000003060300030000000068";
+      case ST25_SRT512:
+        return "3B8F8001804F0CA0000003060600070000000069";
+      default:
+        return "3B8F8001804F0CA0000003060000000000000000";
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.calypsonet.keyple.example.storagecard.perf.PerformanceReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the startup time of the validator with and without application class-data-sharing
+ * (AppCDS).
+ *
+ * <p>The {@link StartupWorkload} is run in a new JVM using the class path of the current one,
+ * alternately without class-data-sharing, with the default archive of the JDK classes and with the
+ * AppCDS archive of the application, the duration of each run being measured from the process
+ * creation to its exit. The archive must have been created from the same class path and JDK, e.g.
+ * by the {@code fatJar...Cds} Gradle tasks.
+ *
+ * <p>Usage (Java 13+): {@code java -cp app.jar
+ * org.calypsonet.keyple.example.storagecard.startup.StartupBenchmark --archive=app.jsa [--runs=N]
+ * [--csv=FILE]}
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class StartupBenchmark {
+  private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+
+  private static final int DEFAULT_RUN_COUNT = 10;
+  private static final String STEP = "startup";
+
+  /** Class-data-sharing configuration of a measured JVM. */
+  private enum SharingMode {
+    /** No class-data-sharing at all. */
+    CDS_OFF,
+    /** Default archive of the JDK classes only. */
+    DEFAULT_CDS,
+    /** Default archive and dynamic archive of the application classes. */
+    APP_CDS
+  }
+
+  /** Constructor */
+  private StartupBenchmark() {}
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args {@code --archive=<file>} the AppCDS archive (required), {@code --runs=<count>} the
+   *     number of runs of each mode (default 10), {@code --csv=<file>} to write the report as CSV
+   * @throws IOException If a JVM cannot be started or the report cannot be written.
+   * @throws InterruptedException If interrupted while waiting for a JVM.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    File archive = null;
+    int runCount = DEFAULT_RUN_COUNT;
+    String csvFileName = null;
+    for (String arg : args) {
+      if (arg.startsWith("--archive=")) {
+        archive = new File(arg.substring("--archive=".length()));
+      } else if (arg.startsWith("--runs=")) {
+        runCount = Integer.parseInt(arg.substring("--runs=".length()));
+      } else if (arg.startsWith("--csv=")) {
+        csvFileName = arg.substring("--csv=".length());
+      }
+    }
+    if (archive == null || !archive.isFile()) {
+      throw new IllegalArgumentException("Missing AppCDS archive: " + archive);
+    }
+    PerformanceReport report = new PerformanceReport();
+    // The modes alternate so that a drift of the system load affects them equally
+    for (int i = 0; i < runCount; i++) {
+      for (SharingMode mode : SharingMode.values()) {
+        report.record(mode.name(), STEP, runWorkload(mode, archive));
+      }
+    }
+    report.log(logger);
+    long defaultCdsAverage =
+        report.getStatistics(SharingMode.DEFAULT_CDS.name(), STEP).getAverage();
+    long appCdsAverage = report.getStatistics(SharingMode.APP_CDS.name(), STEP).getAverage();
+    logger.info(
+        "AppCDS startup improvement: {} ms ({}%)",
+        (defaultCdsAverage - appCdsAverage) / 1000000,
+        (defaultCdsAverage - appCdsAverage) * 100 / defaultCdsAverage);
+    if (csvFileName != null) {
+      report.writeCsv(csvFileName);
+      logger.info("Report written to {}", csvFileName);
+    }
+  }
+
+  /**
+   * Runs the startup workload in a new JVM.
+   *
+   * @return The duration from the process creation to its exit, in nanoseconds.
+   */
+  private static long runWorkload(SharingMode mode, File archive)
+      throws IOException, InterruptedException {
+    List<String> command = new ArrayList<String>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    if (mode == SharingMode.CDS_OFF) {
+      command.add("-Xshare:off");
+    } else if (mode == SharingMode.APP_CDS) {
+      command.add("-XX:SharedArchiveFile=" + archive.getPath());
+    }
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(StartupWorkload.class.getName());
+    long start = System.nanoTime();
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    discard(process.getInputStream());
+    int exitCode = process.waitFor();
+    long duration = System.nanoTime() - start;
+    if (exitCode != 0) {
+      throw new IllegalStateException(mode + " startup workload failed, exit code " + exitCode);
+    }
+    return duration;
+  }
+
+  /** Reads the output of the JVM until its end, so that it never blocks on a full pipe. */
+  private static void discard(InputStream output) throws IOException {
+    byte[] buffer = new byte[4096];
+    try {
+      while (output.read(buffer) >= 0) {
+        // Nothing to do
+      }
+    } finally {
+      output.close();
+    }
+  }
+}
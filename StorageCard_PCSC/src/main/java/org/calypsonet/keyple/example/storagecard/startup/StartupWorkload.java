@@ -0,0 +1,78 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.startup;
+
+import org.calypsonet.keyple.example.storagecard.JitWarmUp;
+import org.calypsonet.keyple.example.storagecard.config.TerminalConfiguration;
+import org.calypsonet.keyple.example.storagecard.memory.VerificationMode;
+import org.eclipse.keyple.plugin.pcsc.PcscPluginFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Boot sequence of a validator, up to its first taps, used as the training run of the application
+ * class-data-sharing (AppCDS) archives and as the workload of the {@link StartupBenchmark}.
+ *
+ * <p>The sequence loads the classes dominating the startup: Gson with the parsing of the
+ * configuration, the PC/SC plugin factory, the Keyple service, the Calypso and storage card
+ * extensions, the legacy SAM extension, and processes a few taps on simulated readers (see {@link
+ * JitWarmUp}), so that it runs without hardware. The classes named as arguments (typically the
+ * main class of a fat jar) are loaded too, without being initialized.
+ *
+ * <p>Usage (Java 13+): {@code java -XX:ArchiveClassesAtExit=app.jsa -cp app.jar
+ * org.calypsonet.keyple.example.storagecard.startup.StartupWorkload [class name...]}, the archive
+ * being used with {@code java -XX:SharedArchiveFile=app.jsa -jar app.jar}.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class StartupWorkload {
+  private static final Logger logger = LoggerFactory.getLogger(StartupWorkload.class);
+
+  /** Number of taps per technology processed on the simulated readers. */
+  public static final int TAP_COUNT = 3;
+
+  /** Classes of the libraries not referenced by the examples sources, loaded by name. */
+  private static final String[] PRELOADED_CLASS_NAMES = {
+    "org.eclipse.keyple.card.calypso.crypto.legacysam.LegacySamExtensionService"
+  };
+
+  /** Constructor */
+  private StartupWorkload() {}
+
+  /**
+   * Runs the boot sequence.
+   *
+   * @param args The names of extra classes to load.
+   */
+  public static void main(String[] args) {
+    long start = System.nanoTime();
+    for (String className : PRELOADED_CLASS_NAMES) {
+      preload(className);
+    }
+    for (String className : args) {
+      preload(className);
+    }
+    TerminalConfiguration configuration = TerminalConfiguration.loadDefault();
+    PcscPluginFactoryBuilder.builder().build(); // Not registered, no PC/SC middleware needed
+    JitWarmUp.run(configuration, VerificationMode.WRITTEN_RANGES, TAP_COUNT);
+    logger.info("Startup workload completed in {} ms", (System.nanoTime() - start) / 1000000);
+  }
+
+  private static void preload(String className) {
+    try {
+      Class.forName(className, false, StartupWorkload.class.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      logger.warn("Class not found: {}", className);
+    }
+  }
+}
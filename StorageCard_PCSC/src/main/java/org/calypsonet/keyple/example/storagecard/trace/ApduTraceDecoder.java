@@ -0,0 +1,165 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.trace;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import org.eclipse.keyple.core.util.HexUtil;
+
+/**
+ * Command line decoder of the files written by {@link ApduTraceRecorder}.
+ *
+ * <p>Prints one line per record with its time since the start of the trace and since the previous
+ * record. The delta of a response is therefore the duration of the APDU exchange.
+ *
+ * <pre>
+ * java -cp ... org.calypsonet.keyple.example.storagecard.trace.ApduTraceDecoder session-trace.bin
+ * </pre>
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class ApduTraceDecoder {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String[] TYPE_NAMES = {
+    "?", "C-APDU", "R-APDU", "OPEN", "CLOSE", "ERROR", "MARK", "END", "DUMP"
+  };
+
+  /** Constructor */
+  private ApduTraceDecoder() {}
+
+  /**
+   * Decodes the trace file given as argument to the standard output.
+   *
+   * @param args The name of the trace file.
+   * @throws IOException If the file cannot be read or is not a trace file.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: ApduTraceDecoder <trace file>");
+      System.exit(2);
+    }
+    InputStream in = new FileInputStream(args[0]);
+    try {
+      decode(in, System.out);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Decodes a trace.
+   *
+   * @param in The trace content.
+   * @param out The target of the decoded lines.
+   * @throws IOException If the content cannot be read or is not a trace.
+   */
+  public static void decode(InputStream in, PrintStream out) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    byte[] magic = new byte[ApduTraceFormat.MAGIC.length];
+    data.readFully(magic);
+    if (!Arrays.equals(magic, ApduTraceFormat.MAGIC)) {
+      throw new IOException("Not an APDU trace file");
+    }
+    byte version = data.readByte();
+    if (version != ApduTraceFormat.VERSION) {
+      throw new IOException("Unsupported APDU trace version: " + version);
+    }
+    long startMillis = data.readLong();
+    out.println(
+        "# APDU trace started "
+            + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.ROOT)
+                .format(new Date(startMillis)));
+    out.println(String.format(Locale.ROOT, "%12s %12s  %s", "time_ms", "delta_us", "type"));
+
+    long time = 0;
+    long nbRecords = 0;
+    boolean isComplete = false;
+    int type;
+    while ((type = data.read()) >= 0) {
+      long delta;
+      byte[] content;
+      try {
+        delta = readVarint(data);
+        content = new byte[(int) readVarint(data)];
+        data.readFully(content);
+      } catch (EOFException e) {
+        break;
+      }
+      time += delta;
+      String text;
+      switch (type) {
+        case ApduTraceFormat.COMMAND:
+        case ApduTraceFormat.RESPONSE:
+          text = HexUtil.toHex(content);
+          break;
+        case ApduTraceFormat.ERROR:
+        case ApduTraceFormat.MARK:
+          text = new String(content, UTF_8);
+          break;
+        case ApduTraceFormat.END:
+          text =
+              readVarint(new DataInputStream(new ByteArrayInputStream(content)))
+                  + " dropped records";
+          isComplete = true;
+          break;
+        case ApduTraceFormat.MEMORY_DUMP:
+          text = decodeMemoryDump(content);
+          break;
+        default:
+          text = "";
+      }
+      String typeName = type < TYPE_NAMES.length ? TYPE_NAMES[type] : TYPE_NAMES[0];
+      out.print(String.format(Locale.ROOT, "%12.3f %12.1f  ", time / 1e6, delta / 1e3));
+      out.println(text.isEmpty() ? typeName : String.format("%-7s %s", typeName, text));
+      nbRecords++;
+    }
+    out.println("# " + nbRecords + " records" + (isComplete ? "" : " (truncated trace)"));
+  }
+
+  /** Formats the data of a memory dump record as "label: content". */
+  private static String decodeMemoryDump(byte[] content) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+    byte[] label = new byte[(int) readVarint(in)];
+    in.readFully(label);
+    byte[] memoryContent = new byte[in.available()];
+    in.readFully(memoryContent);
+    return new String(label, UTF_8) + ": " + HexUtil.toHex(memoryContent);
+  }
+
+  private static long readVarint(DataInputStream in) throws IOException {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      if (shift > 63) {
+        throw new IOException("Malformed varint");
+      }
+      b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
@@ -0,0 +1,53 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.trace;
+
+/**
+ * Binary format of the APDU trace files.
+ *
+ * <pre>
+ * file:   [magic "KATR" (4 bytes)] [version (1 byte)] [start time, epoch millis (8 bytes)] record*
+ * record: [type (1 byte)] [time since previous record, nanos (varint)] [length (varint)] [data]
+ * </pre>
+ *
+ * <p>Varints are unsigned LEB128 integers (7 bits per byte, least significant group first). The
+ * time of the first record is relative to the start time. The last record of a complete file is
+ * {@link #END}, whose data is the number of dropped records (varint).
+ *
+ * <p>The data of a {@link #MEMORY_DUMP} record is the length of the label (varint), the label
+ * (UTF-8) and the memory content. Decoders ignore the record types they do not know.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+final class ApduTraceFormat {
+
+  static final byte[] MAGIC = {'K', 'A', 'T', 'R'};
+  static final byte VERSION = 1;
+  static final int HEADER_SIZE = 13;
+
+  // Record types
+  static final byte COMMAND = 1; // data: command APDU
+  static final byte RESPONSE = 2; // data: response APDU
+  static final byte CHANNEL_OPENED = 3; // no data
+  static final byte CHANNEL_CLOSED = 4; // no data
+  static final byte ERROR = 5; // data: exception class and message (UTF-8)
+  static final byte MARK = 6; // data: label (UTF-8)
+  static final byte END = 7; // data: number of dropped records (varint)
+  static final byte MEMORY_DUMP = 8; // data: label length (varint), label (UTF-8), memory content
+
+  /** Maximum size of the header of a record: type and two 64-bit varints. */
+  static final int MAX_RECORD_HEADER_SIZE = 1 + 10 + 10;
+
+  /** Constructor */
+  private ApduTraceFormat() {}
+}
@@ -0,0 +1,139 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.trace;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
+import org.eclipse.keyple.core.plugin.spi.PluginSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+
+/**
+ * Dynamic proxy placed around a plugin factory, its plugin and its readers, recording the APDUs and
+ * channel operations of the readers into an {@link ApduTraceRecorder}.
+ *
+ * <p>The proxies implement all the public interfaces of the wrapped objects, so that the optional
+ * SPIs (observation, protocol configuration...) and the plugin specific extensions remain visible
+ * to the Keyple service and to the application. The cost of the reflective dispatch is in the order
+ * of a hundred nanoseconds per call, negligible compared to an APDU exchange.
+ *
+ * <p>Readers discovered through a plugin callback (pool or autonomous observable plugins) are not
+ * traced.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+final class ApduTraceInterceptor implements InvocationHandler {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final Object target;
+  private final ApduTraceRecorder recorder;
+
+  private ApduTraceInterceptor(Object target, ApduTraceRecorder recorder) {
+    this.target = target;
+    this.recorder = recorder;
+  }
+
+  /**
+   * Wraps a plugin factory.
+   *
+   * @param pluginFactory The factory to wrap.
+   * @param recorder The recorder.
+   * @return A proxy of the factory.
+   */
+  static KeyplePluginExtensionFactory wrap(
+      KeyplePluginExtensionFactory pluginFactory, ApduTraceRecorder recorder) {
+    return (KeyplePluginExtensionFactory) createProxy(pluginFactory, recorder);
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    String name = method.getName();
+    if (name.equals("equals") && args != null && args.length == 1) {
+      return proxy == args[0];
+    }
+    if (target instanceof ReaderSpi) {
+      if (name.equals("transmitApdu") && args != null && args.length == 1) {
+        return transmitApdu(method, (byte[]) args[0]);
+      }
+      Object result = invokeTarget(method, args);
+      if (name.equals("openPhysicalChannel")) {
+        recorder.record(ApduTraceFormat.CHANNEL_OPENED);
+      } else if (name.equals("closePhysicalChannel")) {
+        recorder.record(ApduTraceFormat.CHANNEL_CLOSED);
+      }
+      return result;
+    }
+    return wrapResult(invokeTarget(method, args));
+  }
+
+  private Object transmitApdu(Method method, byte[] apdu) throws Throwable {
+    recorder.record(ApduTraceFormat.COMMAND, apdu);
+    try {
+      byte[] apduResponse = (byte[]) method.invoke(target, apdu);
+      recorder.record(ApduTraceFormat.RESPONSE, apduResponse);
+      return apduResponse;
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      recorder.record(
+          ApduTraceFormat.ERROR,
+          (cause.getClass().getSimpleName() + ": " + cause.getMessage()).getBytes(UTF_8));
+      throw cause;
+    }
+  }
+
+  private Object invokeTarget(Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Wraps the plugin and readers returned by the factory and the plugin. */
+  private Object wrapResult(Object result) {
+    if (result instanceof PluginSpi || result instanceof ReaderSpi) {
+      return createProxy(result, recorder);
+    }
+    if (result instanceof Set && target instanceof PluginSpi) {
+      Set<Object> readers = new LinkedHashSet<Object>();
+      for (Object element : (Collection<?>) result) {
+        readers.add(element instanceof ReaderSpi ? createProxy(element, recorder) : element);
+      }
+      return readers;
+    }
+    return result;
+  }
+
+  private static Object createProxy(Object target, ApduTraceRecorder recorder) {
+    Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+    for (Class<?> c = target.getClass(); c != null; c = c.getSuperclass()) {
+      for (Class<?> i : c.getInterfaces()) {
+        if (Modifier.isPublic(i.getModifiers())) {
+          interfaces.add(i);
+        }
+      }
+    }
+    return Proxy.newProxyInstance(
+        target.getClass().getClassLoader(),
+        interfaces.toArray(new Class<?>[0]),
+        new ApduTraceInterceptor(target, recorder));
+  }
+}
@@ -0,0 +1,348 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.trace;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Low-overhead recorder of the APDUs exchanged with the cards, written to a compact binary file.
+ *
+ * <p>Records are copied with a nanosecond timestamp into a ring buffer allocated once at creation,
+ * and a background thread flushes the buffer to the file. Recording an APDU therefore costs a copy
+ * into memory and never waits for the disk: when the buffer is full, the record is dropped and
+ * counted instead of blocking the card processing, so that the trace does not distort the timings
+ * it measures.
+ *
+ * <p>The readers to trace are obtained by wrapping their plugin factory with {@link
+ * #wrap(KeyplePluginExtensionFactory)} before its registration. The files are decoded with {@link
+ * ApduTraceDecoder}.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class ApduTraceRecorder {
+  private static final Logger logger = LoggerFactory.getLogger(ApduTraceRecorder.class);
+
+  /** Default capacity of the ring buffer (1 MiB). */
+  public static final int DEFAULT_BUFFER_CAPACITY = 1 << 20;
+
+  private static final long FLUSH_PERIOD_NANOS = 10000000L; // 10 ms
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final FileOutputStream outputStream;
+  private final FileChannel channel;
+  private final byte[] buffer;
+  private final int mask;
+  private final Thread writerThread;
+
+  // Producer side, guarded by this
+  private long producerPosition;
+  private long lastTimestamp;
+  private long droppedRecordCount;
+
+  // Shared between the producers and the writer thread
+  private final AtomicLong publishedPosition = new AtomicLong();
+  private final AtomicLong flushedPosition = new AtomicLong();
+  private volatile boolean isRunning = true;
+
+  /**
+   * Creates the trace file and starts the background writer with the default buffer capacity.
+   *
+   * @param fileName The name of the file to create or overwrite.
+   * @throws IOException If the file cannot be created.
+   */
+  public ApduTraceRecorder(String fileName) throws IOException {
+    this(fileName, DEFAULT_BUFFER_CAPACITY);
+  }
+
+  /**
+   * Creates the trace file and starts the background writer.
+   *
+   * @param fileName The name of the file to create or overwrite.
+   * @param bufferCapacity The capacity of the ring buffer in bytes, rounded up to a power of two.
+   * @throws IllegalArgumentException If the capacity is not strictly positive.
+   * @throws IOException If the file cannot be created.
+   */
+  public ApduTraceRecorder(String fileName, int bufferCapacity) throws IOException {
+    if (bufferCapacity <= 0 || bufferCapacity > (1 << 30)) {
+      throw new IllegalArgumentException("Invalid buffer capacity: " + bufferCapacity);
+    }
+    int capacity = Integer.highestOneBit(bufferCapacity);
+    if (capacity < bufferCapacity) {
+      capacity <<= 1;
+    }
+    this.buffer = new byte[capacity];
+    this.mask = capacity - 1;
+    this.outputStream = new FileOutputStream(fileName);
+    this.channel = outputStream.getChannel();
+
+    ByteBuffer header = ByteBuffer.allocate(ApduTraceFormat.HEADER_SIZE);
+    header.put(ApduTraceFormat.MAGIC).put(ApduTraceFormat.VERSION);
+    header.putLong(System.currentTimeMillis());
+    this.lastTimestamp = System.nanoTime();
+    header.flip();
+    writeFully(header);
+
+    this.writerThread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                flushLoop();
+              }
+            },
+            "apdu-trace-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Wraps a plugin factory so that the APDUs and channel operations of all the readers of the
+   * plugin are recorded.
+   *
+   * <p>The returned factory implements the same public interfaces as the wrapped one (e.g. {@code
+   * PcscPluginFactory}), so it can be registered and configured in place of it.
+   *
+   * @param pluginFactory The factory of the plugin to trace.
+   * @return A new factory to register instead of the wrapped one.
+   */
+  public KeyplePluginExtensionFactory wrap(KeyplePluginExtensionFactory pluginFactory) {
+    return ApduTraceInterceptor.wrap(pluginFactory, this);
+  }
+
+  /**
+   * Records a label, typically to delimit the taps in the trace.
+   *
+   * @param label The label.
+   */
+  public void mark(String label) {
+    if (!isRunning) {
+      return;
+    }
+    record(ApduTraceFormat.MARK, label.getBytes(UTF_8));
+  }
+
+  /**
+   * Records the memory content of a card, e.g. a storage card image, with a label.
+   *
+   * <p>The content is copied as is: no rendering takes place on the calling thread.
+   *
+   * @param label The label.
+   * @param memoryContent The memory content.
+   */
+  public void dumpMemory(String label, byte[] memoryContent) {
+    if (!isRunning) {
+      return;
+    }
+    byte[] labelBytes = label.getBytes(UTF_8);
+    ByteBuffer header = ByteBuffer.allocate(varintSize(labelBytes.length) + labelBytes.length);
+    putVarint(header, labelBytes.length);
+    header.put(labelBytes);
+    record(ApduTraceFormat.MEMORY_DUMP, header.array(), memoryContent);
+  }
+
+  /**
+   * Returns the number of records dropped because the buffer was full.
+   *
+   * @return A positive number.
+   */
+  public synchronized long getDroppedRecordCount() {
+    return droppedRecordCount;
+  }
+
+  /**
+   * Flushes the pending records, writes the end record and closes the file.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public void close() throws IOException {
+    isRunning = false;
+    LockSupport.unpark(writerThread);
+    boolean isInterrupted = false;
+    while (writerThread.isAlive()) {
+      try {
+        writerThread.join();
+      } catch (InterruptedException e) {
+        isInterrupted = true;
+      }
+    }
+    long dropped = getDroppedRecordCount();
+    try {
+      flush();
+      ByteBuffer end = ByteBuffer.allocate(ApduTraceFormat.MAX_RECORD_HEADER_SIZE + 10);
+      end.put(ApduTraceFormat.END);
+      putVarint(end, 0);
+      putVarint(end, varintSize(dropped));
+      putVarint(end, dropped);
+      end.flip();
+      writeFully(end);
+    } finally {
+      outputStream.close();
+    }
+    if (dropped > 0) {
+      logger.warn("{} trace records dropped, consider a larger buffer", dropped);
+    }
+    if (isInterrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Records an event without data.
+   *
+   * @param type The record type.
+   */
+  void record(byte type) {
+    record(type, null, null);
+  }
+
+  /**
+   * Records an event with its data.
+   *
+   * @param type The record type.
+   * @param data The data.
+   */
+  void record(byte type, byte[] data) {
+    record(type, null, data);
+  }
+
+  /**
+   * Copies a record into the ring buffer, or drops it if the buffer is full.
+   *
+   * <p>The data of the record is the concatenation of its two parts, so that a header can be
+   * prepended to a content without copying it first.
+   *
+   * <p>Once the recorder is closed or its writing has failed, the record is ignored without taking
+   * the monitor: the recording costs nothing anymore.
+   *
+   * @param type The record type.
+   * @param head The first part of the data (may be null).
+   * @param tail The second part of the data (may be null).
+   */
+  private void record(byte type, byte[] head, byte[] tail) {
+    if (isRunning) {
+      append(type, head, tail);
+    }
+  }
+
+  private synchronized void append(byte type, byte[] head, byte[] tail) {
+    long timestamp = System.nanoTime();
+    long delta = timestamp - lastTimestamp;
+    long position = producerPosition;
+    int length = (head != null ? head.length : 0) + (tail != null ? tail.length : 0);
+    int size = 1 + varintSize(delta) + varintSize(length) + length;
+    if (position + size - flushedPosition.get() > buffer.length) {
+      droppedRecordCount++;
+      return;
+    }
+    lastTimestamp = timestamp;
+    buffer[(int) (position++ & mask)] = type;
+    position = putVarint(position, delta);
+    position = putVarint(position, length);
+    if (head != null) {
+      position = putBytes(position, head);
+    }
+    if (tail != null) {
+      position = putBytes(position, tail);
+    }
+    producerPosition = position;
+    publishedPosition.lazySet(position);
+  }
+
+  private long putBytes(long position, byte[] data) {
+    int offset = (int) (position & mask);
+    int firstPart = Math.min(data.length, buffer.length - offset);
+    System.arraycopy(data, 0, buffer, offset, firstPart);
+    System.arraycopy(data, firstPart, buffer, 0, data.length - firstPart);
+    return position + data.length;
+  }
+
+  private long putVarint(long position, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer[(int) (position++ & mask)] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[(int) (position++ & mask)] = (byte) value;
+    return position;
+  }
+
+  private static void putVarint(ByteBuffer target, long value) {
+    while ((value & ~0x7FL) != 0) {
+      target.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    target.put((byte) value);
+  }
+
+  private static int varintSize(long value) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  /** Body of the writer thread: flushes the published records until the recorder is closed. */
+  private void flushLoop() {
+    try {
+      while (isRunning) {
+        if (!flush()) {
+          LockSupport.parkNanos(this, FLUSH_PERIOD_NANOS);
+        }
+      }
+    } catch (IOException e) {
+      logger.error("APDU trace writing failed, recording disabled: {}", e.getMessage());
+      isRunning = false;
+    }
+  }
+
+  /**
+   * Writes the published records to the file.
+   *
+   * @return true if records were written.
+   * @throws IOException If the file cannot be written.
+   */
+  private boolean flush() throws IOException {
+    long start = flushedPosition.get();
+    long end = publishedPosition.get();
+    if (end == start) {
+      return false;
+    }
+    int offset = (int) (start & mask);
+    int length = (int) (end - start);
+    int firstPart = Math.min(length, buffer.length - offset);
+    writeFully(ByteBuffer.wrap(buffer, offset, firstPart));
+    if (firstPart < length) {
+      writeFully(ByteBuffer.wrap(buffer, 0, length - firstPart));
+    }
+    flushedPosition.lazySet(end);
+    return true;
+  }
+
+  private void writeFully(ByteBuffer source) throws IOException {
+    while (source.hasRemaining()) {
+      channel.write(source);
+    }
+  }
+}
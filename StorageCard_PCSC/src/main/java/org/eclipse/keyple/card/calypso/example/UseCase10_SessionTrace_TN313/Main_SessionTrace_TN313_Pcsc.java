@@ -0,0 +1,106 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase10_SessionTrace_TN313;
+
+import java.io.IOException;
+import org.calypsonet.keyple.example.storagecard.MultiTechTransaction;
+import org.calypsonet.keyple.example.storagecard.config.TerminalConfiguration;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCalypsoCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPluginFactoryBuilder;
+import org.calypsonet.keyple.example.storagecard.trace.ApduTraceDecoder;
+import org.calypsonet.keyple.example.storagecard.trace.ApduTraceRecorder;
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
+import org.eclipse.keyple.plugin.pcsc.PcscPluginFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Use Case Calypso 10 – Session trace (PC/SC)
+ *
+ * <p>Runs the {@link MultiTechTransaction} card processing while recording every APDU exchanged
+ * with the card, with nanosecond timestamps, into a compact binary trace file. The trace is meant
+ * to investigate slow taps in the field, e.g. to check the card and reader timings against the
+ * expectations of the Calypso technical note TN313.
+ *
+ * <p>The APDUs are copied into a preallocated ring buffer and written to the file by a background
+ * thread, so that recording does not distort the timings it measures (see {@link
+ * ApduTraceRecorder}). The memory of the storage cards is dumped into the same trace at each
+ * step of the processing.
+ *
+ * <p><b>Arguments</b> (all optional):
+ *
+ * <ul>
+ *   <li>{@code --output=FILE}: trace file (default {@code session-trace.bin})
+ *   <li>{@code --buffer-kb=N}: size of the ring buffer in KiB (default 1024)
+ *   <li>{@code --simulated}: use a simulated Calypso card instead of PC/SC
+ *   <li>{@code --decode=FILE}: only decode a trace file to the standard output
+ * </ul>
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public class Main_SessionTrace_TN313_Pcsc {
+  private static final Logger logger = LoggerFactory.getLogger(Main_SessionTrace_TN313_Pcsc.class);
+
+  private static final String DEFAULT_TRACE_FILE = "session-trace.bin";
+
+  public static void main(String[] args) throws IOException {
+    String traceFile = DEFAULT_TRACE_FILE;
+    int bufferCapacity = ApduTraceRecorder.DEFAULT_BUFFER_CAPACITY;
+    boolean isSimulated = false;
+    for (String arg : args) {
+      if (arg.startsWith("--output=")) {
+        traceFile = arg.substring("--output=".length());
+      } else if (arg.startsWith("--buffer-kb=")) {
+        bufferCapacity = Integer.parseInt(arg.substring("--buffer-kb=".length())) * 1024;
+      } else if (arg.equals("--simulated")) {
+        isSimulated = true;
+      } else if (arg.startsWith("--decode=")) {
+        ApduTraceDecoder.main(new String[] {arg.substring("--decode=".length())});
+        return;
+      } else {
+        throw new IllegalArgumentException("Unknown argument: " + arg);
+      }
+    }
+
+    logger.info("= UseCase Calypso #10: session trace =");
+
+    TerminalConfiguration configuration = TerminalConfiguration.loadDefault();
+    KeyplePluginExtensionFactory pluginFactory =
+        isSimulated
+            ? SimulatedPluginFactoryBuilder.builder()
+                .withReader(
+                    SimulatedPluginFactoryBuilder.DEFAULT_READER_NAME,
+                    new SimulatedCalypsoCard(configuration.getCalypsoAid(), "0000000011223344"))
+                .build()
+            : PcscPluginFactoryBuilder.builder().build();
+
+    ApduTraceRecorder recorder = new ApduTraceRecorder(traceFile, bufferCapacity);
+    try {
+      MultiTechTransaction transaction =
+          new MultiTechTransaction(recorder.wrap(pluginFactory), configuration);
+      transaction.setMemoryDumpRecorder(recorder);
+      recorder.mark("processCard");
+      transaction.execute();
+      recorder.mark("done");
+    } catch (Exception e) {
+      logger.error("Card processing failed: {}", e.getMessage());
+    } finally {
+      recorder.close();
+    }
+
+    logger.info("Trace written to {}", traceFile);
+    logger.info("Decode it with: --decode={}", traceFile);
+
+    System.exit(0);
+  }
+}
@@ -0,0 +1,273 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase12_PerformanceMeasurement_EmbeddedValidation;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.calypsonet.keyple.example.storagecard.MultiTechTransaction;
+import org.calypsonet.keyple.example.storagecard.logging.AsyncLogOutput;
+import org.calypsonet.keyple.example.storagecard.logging.OverflowPolicy;
+import org.calypsonet.keyple.example.storagecard.memory.CardImageCache;
+import org.calypsonet.keyple.example.storagecard.memory.VerificationMode;
+import org.calypsonet.keyple.example.storagecard.memory.WritePlan;
+import org.calypsonet.keyple.example.storagecard.perf.PerformanceReport;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCalypsoCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPlugin;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPluginFactoryBuilder;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedReader;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedStorageCard;
+import org.eclipse.keyple.card.calypso.CalypsoExtensionService;
+import org.eclipse.keyple.core.service.SmartCardServiceProvider;
+import org.eclipse.keypop.calypso.card.card.CalypsoCard;
+import org.eclipse.keypop.calypso.card.transaction.ChannelCommand;
+import org.eclipse.keypop.reader.CardReader;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+import org.eclipse.keypop.storagecard.card.ProductType;
+import org.eclipse.keypop.storagecard.card.StorageCard;
+import org.eclipse.keypop.storagecard.transaction.StorageCardTransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Use Case Calypso 12 – Performance measurement: embedded validation (PC/SC)
+ *
+ * <p>Measures the duration of each step of repeated validation taps, as processed by {@link
+ * MultiTechTransaction} on an embedded validator, for Calypso and storage cards.
+ *
+ * <p><b>Scenario:</b>
+ *
+ * <ol>
+ *   <li>Wait for a card (or insert the next simulated card)
+ *   <li>Process the multi-technology selection scenario, prebuilt once at startup
+ *   <li>Calypso: read the contract record and close the channel
+ *   <li>Storage card: read, write and verify the memory (the last step closes the channel)
+ *   <li>Wait for the card removal (or remove the simulated card)
+ * </ol>
+ *
+ * <p>The min/avg/p50/p90/p99/max durations of each step are logged and written to a CSV file at
+ * the end of the run, so that reader firmwares and JVM settings can be compared.
+ *
+ * <p><b>Arguments</b> (all optional):
+ *
+ * <ul>
+ *   <li>{@code --taps=N}: number of taps to measure (default 100)
+ *   <li>{@code --output=FILE}: CSV file (default {@code perf-embedded-validation.csv})
+ *   <li>{@code --simulated}: use the simulated reader instead of PC/SC, cycling through Calypso,
+ *       MIFARE Ultralight and ST25/SRT512 cards
+ *   <li>{@code --apdu-latency-us=N}: per-APDU latency of the simulated reader (default 0)
+ *   <li>{@code --verify=MODE}: read-back of the verify step, {@code none}, {@code
+ *       written_ranges}, {@code sample} or {@code full} (default {@code written_ranges})
+ *   <li>{@code --image-cache}: keep the storage card images between taps, so that the read step
+ *       is skipped when the card was not modified elsewhere
+ *   <li>{@code --async-logging=POLICY}: write the logs from a background thread, {@code drop} or
+ *       {@code block} when its queue is full (see {@link AsyncLogOutput})
+ * </ul>
+ *
+ * <p>The logs of the card processing should be lowered to keep them out of the measurement, e.g.
+ * with {@code -Dorg.slf4j.simpleLogger.log.org.calypsonet=warn
+ * -Dorg.slf4j.simpleLogger.log.org.eclipse.keyple.core=warn}, or at least written asynchronously
+ * with {@code --async-logging}.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public class Main_PerformanceMeasurement_EmbeddedValidation_Pcsc {
+  private static final Logger logger =
+      LoggerFactory.getLogger(Main_PerformanceMeasurement_EmbeddedValidation_Pcsc.class);
+
+  private static final int DEFAULT_NB_TAPS = 100;
+  private static final String DEFAULT_CSV_FILE = "perf-embedded-validation.csv";
+  private static final long CARD_POLLING_PERIOD_MILLIS = 10;
+  private static final int IMAGE_CACHE_CAPACITY = 1000;
+  private static final long IMAGE_CACHE_TTL_HOURS = 24;
+
+  private static final String CALYPSO = "CALYPSO";
+  private static final byte SFI_CONTRACTS = (byte) 0x09;
+
+  // Steps
+  private static final String PROCESS_SELECTION = "process_selection";
+  private static final String READ = "read";
+  private static final String WRITE = "write";
+  private static final String VERIFY = "verify";
+  private static final String TOTAL = "total";
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int nbTaps = DEFAULT_NB_TAPS;
+    String csvFile = DEFAULT_CSV_FILE;
+    boolean isSimulated = false;
+    long apduLatencyMicros = 0;
+    VerificationMode verificationMode = VerificationMode.WRITTEN_RANGES;
+    boolean isImageCacheEnabled = false;
+    OverflowPolicy asyncLoggingPolicy = null;
+    for (String arg : args) {
+      if (arg.startsWith("--taps=")) {
+        nbTaps = Integer.parseInt(arg.substring("--taps=".length()));
+      } else if (arg.startsWith("--output=")) {
+        csvFile = arg.substring("--output=".length());
+      } else if (arg.equals("--simulated")) {
+        isSimulated = true;
+      } else if (arg.equals("--image-cache")) {
+        isImageCacheEnabled = true;
+      } else if (arg.startsWith("--async-logging=")) {
+        asyncLoggingPolicy =
+            OverflowPolicy.valueOf(arg.substring("--async-logging=".length()).toUpperCase());
+      } else if (arg.startsWith("--apdu-latency-us=")) {
+        apduLatencyMicros = Long.parseLong(arg.substring("--apdu-latency-us=".length()));
+      } else if (arg.startsWith("--verify=")) {
+        verificationMode =
+            VerificationMode.valueOf(arg.substring("--verify=".length()).toUpperCase());
+      } else {
+        throw new IllegalArgumentException("Unknown argument: " + arg);
+      }
+    }
+
+    AsyncLogOutput asyncLogOutput = null;
+    if (asyncLoggingPolicy != null) {
+      asyncLogOutput =
+          AsyncLogOutput.install(AsyncLogOutput.DEFAULT_QUEUE_CAPACITY, asyncLoggingPolicy);
+    }
+
+    logger.info("= UseCase Calypso #12: performance measurement - embedded validation =");
+
+    MultiTechTransaction transaction;
+    SimulatedReader simulatedReader = null;
+    SimulatedCard[] simulatedCards = null;
+    if (isSimulated) {
+      transaction =
+          new MultiTechTransaction(
+              SimulatedPluginFactoryBuilder.builder()
+                  .withApduLatency(apduLatencyMicros, TimeUnit.MICROSECONDS)
+                  .build());
+      simulatedReader =
+          SmartCardServiceProvider.getService()
+              .getPlugin(SimulatedPlugin.PLUGIN_NAME)
+              .getReaderExtension(SimulatedReader.class, transaction.getCardReader().getName());
+      simulatedCards =
+          new SimulatedCard[] {
+            new SimulatedCalypsoCard(
+                transaction.getConfiguration().getCalypsoAid(), "0000000011223344"),
+            new SimulatedStorageCard(ProductType.MIFARE_ULTRALIGHT, "04A1B2C3D4E5F6"),
+            new SimulatedStorageCard(ProductType.ST25_SRT512, "D002330011223344")
+          };
+    } else {
+      transaction = new MultiTechTransaction();
+    }
+    transaction.setVerificationMode(verificationMode);
+    CardImageCache cardImageCache = null;
+    if (isImageCacheEnabled) {
+      cardImageCache =
+          new CardImageCache(IMAGE_CACHE_CAPACITY, IMAGE_CACHE_TTL_HOURS, TimeUnit.HOURS);
+      transaction.setCardImageCache(cardImageCache);
+    }
+    CardReader cardReader = transaction.getCardReader();
+
+    PerformanceReport report = new PerformanceReport();
+    int nbFailures = 0;
+    for (int i = 1; i <= nbTaps; i++) {
+      if (isSimulated) {
+        simulatedReader.insertCard(simulatedCards[(i - 1) % simulatedCards.length]);
+      } else {
+        logger.info("Present card #{}/{}", i, nbTaps);
+        waitForCard(cardReader, true);
+      }
+
+      try {
+        processTap(transaction, report);
+      } catch (RuntimeException e) {
+        nbFailures++;
+        logger.error("Tap #{} failed: {}", i, e.getMessage());
+      }
+
+      if (isSimulated) {
+        simulatedReader.removeCard();
+      } else {
+        waitForCard(cardReader, false);
+      }
+    }
+
+    logger.info("{} taps processed, {} failures", nbTaps, nbFailures);
+    report.log(logger);
+    if (cardImageCache != null) {
+      logger.info("Image cache: {}", cardImageCache);
+    }
+    report.writeCsv(csvFile);
+    logger.info("Report written to {}", csvFile);
+
+    if (asyncLogOutput != null) {
+      asyncLogOutput.close(); // Last, writes the pending lines
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Processes one tap, recording the duration of each step.
+   *
+   * @param transaction The card processing.
+   * @param report The report where durations are recorded.
+   */
+  private static void processTap(MultiTechTransaction transaction, PerformanceReport report) {
+    long start = System.nanoTime();
+    SmartCard smartCard =
+        transaction.processCardSelectionScenario(transaction.getCardSelectionManager());
+    long selectionProcessed = System.nanoTime();
+
+    String technology =
+        smartCard instanceof CalypsoCard
+            ? CALYPSO
+            : ((StorageCard) smartCard).getProductType().name();
+    report.record(technology, PROCESS_SELECTION, selectionProcessed - start);
+
+    long stepStart = selectionProcessed;
+    long stepEnd;
+    if (smartCard instanceof CalypsoCard) {
+      CalypsoExtensionService.getInstance()
+          .getCalypsoCardApiFactory()
+          .createFreeTransactionManager(transaction.getCardReader(), (CalypsoCard) smartCard)
+          .prepareReadRecord(SFI_CONTRACTS, 1)
+          .processCommands(ChannelCommand.CLOSE_AFTER);
+      stepEnd = System.nanoTime();
+      report.record(technology, READ, stepEnd - stepStart);
+    } else {
+      StorageCard storageCard = (StorageCard) smartCard;
+      StorageCardTransactionManager cardTransaction =
+          transaction.createStorageCardTransaction(storageCard);
+      byte[] memoryImage = transaction.readStorageCard(cardTransaction, storageCard);
+      stepEnd = System.nanoTime();
+      report.record(technology, READ, stepEnd - stepStart);
+      stepStart = stepEnd;
+      WritePlan writePlan =
+          transaction.writeStorageCard(cardTransaction, storageCard, memoryImage);
+      stepEnd = System.nanoTime();
+      report.record(technology, WRITE, stepEnd - stepStart);
+      stepStart = stepEnd;
+      transaction.verifyStorageCard(cardTransaction, storageCard, writePlan);
+      stepEnd = System.nanoTime();
+      report.record(technology, VERIFY, stepEnd - stepStart);
+    }
+    report.record(technology, TOTAL, stepEnd - start);
+  }
+
+  /**
+   * Polls the reader until the card presence matches the expected state.
+   *
+   * @param cardReader The reader.
+   * @param isPresent The expected card presence.
+   * @throws InterruptedException If the thread is interrupted.
+   */
+  private static void waitForCard(CardReader cardReader, boolean isPresent)
+      throws InterruptedException {
+    while (cardReader.isCardPresent() != isPresent) {
+      Thread.sleep(CARD_POLLING_PERIOD_MILLIS);
+    }
+  }
+}
@@ -0,0 +1,461 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.calypsonet.keyple.example.storagecard.MultiTechTransaction;
+import org.calypsonet.keyple.example.storagecard.config.TerminalConfiguration;
+import org.calypsonet.keyple.example.storagecard.memory.WritePlan;
+import org.calypsonet.keyple.example.storagecard.perf.PerformanceReport;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCalypsoCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedCard;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedPluginFactoryBuilder;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedReader;
+import org.calypsonet.keyple.example.storagecard.simulator.SimulatedStorageCard;
+import org.eclipse.keyple.card.calypso.CalypsoExtensionService;
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.spi.PluginFactorySpi;
+import org.eclipse.keyple.core.plugin.spi.PluginSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.ConfigurableReaderSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.service.SmartCardServiceProvider;
+import org.eclipse.keyple.plugin.pcsc.PcscPluginFactoryBuilder;
+import org.eclipse.keyple.plugin.pcsc.PcscReader;
+import org.eclipse.keypop.calypso.card.card.CalypsoCard;
+import org.eclipse.keypop.calypso.card.transaction.ChannelCommand;
+import org.eclipse.keypop.calypso.card.transaction.FreeTransactionManager;
+import org.eclipse.keypop.reader.CardReader;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+import org.eclipse.keypop.storagecard.card.ProductType;
+import org.eclipse.keypop.storagecard.card.StorageCard;
+import org.eclipse.keypop.storagecard.transaction.StorageCardTransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Use Case Calypso 13 – Performance measurement: distributed reloading (PC/SC)
+ *
+ * <p>Measures the cost of a reload when the card processing runs on a server while the reader is
+ * owned by a remote terminal. Both sides run as separate processes connected by a local socket:
+ * each reader SPI call made by Keyple on the server (APDU transmission, channel management,
+ * protocol checks...) is one round trip to the terminal, as it would be with a remote reader over
+ * the network.
+ *
+ * <p><b>Scenario</b> (for each tap):
+ *
+ * <ol>
+ *   <li>Wait for a card (or let the terminal insert the next simulated card)
+ *   <li>Process the multi-technology selection scenario, prebuilt once at startup
+ *   <li>Calypso: read the contract and the counter, then increase the counter and close the
+ *       channel. A real reload would run these commands in a secure session with a SAM; the free
+ *       mode keeps the example runnable without one while keeping the same exchange pattern.
+ *   <li>Storage card: read, write and verify the memory (the last step closes the channel)
+ * </ol>
+ *
+ * <p>The number of round trips, the number of APDUs and the selection/reload/total durations of
+ * each tap are written to a CSV file; their min/avg/p99 per technology are logged at the end of the
+ * run.
+ *
+ * <p><b>Arguments</b> (all optional):
+ *
+ * <ul>
+ *   <li>{@code --taps=N}: number of taps to measure (default 100)
+ *   <li>{@code --output=FILE}: CSV file (default {@code perf-distributed-reloading.csv})
+ *   <li>{@code --simulated}: the terminal uses the simulated reader instead of PC/SC, cycling
+ *       through Calypso, MIFARE Ultralight and ST25/SRT512 cards
+ *   <li>{@code --apdu-latency-us=N}: per-APDU latency of the simulated reader (default 0)
+ *   <li>{@code --network-latency-us=N}: network round-trip time added by the server to each
+ *       exchange with the terminal (default 0)
+ * </ul>
+ *
+ * <p>The terminal process is started by the server with the internal {@code --terminal} and {@code
+ * --port=N} arguments.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public class Main_PerformanceMeasurement_DistributedReloading_Pcsc {
+  private static final Logger logger =
+      LoggerFactory.getLogger(Main_PerformanceMeasurement_DistributedReloading_Pcsc.class);
+
+  private static final int DEFAULT_NB_TAPS = 100;
+  private static final String DEFAULT_CSV_FILE = "perf-distributed-reloading.csv";
+  private static final String CSV_HEADER =
+      "tap,technology,round_trips,apdus,selection_us,reload_us,total_us";
+  private static final long CARD_POLLING_PERIOD_MILLIS = 10;
+  private static final int TERMINAL_CONNECTION_TIMEOUT_MILLIS = 30000;
+
+  private static final String CALYPSO = "CALYPSO";
+  private static final byte SFI_CONTRACTS = (byte) 0x09;
+  private static final byte SFI_COUNTERS = (byte) 0x19;
+  private static final int RELOAD_AMOUNT = 10;
+
+  // Steps
+  private static final String SELECTION = "selection";
+  private static final String RELOAD = "reload";
+  private static final String TOTAL = "total";
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int nbTaps = DEFAULT_NB_TAPS;
+    String csvFile = DEFAULT_CSV_FILE;
+    boolean isSimulated = false;
+    long apduLatencyMicros = 0;
+    long networkLatencyMicros = 0;
+    boolean isTerminal = false;
+    int port = 0;
+    for (String arg : args) {
+      if (arg.startsWith("--taps=")) {
+        nbTaps = Integer.parseInt(arg.substring("--taps=".length()));
+      } else if (arg.startsWith("--output=")) {
+        csvFile = arg.substring("--output=".length());
+      } else if (arg.equals("--simulated")) {
+        isSimulated = true;
+      } else if (arg.startsWith("--apdu-latency-us=")) {
+        apduLatencyMicros = Long.parseLong(arg.substring("--apdu-latency-us=".length()));
+      } else if (arg.startsWith("--network-latency-us=")) {
+        networkLatencyMicros = Long.parseLong(arg.substring("--network-latency-us=".length()));
+      } else if (arg.equals("--terminal")) {
+        isTerminal = true;
+      } else if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else {
+        throw new IllegalArgumentException("Unknown argument: " + arg);
+      }
+    }
+
+    if (isTerminal) {
+      runTerminal(port, isSimulated, apduLatencyMicros);
+    } else {
+      runServer(nbTaps, csvFile, isSimulated, apduLatencyMicros, networkLatencyMicros);
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Starts the terminal process, connects to its reader and measures the reload taps.
+   *
+   * @param nbTaps The number of taps to measure.
+   * @param csvFile The CSV file to write.
+   * @param isSimulated Whether the terminal uses the simulated reader.
+   * @param apduLatencyMicros The per-APDU latency of the simulated reader.
+   * @param networkLatencyMicros The emulated network round-trip time.
+   */
+  private static void runServer(
+      int nbTaps,
+      String csvFile,
+      boolean isSimulated,
+      long apduLatencyMicros,
+      long networkLatencyMicros)
+      throws IOException, InterruptedException {
+
+    logger.info("= UseCase Calypso #13: performance measurement - distributed reloading =");
+
+    RemoteReaderAdapter remoteReader = null;
+    Process terminal = null;
+    ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    try {
+      serverSocket.setSoTimeout(TERMINAL_CONNECTION_TIMEOUT_MILLIS);
+      terminal = startTerminal(serverSocket.getLocalPort(), isSimulated, apduLatencyMicros);
+      Socket socket = serverSocket.accept();
+      socket.setTcpNoDelay(true);
+      remoteReader =
+          new RemoteReaderAdapter(socket, TimeUnit.MICROSECONDS.toNanos(networkLatencyMicros));
+    } finally {
+      serverSocket.close();
+      if (remoteReader == null && terminal != null) {
+        // The terminal did not connect (timeout or I/O error): do not leave it running
+        terminal.destroy();
+      }
+    }
+    logger.info("Terminal connected, remote reader: {}", remoteReader.getName());
+
+    MultiTechTransaction transaction =
+        new MultiTechTransaction(new RemotePluginFactoryAdapter(remoteReader));
+    CardReader cardReader = transaction.getCardReader();
+
+    PerformanceReport report = new PerformanceReport();
+    Map<String, long[]> exchangesByTechnology = new LinkedHashMap<String, long[]>();
+    int nbFailures = 0;
+    PrintWriter writer =
+        new PrintWriter(
+            new OutputStreamWriter(new FileOutputStream(csvFile), Charset.forName("UTF-8")));
+    try {
+      writer.println(CSV_HEADER);
+      for (int i = 1; i <= nbTaps; i++) {
+        if (!isSimulated) {
+          logger.info("Present card #{}/{}", i, nbTaps);
+          waitForCard(cardReader, true);
+        }
+
+        try {
+          processTap(i, transaction, remoteReader, report, exchangesByTechnology, writer);
+        } catch (RuntimeException e) {
+          nbFailures++;
+          logger.error("Tap #{} failed: {}", i, e.getMessage());
+        }
+
+        if (!isSimulated) {
+          waitForCard(cardReader, false);
+        }
+      }
+    } finally {
+      writer.close();
+    }
+
+    logger.info("{} taps processed, {} failures", nbTaps, nbFailures);
+    for (Map.Entry<String, long[]> entry : exchangesByTechnology.entrySet()) {
+      long[] exchanges = entry.getValue();
+      logger.info(
+          "{}: {} round trips and {} APDUs per tap on average",
+          entry.getKey(),
+          String.format(Locale.ROOT, "%.1f", (double) exchanges[1] / exchanges[0]),
+          String.format(Locale.ROOT, "%.1f", (double) exchanges[2] / exchanges[0]));
+    }
+    report.log(logger);
+    logger.info("Report written to {}", csvFile);
+
+    // Unregistering the plugin disconnects the terminal
+    SmartCardServiceProvider.getService().unregisterPlugin(RemotePluginAdapter.PLUGIN_NAME);
+    terminal.waitFor();
+  }
+
+  /**
+   * Processes one reload tap, recording its durations and exchanges.
+   *
+   * @param tap The tap number.
+   * @param transaction The card processing.
+   * @param remoteReader The remote reader, providing the exchange counters.
+   * @param report The report where durations are recorded.
+   * @param exchangesByTechnology The cumulated number of taps, round trips and APDUs.
+   * @param writer The CSV writer.
+   */
+  private static void processTap(
+      int tap,
+      MultiTechTransaction transaction,
+      RemoteReaderAdapter remoteReader,
+      PerformanceReport report,
+      Map<String, long[]> exchangesByTechnology,
+      PrintWriter writer) {
+    long roundTripsStart = remoteReader.getRoundTripCount();
+    long apdusStart = remoteReader.getApduCount();
+    long start = System.nanoTime();
+    SmartCard smartCard =
+        transaction.processCardSelectionScenario(transaction.getCardSelectionManager());
+    long selectionEnd = System.nanoTime();
+
+    String technology;
+    if (smartCard instanceof CalypsoCard) {
+      technology = CALYPSO;
+      reloadCalypsoCard(transaction.getCardReader(), (CalypsoCard) smartCard);
+    } else {
+      StorageCard storageCard = (StorageCard) smartCard;
+      technology = storageCard.getProductType().name();
+      StorageCardTransactionManager cardTransaction =
+          transaction.createStorageCardTransaction(storageCard);
+      byte[] memoryImage = transaction.readStorageCard(cardTransaction, storageCard);
+      WritePlan writePlan =
+          transaction.writeStorageCard(cardTransaction, storageCard, memoryImage);
+      transaction.verifyStorageCard(cardTransaction, storageCard, writePlan);
+    }
+    long end = System.nanoTime();
+    long roundTrips = remoteReader.getRoundTripCount() - roundTripsStart;
+    long apdus = remoteReader.getApduCount() - apdusStart;
+
+    report.record(technology, SELECTION, selectionEnd - start);
+    report.record(technology, RELOAD, end - selectionEnd);
+    report.record(technology, TOTAL, end - start);
+    long[] exchanges = exchangesByTechnology.get(technology);
+    if (exchanges == null) {
+      exchanges = new long[3];
+      exchangesByTechnology.put(technology, exchanges);
+    }
+    exchanges[0]++;
+    exchanges[1] += roundTrips;
+    exchanges[2] += apdus;
+    writer.println(
+        String.format(
+            Locale.ROOT,
+            "%d,%s,%d,%d,%.1f,%.1f,%.1f",
+            tap,
+            technology,
+            roundTrips,
+            apdus,
+            (selectionEnd - start) / 1000.0,
+            (end - selectionEnd) / 1000.0,
+            (end - start) / 1000.0));
+  }
+
+  /**
+   * Reloads a Calypso card: reads the contract and the counter, then increases the counter.
+   *
+   * @param cardReader The reader.
+   * @param card The selected Calypso card.
+   */
+  private static void reloadCalypsoCard(CardReader cardReader, CalypsoCard card) {
+    FreeTransactionManager cardTransaction =
+        CalypsoExtensionService.getInstance()
+            .getCalypsoCardApiFactory()
+            .createFreeTransactionManager(cardReader, card);
+    cardTransaction
+        .prepareReadRecord(SFI_CONTRACTS, 1)
+        .prepareReadCounter(SFI_COUNTERS, 1)
+        .processCommands(ChannelCommand.KEEP_OPEN);
+    cardTransaction
+        .prepareIncreaseCounter(SFI_COUNTERS, 1, RELOAD_AMOUNT)
+        .processCommands(ChannelCommand.CLOSE_AFTER);
+  }
+
+  /**
+   * Starts the terminal process with the same JVM and class path.
+   *
+   * @param port The port of the server.
+   * @param isSimulated Whether the terminal uses the simulated reader.
+   * @param apduLatencyMicros The per-APDU latency of the simulated reader.
+   * @return The started process.
+   * @throws IOException If the process cannot be started.
+   */
+  private static Process startTerminal(int port, boolean isSimulated, long apduLatencyMicros)
+      throws IOException {
+    List<String> command = new ArrayList<String>();
+    command.add(
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(Main_PerformanceMeasurement_DistributedReloading_Pcsc.class.getName());
+    command.add("--terminal");
+    command.add("--port=" + port);
+    if (isSimulated) {
+      command.add("--simulated");
+      command.add("--apdu-latency-us=" + apduLatencyMicros);
+    }
+    return new ProcessBuilder(command).inheritIO().start();
+  }
+
+  /**
+   * Connects to the server and serves the requests on the local reader until the server
+   * disconnects.
+   *
+   * @param port The port of the server.
+   * @param isSimulated Whether the simulated reader is used instead of PC/SC.
+   * @param apduLatencyMicros The per-APDU latency of the simulated reader.
+   * @throws IOException If the connection failed.
+   */
+  private static void runTerminal(int port, boolean isSimulated, long apduLatencyMicros)
+      throws IOException {
+    KeyplePluginExtensionFactory pluginFactory =
+        isSimulated
+            ? SimulatedPluginFactoryBuilder.builder()
+                .withApduLatency(apduLatencyMicros, TimeUnit.MICROSECONDS)
+                .build()
+            : PcscPluginFactoryBuilder.builder().build();
+
+    // The terminal drives the reader directly through the plugin SPI, as a remote reader would
+    TerminalConfiguration configuration = TerminalConfiguration.loadDefault();
+    PluginSpi plugin = ((PluginFactorySpi) pluginFactory).getPlugin();
+    ConfigurableReaderSpi reader = null;
+    try {
+      for (ReaderSpi readerSpi : plugin.searchAvailableReaders()) {
+        if (configuration.getReaderPattern().matcher(readerSpi.getName()).matches()) {
+          reader = (ConfigurableReaderSpi) readerSpi;
+          break;
+        }
+      }
+    } catch (PluginIOException e) {
+      throw new IllegalStateException("Reader search failed: " + e.getMessage(), e);
+    }
+    if (reader == null) {
+      throw new IllegalStateException(
+          "No compatible reader found. Pattern: " + configuration.getReaderPattern());
+    }
+
+    Runnable channelClosedListener = null;
+    if (reader instanceof PcscReader) {
+      ((PcscReader) reader)
+          .setContactless(true)
+          .setIsoProtocol(PcscReader.IsoProtocol.T1)
+          .setSharingMode(PcscReader.SharingMode.SHARED);
+    } else if (reader instanceof SimulatedReader) {
+      channelClosedListener =
+          new SimulatedTapCycle((SimulatedReader) reader, configuration.getCalypsoAid());
+    }
+
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    try {
+      socket.setTcpNoDelay(true);
+      logger.info("Terminal connected, serving reader: {}", reader.getName());
+      new RemoteReaderTerminal(reader, channelClosedListener).serve(socket);
+    } finally {
+      socket.close();
+      reader.onUnregister();
+      plugin.onUnregister();
+    }
+  }
+
+  /**
+   * Polls the reader until the card presence matches the expected state.
+   *
+   * @param cardReader The reader.
+   * @param isPresent The expected card presence.
+   * @throws InterruptedException If the thread is interrupted.
+   */
+  private static void waitForCard(CardReader cardReader, boolean isPresent)
+      throws InterruptedException {
+    while (cardReader.isCardPresent() != isPresent) {
+      Thread.sleep(CARD_POLLING_PERIOD_MILLIS);
+    }
+  }
+
+  /**
+   * Presents the simulated cards in turn, the next one being inserted each time the channel is
+   * closed, i.e. at the end of each tap.
+   */
+  private static final class SimulatedTapCycle implements Runnable {
+
+    private final SimulatedReader reader;
+    private final SimulatedCard[] cards;
+    private int next;
+
+    private SimulatedTapCycle(SimulatedReader reader, String calypsoAid) {
+      this.reader = reader;
+      this.cards =
+          new SimulatedCard[] {
+            new SimulatedCalypsoCard(calypsoAid, "0000000011223344")
+                .withRecord(SFI_CONTRACTS, 1, "1122334455667788")
+                .withCounter(SFI_COUNTERS, 1, 100),
+            new SimulatedStorageCard(ProductType.MIFARE_ULTRALIGHT, "04A1B2C3D4E5F6"),
+            new SimulatedStorageCard(ProductType.ST25_SRT512, "D002330011223344")
+          };
+      run();
+    }
+
+    @Override
+    public void run() {
+      reader.insertCard(cards[next]);
+      next = (next + 1) % cards.length;
+    }
+  }
+}
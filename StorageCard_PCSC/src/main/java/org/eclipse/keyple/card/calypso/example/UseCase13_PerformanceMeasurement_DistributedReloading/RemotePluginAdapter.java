@@ -0,0 +1,55 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading;
+
+import java.util.Collections;
+import java.util.Set;
+import org.eclipse.keyple.core.common.KeyplePluginExtension;
+import org.eclipse.keyple.core.plugin.spi.PluginSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+
+/**
+ * Server side plugin exposing the single reader of the terminal.
+ *
+ * @since 2.0.0
+ */
+final class RemotePluginAdapter implements KeyplePluginExtension, PluginSpi {
+
+  /** Name of the plugin. */
+  static final String PLUGIN_NAME = "RemotePlugin";
+
+  private final RemoteReaderAdapter reader;
+
+  /**
+   * Constructor.
+   *
+   * @param reader The reader connected to the terminal.
+   */
+  RemotePluginAdapter(RemoteReaderAdapter reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public String getName() {
+    return PLUGIN_NAME;
+  }
+
+  @Override
+  public Set<ReaderSpi> searchAvailableReaders() {
+    return Collections.<ReaderSpi>singleton(reader);
+  }
+
+  @Override
+  public void onUnregister() {
+    // The reader releases the connection
+  }
+}
@@ -0,0 +1,57 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading;
+
+import org.eclipse.keyple.core.common.CommonApiProperties;
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
+import org.eclipse.keyple.core.plugin.PluginApiProperties;
+import org.eclipse.keyple.core.plugin.spi.PluginFactorySpi;
+import org.eclipse.keyple.core.plugin.spi.PluginSpi;
+
+/**
+ * Factory of the server side plugin.
+ *
+ * @since 2.0.0
+ */
+final class RemotePluginFactoryAdapter implements KeyplePluginExtensionFactory, PluginFactorySpi {
+
+  private final RemoteReaderAdapter reader;
+
+  /**
+   * Constructor.
+   *
+   * @param reader The reader connected to the terminal.
+   */
+  RemotePluginFactoryAdapter(RemoteReaderAdapter reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public String getPluginApiVersion() {
+    return PluginApiProperties.VERSION;
+  }
+
+  @Override
+  public String getCommonApiVersion() {
+    return CommonApiProperties.VERSION;
+  }
+
+  @Override
+  public String getPluginName() {
+    return RemotePluginAdapter.PLUGIN_NAME;
+  }
+
+  @Override
+  public PluginSpi getPlugin() {
+    return new RemotePluginAdapter(reader);
+  }
+}
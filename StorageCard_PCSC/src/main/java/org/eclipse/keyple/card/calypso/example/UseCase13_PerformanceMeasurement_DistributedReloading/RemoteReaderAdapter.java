@@ -0,0 +1,273 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading;
+
+import static org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading.RemoteReaderProtocol.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ConfigurableReaderSpi;
+
+/**
+ * Server side reader forwarding each reader SPI call to the terminal owning the physical reader.
+ *
+ * <p>It counts the round trips and APDUs exchanged with the terminal, and can add an emulated
+ * network round-trip time to each exchange to reproduce the topology of a remote reload kiosk on a
+ * local socket.
+ *
+ * @since 2.0.0
+ */
+final class RemoteReaderAdapter implements KeypleReaderExtension, ConfigurableReaderSpi {
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+  private final long roundTripLatencyNanos;
+  private final String name;
+  private final boolean isContactless;
+
+  private long roundTripCount;
+  private long apduCount;
+
+  /**
+   * Connects the reader to the terminal and retrieves the reader information.
+   *
+   * @param socket The socket connected to the terminal.
+   * @param roundTripLatencyNanos The emulated network round-trip time added to each exchange.
+   * @throws IOException If the terminal cannot be reached.
+   */
+  RemoteReaderAdapter(Socket socket, long roundTripLatencyNanos) throws IOException {
+    this.socket = socket;
+    this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    this.roundTripLatencyNanos = roundTripLatencyNanos;
+    try {
+      DataInputStream response = sendRequest(OP_GET_READER_INFO, null, null);
+      this.name = response.readUTF();
+      this.isContactless = response.readBoolean();
+    } catch (ReaderIOException e) {
+      throw new IOException("Terminal reader unavailable", e);
+    } catch (CardIOException e) {
+      throw new IOException("Terminal reader unavailable", e);
+    }
+  }
+
+  /**
+   * Returns the number of round trips made with the terminal since the creation of the reader.
+   *
+   * @return A positive number.
+   */
+  synchronized long getRoundTripCount() {
+    return roundTripCount;
+  }
+
+  /**
+   * Returns the number of APDUs transmitted since the creation of the reader.
+   *
+   * @return A positive number.
+   */
+  synchronized long getApduCount() {
+    return apduCount;
+  }
+
+  /** Asks the terminal to release its reader and closes the connection. */
+  synchronized void disconnect() {
+    try {
+      out.writeByte(OP_DISCONNECT);
+      out.flush();
+      in.readByte();
+    } catch (IOException e) {
+      // The terminal is already gone
+    } finally {
+      closeSilently();
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean isProtocolSupported(String readerProtocol) {
+    try {
+      return sendRequest(OP_IS_PROTOCOL_SUPPORTED, readerProtocol, null).readBoolean();
+    } catch (Exception e) {
+      throw new IllegalStateException("Remote call failed: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void activateProtocol(String readerProtocol) {
+    try {
+      sendRequest(OP_ACTIVATE_PROTOCOL, readerProtocol, null);
+    } catch (Exception e) {
+      throw new IllegalStateException("Remote call failed: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void deactivateProtocol(String readerProtocol) {
+    try {
+      sendRequest(OP_DEACTIVATE_PROTOCOL, readerProtocol, null);
+    } catch (Exception e) {
+      throw new IllegalStateException("Remote call failed: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public boolean isCurrentProtocol(String readerProtocol) {
+    try {
+      return sendRequest(OP_IS_CURRENT_PROTOCOL, readerProtocol, null).readBoolean();
+    } catch (Exception e) {
+      throw new IllegalStateException("Remote call failed: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void openPhysicalChannel() throws ReaderIOException, CardIOException {
+    try {
+      sendRequest(OP_OPEN_PHYSICAL_CHANNEL, null, null);
+    } catch (IOException e) {
+      throw new ReaderIOException("Terminal connection lost", e);
+    }
+  }
+
+  @Override
+  public void closePhysicalChannel() throws ReaderIOException {
+    try {
+      sendRequest(OP_CLOSE_PHYSICAL_CHANNEL, null, null);
+    } catch (IOException e) {
+      throw new ReaderIOException("Terminal connection lost", e);
+    } catch (CardIOException e) {
+      throw new ReaderIOException(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public boolean isPhysicalChannelOpen() {
+    try {
+      return sendRequest(OP_IS_PHYSICAL_CHANNEL_OPEN, null, null).readBoolean();
+    } catch (Exception e) {
+      throw new IllegalStateException("Remote call failed: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public boolean checkCardPresence() throws ReaderIOException {
+    try {
+      return sendRequest(OP_CHECK_CARD_PRESENCE, null, null).readBoolean();
+    } catch (IOException e) {
+      throw new ReaderIOException("Terminal connection lost", e);
+    } catch (CardIOException e) {
+      throw new ReaderIOException(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String getPowerOnData() {
+    try {
+      return sendRequest(OP_GET_POWER_ON_DATA, null, null).readUTF();
+    } catch (Exception e) {
+      throw new IllegalStateException("Remote call failed: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public byte[] transmitApdu(byte[] apdu) throws ReaderIOException, CardIOException {
+    try {
+      DataInputStream response = sendRequest(OP_TRANSMIT_APDU, null, apdu);
+      byte[] apduResponse = new byte[response.readUnsignedShort()];
+      response.readFully(apduResponse);
+      synchronized (this) {
+        apduCount++;
+      }
+      return apduResponse;
+    } catch (IOException e) {
+      throw new ReaderIOException("Terminal connection lost", e);
+    }
+  }
+
+  @Override
+  public boolean isContactless() {
+    return isContactless;
+  }
+
+  @Override
+  public void onUnregister() {
+    disconnect();
+  }
+
+  /**
+   * Sends a request to the terminal and waits for its response.
+   *
+   * @param op The operation code.
+   * @param stringArgument The string argument (may be null).
+   * @param bytesArgument The bytes argument (may be null).
+   * @return The stream positioned on the result of the operation.
+   * @throws IOException If the connection failed.
+   * @throws ReaderIOException If the terminal reported a reader error.
+   * @throws CardIOException If the terminal reported a card error.
+   */
+  private synchronized DataInputStream sendRequest(
+      byte op, String stringArgument, byte[] bytesArgument)
+      throws IOException, ReaderIOException, CardIOException {
+    awaitRoundTripLatency();
+    out.writeByte(op);
+    if (stringArgument != null) {
+      out.writeUTF(stringArgument);
+    }
+    if (bytesArgument != null) {
+      out.writeShort(bytesArgument.length);
+      out.write(bytesArgument);
+    }
+    out.flush();
+    byte status = in.readByte();
+    roundTripCount++;
+    switch (status) {
+      case STATUS_OK:
+        return in;
+      case STATUS_READER_IO_ERROR:
+        throw new ReaderIOException(in.readUTF());
+      case STATUS_CARD_IO_ERROR:
+        throw new CardIOException(in.readUTF());
+      default:
+        throw new IllegalStateException("Terminal error: " + in.readUTF());
+    }
+  }
+
+  /** Parks the current thread for the emulated network round-trip time. */
+  private void awaitRoundTripLatency() {
+    long remaining = roundTripLatencyNanos;
+    long deadline = System.nanoTime() + remaining;
+    while (remaining > 0) {
+      LockSupport.parkNanos(remaining);
+      remaining = deadline - System.nanoTime();
+    }
+  }
+
+  private void closeSilently() {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // Nothing to do
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading;
+
+/**
+ * Messages exchanged between the server and the terminal over the local socket.
+ *
+ * <p>Each reader SPI call made by Keyple on the server is one round trip: the server sends the
+ * operation code followed by its argument, the terminal answers with a status code followed by the
+ * result.
+ *
+ * <pre>
+ * request:  [op (1 byte)] [argument: UTF string | length (2 bytes) + bytes | none]
+ * response: [status (1 byte)] [result: boolean | UTF string | length (2 bytes) + bytes | none]
+ *           or, if status is not OK, [error message (UTF string)]
+ * </pre>
+ *
+ * @since 2.0.0
+ */
+final class RemoteReaderProtocol {
+
+  // Operations (server -> terminal)
+  static final byte OP_GET_READER_INFO = 1; // -> reader name (UTF), is contactless (boolean)
+  static final byte OP_IS_PROTOCOL_SUPPORTED = 2; // protocol (UTF) -> boolean
+  static final byte OP_ACTIVATE_PROTOCOL = 3; // protocol (UTF) -> none
+  static final byte OP_DEACTIVATE_PROTOCOL = 4; // protocol (UTF) -> none
+  static final byte OP_IS_CURRENT_PROTOCOL = 5; // protocol (UTF) -> boolean
+  static final byte OP_OPEN_PHYSICAL_CHANNEL = 6; // -> none
+  static final byte OP_CLOSE_PHYSICAL_CHANNEL = 7; // -> none
+  static final byte OP_IS_PHYSICAL_CHANNEL_OPEN = 8; // -> boolean
+  static final byte OP_CHECK_CARD_PRESENCE = 9; // -> boolean
+  static final byte OP_GET_POWER_ON_DATA = 10; // -> power-on data (UTF)
+  static final byte OP_TRANSMIT_APDU = 11; // APDU (bytes) -> response APDU (bytes)
+  static final byte OP_DISCONNECT = 12; // -> none, then the connection is closed
+
+  // Response status (terminal -> server)
+  static final byte STATUS_OK = 0;
+  static final byte STATUS_READER_IO_ERROR = 1;
+  static final byte STATUS_CARD_IO_ERROR = 2;
+  static final byte STATUS_ERROR = 3;
+
+  /** Constructor */
+  private RemoteReaderProtocol() {}
+}
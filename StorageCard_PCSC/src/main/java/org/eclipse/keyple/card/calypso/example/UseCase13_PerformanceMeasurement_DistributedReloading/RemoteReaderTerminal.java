@@ -0,0 +1,169 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading;
+
+import static org.eclipse.keyple.card.calypso.example.UseCase13_PerformanceMeasurement_DistributedReloading.RemoteReaderProtocol.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ConfigurableReaderSpi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Terminal side of the remote reader: executes the reader SPI calls received from the server on
+ * the local reader and returns their results.
+ *
+ * @since 2.0.0
+ */
+final class RemoteReaderTerminal {
+  private static final Logger logger = LoggerFactory.getLogger(RemoteReaderTerminal.class);
+
+  private final ConfigurableReaderSpi reader;
+  private final Runnable channelClosedListener;
+
+  /**
+   * Constructor.
+   *
+   * @param reader The local reader.
+   * @param channelClosedListener Called each time the server closes the physical channel (may be
+   *     null).
+   */
+  RemoteReaderTerminal(ConfigurableReaderSpi reader, Runnable channelClosedListener) {
+    this.reader = reader;
+    this.channelClosedListener = channelClosedListener;
+  }
+
+  /**
+   * Serves the requests of the server until it disconnects.
+   *
+   * @param socket The socket connected to the server.
+   * @throws IOException If the connection failed.
+   */
+  void serve(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    ByteArrayOutputStream resultBuffer = new ByteArrayOutputStream();
+    DataOutputStream result = new DataOutputStream(resultBuffer);
+    int op;
+    while ((op = in.read()) >= 0) {
+      if (op < OP_GET_READER_INFO || op > OP_DISCONNECT) {
+        // The arguments of an unknown operation cannot be skipped, the requests that follow could
+        // not be read
+        logger.error("Unknown operation {}, closing the connection", op);
+        writeError(out, STATUS_ERROR, "Unknown operation: " + op);
+        out.flush();
+        return;
+      }
+      resultBuffer.reset();
+      try {
+        execute((byte) op, in, result);
+        out.writeByte(STATUS_OK);
+        resultBuffer.writeTo(out);
+      } catch (ReaderIOException e) {
+        writeError(out, STATUS_READER_IO_ERROR, e.getMessage());
+      } catch (CardIOException e) {
+        writeError(out, STATUS_CARD_IO_ERROR, e.getMessage());
+      } catch (RuntimeException e) {
+        logger.error("Request {} failed", op, e);
+        writeError(out, STATUS_ERROR, e.getMessage());
+      }
+      out.flush();
+      if (op == OP_DISCONNECT) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Executes a request and serializes its result, without the status.
+   *
+   * <p>The result is written to a buffer, copied to the connection after the OK status once
+   * complete, so that an exception (including a result that cannot be serialized) leaves the
+   * connection untouched.
+   */
+  private void execute(byte op, DataInputStream in, DataOutputStream result)
+      throws IOException, ReaderIOException, CardIOException {
+    switch (op) {
+      case OP_GET_READER_INFO:
+        result.writeUTF(reader.getName());
+        result.writeBoolean(reader.isContactless());
+        break;
+      case OP_IS_PROTOCOL_SUPPORTED:
+        result.writeBoolean(reader.isProtocolSupported(in.readUTF()));
+        break;
+      case OP_ACTIVATE_PROTOCOL:
+        reader.activateProtocol(in.readUTF());
+        break;
+      case OP_DEACTIVATE_PROTOCOL:
+        reader.deactivateProtocol(in.readUTF());
+        break;
+      case OP_IS_CURRENT_PROTOCOL:
+        result.writeBoolean(reader.isCurrentProtocol(in.readUTF()));
+        break;
+      case OP_OPEN_PHYSICAL_CHANNEL:
+        reader.openPhysicalChannel();
+        break;
+      case OP_CLOSE_PHYSICAL_CHANNEL:
+        reader.closePhysicalChannel();
+        if (channelClosedListener != null) {
+          channelClosedListener.run();
+        }
+        break;
+      case OP_IS_PHYSICAL_CHANNEL_OPEN:
+        result.writeBoolean(reader.isPhysicalChannelOpen());
+        break;
+      case OP_CHECK_CARD_PRESENCE:
+        result.writeBoolean(reader.checkCardPresence());
+        break;
+      case OP_GET_POWER_ON_DATA:
+        {
+          String powerOnData = reader.getPowerOnData();
+          if (powerOnData == null) {
+            throw new IllegalStateException("No power-on data");
+          }
+          result.writeUTF(powerOnData);
+          break;
+        }
+      case OP_TRANSMIT_APDU:
+        {
+          byte[] apdu = new byte[in.readUnsignedShort()];
+          in.readFully(apdu);
+          byte[] apduResponse = reader.transmitApdu(apdu);
+          if (apduResponse.length > 0xFFFF) {
+            throw new IllegalStateException("Response APDU too long: " + apduResponse.length);
+          }
+          result.writeShort(apduResponse.length);
+          result.write(apduResponse);
+          break;
+        }
+      case OP_DISCONNECT:
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown operation: " + op);
+    }
+  }
+
+  private static void writeError(DataOutputStream out, byte status, String message)
+      throws IOException {
+    out.writeByte(status);
+    out.writeUTF(String.valueOf(message));
+  }
+}
@@ -0,0 +1,69 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import java.util.List;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.calypsonet.keyple.example.storagecard.memory.BlockRange;
+
+/**
+ * Fields and behavior shared by the card events.
+ *
+ * @since 2.0.0
+ */
+@Category({"Keyple", "Card Processing"})
+@StackTrace(false)
+abstract class AbstractCardEvent extends Event implements CardEvent {
+
+  @Label("Reader")
+  String readerName;
+
+  @Label("Product Type")
+  String productType;
+
+  @Override
+  public CardEvent setProductType(String productType) {
+    this.productType = productType;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Ignored by the events not bound to storage card blocks.
+   */
+  @Override
+  public CardEvent setBlocks(int fromBlock, int toBlock, int blockSize) {
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Ignored by the events not bound to storage card blocks.
+   */
+  @Override
+  public CardEvent setBlocks(List<BlockRange> ranges, int blockSize) {
+    return this;
+  }
+
+  @Override
+  public void finish() {
+    end();
+    if (shouldCommit()) {
+      commit();
+    }
+  }
+}
@@ -0,0 +1,26 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Processing of a selected Calypso card.
+ *
+ * @since 2.0.0
+ */
+@Name("org.calypsonet.keyple.CalypsoCardProcessing")
+@Label("Calypso Card Processing")
+@Description("Processing of a selected Calypso card")
+final class CalypsoCardProcessingEvent extends AbstractCardEvent {}
@@ -0,0 +1,102 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import org.calypsonet.keyple.example.storagecard.perf.TapPhase;
+import org.eclipse.keypop.storagecard.transaction.ChannelControl;
+
+/**
+ * Factory of the Java Flight Recorder events of the card processing.
+ *
+ * <p>This is the Java 11 version of the class, packaged in {@code META-INF/versions/11} of the
+ * multi-release jar. An event is only created when its type is enabled in a recording in
+ * progress, the shared no-op event being returned otherwise.
+ *
+ * @author Calypso Networks Association
+ * @since 2.0.0
+ */
+public final class CardEvents {
+
+  // Instances never committed, only used to check whether their type is enabled
+  private static final CardSelectionEvent CARD_SELECTION_PROBE = new CardSelectionEvent();
+  private static final StorageCardCommandsEvent STORAGE_CARD_COMMANDS_PROBE =
+      new StorageCardCommandsEvent();
+  private static final CalypsoCardProcessingEvent CALYPSO_CARD_PROCESSING_PROBE =
+      new CalypsoCardProcessingEvent();
+
+  private CardEvents() {}
+
+  /**
+   * Returns whether the events can be emitted by the running JVM.
+   *
+   * @return true with this version of the class.
+   */
+  public static boolean isSupported() {
+    return true;
+  }
+
+  /**
+   * Starts the event of the processing of a selection scenario.
+   *
+   * @param readerName The name of the reader.
+   * @return A not null event.
+   */
+  public static CardEvent beginCardSelection(String readerName) {
+    if (!CARD_SELECTION_PROBE.isEnabled()) {
+      return NoOpCardEvent.INSTANCE;
+    }
+    CardSelectionEvent event = new CardSelectionEvent();
+    event.readerName = readerName;
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Starts the event of a {@code processCommands} call on a storage card.
+   *
+   * @param readerName The name of the reader.
+   * @param productType The name of the product type.
+   * @param phase The phase of the tap the commands belong to.
+   * @param channelControl The channel control of the call.
+   * @return A not null event.
+   */
+  public static CardEvent beginStorageCardCommands(
+      String readerName, String productType, TapPhase phase, ChannelControl channelControl) {
+    if (!STORAGE_CARD_COMMANDS_PROBE.isEnabled()) {
+      return NoOpCardEvent.INSTANCE;
+    }
+    StorageCardCommandsEvent event = new StorageCardCommandsEvent();
+    event.readerName = readerName;
+    event.productType = productType;
+    event.phase = phase.name();
+    event.channelControl = channelControl.name();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Starts the event of the processing of a Calypso card.
+   *
+   * @param readerName The name of the reader.
+   * @return A not null event.
+   */
+  public static CardEvent beginCalypsoCardProcessing(String readerName) {
+    if (!CALYPSO_CARD_PROCESSING_PROBE.isEnabled()) {
+      return NoOpCardEvent.INSTANCE;
+    }
+    CalypsoCardProcessingEvent event = new CalypsoCardProcessingEvent();
+    event.readerName = readerName;
+    event.productType = "CALYPSO";
+    event.begin();
+    return event;
+  }
+}
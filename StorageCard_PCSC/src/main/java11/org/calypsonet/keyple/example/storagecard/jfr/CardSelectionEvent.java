@@ -0,0 +1,26 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Processing of the selection scenario, the product type being the one of the selected card.
+ *
+ * @since 2.0.0
+ */
+@Name("org.calypsonet.keyple.CardSelection")
+@Label("Card Selection")
+@Description("Processing of the multi-technology selection scenario on a reader")
+final class CardSelectionEvent extends AbstractCardEvent {}
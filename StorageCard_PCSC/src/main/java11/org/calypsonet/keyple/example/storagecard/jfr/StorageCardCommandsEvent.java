@@ -0,0 +1,67 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.jfr;
+
+import java.util.List;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.calypsonet.keyple.example.storagecard.memory.BlockRange;
+
+/**
+ * A {@code processCommands} call on a storage card.
+ *
+ * @since 2.0.0
+ */
+@Name("org.calypsonet.keyple.StorageCardCommands")
+@Label("Storage Card Commands")
+@Description("Exchange of the prepared commands with a storage card")
+final class StorageCardCommandsEvent extends AbstractCardEvent {
+
+  @Label("Phase")
+  @Description("Phase of the tap: READ, WRITE, VERIFY or CHANNEL_CLOSE")
+  String phase;
+
+  @Label("Channel Control")
+  String channelControl;
+
+  @Label("Block Ranges")
+  String blockRanges;
+
+  @Label("Block Count")
+  int blockCount;
+
+  @Label("Byte Count")
+  @Description("Number of bytes read or written, depending on the phase")
+  @DataAmount
+  int byteCount;
+
+  @Override
+  public CardEvent setBlocks(int fromBlock, int toBlock, int blockSize) {
+    blockRanges = fromBlock == toBlock ? String.valueOf(fromBlock) : fromBlock + ".." + toBlock;
+    blockCount = toBlock - fromBlock + 1;
+    byteCount = blockCount * blockSize;
+    return this;
+  }
+
+  @Override
+  public CardEvent setBlocks(List<BlockRange> ranges, int blockSize) {
+    blockRanges = ranges.toString();
+    blockCount = 0;
+    for (BlockRange range : ranges) {
+      blockCount += range.getBlockCount();
+    }
+    byteCount = blockCount * blockSize;
+    return this;
+  }
+}
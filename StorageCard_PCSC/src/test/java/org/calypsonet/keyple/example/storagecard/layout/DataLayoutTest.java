@@ -0,0 +1,195 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.layout;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.calypsonet.keyple.example.storagecard.memory.BlockFetcher;
+import org.calypsonet.keyple.example.storagecard.memory.BlockRange;
+import org.calypsonet.keyple.example.storagecard.memory.LazyCardMemory;
+import org.calypsonet.keyple.example.storagecard.memory.ReadPlan;
+import org.eclipse.keypop.storagecard.card.ProductType;
+import org.eclipse.keypop.storagecard.card.StorageCard;
+import org.junit.Test;
+
+public class DataLayoutTest {
+
+  private static final ProductType PRODUCT_TYPE = ProductType.ST25_SRT512;
+  private static final int BLOCK_SIZE = PRODUCT_TYPE.getBlockSize();
+
+  private static DataLayout compile(String fields) {
+    return LayoutSchema.parse(
+            "{ \"layouts\": [ { \"productType\": \""
+                + PRODUCT_TYPE
+                + "\", \"fields\": ["
+                + fields
+                + "] } ] }",
+            "test")
+        .getLayout(PRODUCT_TYPE);
+  }
+
+  private static byte[] newImage(int fill) {
+    byte[] image = new byte[BLOCK_SIZE * PRODUCT_TYPE.getBlockCount()];
+    Arrays.fill(image, (byte) fill);
+    return image;
+  }
+
+  @Test
+  public void get_whenSigned_shouldExtendTheSign() {
+    DataLayout layout =
+        compile(
+            "{ \"name\": \"balance\", \"block\": 4, \"bitOffset\": 13, \"bitLength\": 20,"
+                + " \"encoding\": \"SIGNED\" }");
+    byte[] image = newImage(0);
+
+    layout.set(image, 0, -5);
+    assertEquals(-5, layout.get(image, 0));
+    layout.set(image, 0, -(1 << 19));
+    assertEquals(-(1 << 19), layout.get(image, 0));
+    layout.set(image, 0, (1 << 19) - 1);
+    assertEquals((1 << 19) - 1, layout.get(image, 0));
+    assertEquals(-1, layout.get(newImage(0xFF), 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void set_whenSignedOutOfRange_shouldThrowIAE() {
+    DataLayout layout =
+        compile(
+            "{ \"name\": \"balance\", \"block\": 4, \"bitLength\": 20, \"encoding\": \"SIGNED\" }");
+    layout.set(newImage(0), 0, 1 << 19);
+  }
+
+  @Test
+  public void get_whenBcdNibbleIsNotADigit_shouldReturnInvalidBcd() {
+    DataLayout layout =
+        compile(
+            "{ \"name\": \"networkId\", \"block\": 4, \"bitLength\": 24, \"encoding\": \"BCD\" }");
+    byte[] image = newImage(0);
+    int offset = 4 * BLOCK_SIZE;
+
+    image[offset] = 0x12;
+    image[offset + 1] = 0x34;
+    image[offset + 2] = 0x56;
+    assertEquals(123456, layout.get(image, 0));
+    image[offset + 1] = 0x3A;
+    assertEquals(DataLayout.INVALID_BCD, layout.get(image, 0));
+    image[offset + 1] = (byte) 0xF4;
+    assertEquals(DataLayout.INVALID_BCD, layout.get(image, 0));
+  }
+
+  @Test
+  public void set_whenUnaligned60BitField_shouldOnlyChangeItsBits() {
+    DataLayout layout =
+        compile("{ \"name\": \"serial\", \"block\": 4, \"bitOffset\": 3, \"bitLength\": 60 }");
+    byte[] image = newImage(0xFF);
+    int offset = 4 * BLOCK_SIZE;
+
+    assertTrue(layout.set(image, 0, 0x0123456789ABCDEFL));
+    assertEquals(0x0123456789ABCDEFL, layout.get(image, 0));
+    // Bits 0-2 of the first byte and bit 63 of the last one are outside the field
+    assertEquals((byte) 0xE0, (byte) (image[offset] & 0xE0));
+    assertEquals(1, image[offset + 7] & 0x01);
+    assertEquals((byte) 0xFF, image[offset - 1]);
+    assertEquals((byte) 0xFF, image[offset + 8]);
+    assertFalse(layout.set(image, 0, 0x0123456789ABCDEFL));
+  }
+
+  @Test
+  public void set_thenGet_shouldReturnTheValueOfEachField() {
+    DataLayout layout =
+        compile(
+            "{ \"name\": \"version\", \"block\": 4, \"bitLength\": 4 },"
+                + "{ \"name\": \"networkId\", \"block\": 4, \"bitOffset\": 4, \"bitLength\": 24,"
+                + " \"encoding\": \"BCD\" },"
+                + "{ \"name\": \"tariff\", \"block\": 4, \"bitOffset\": 28, \"bitLength\": 16 },"
+                + "{ \"name\": \"balance\", \"block\": 5, \"bitOffset\": 12, \"bitLength\": 20,"
+                + " \"encoding\": \"SIGNED\" },"
+                + "{ \"name\": \"date\", \"block\": 6, \"bitOffset\": 1, \"bitLength\": 14 }");
+    Random random = new Random(42);
+    byte[] image = newImage(0);
+    long[] values = new long[layout.getFieldCount()];
+    for (int i = 0; i < 1000; i++) {
+      long[] expected = {
+        random.nextInt(1 << 4),
+        random.nextInt(1000000),
+        random.nextInt(1 << 16),
+        random.nextInt(1 << 20) - (1 << 19),
+        random.nextInt(1 << 14)
+      };
+      for (int field = 0; field < expected.length; field++) {
+        layout.set(image, field, expected[field]);
+      }
+      layout.decode(image, values);
+      for (int field = 0; field < expected.length; field++) {
+        assertEquals(layout.getFieldName(field), expected[field], values[field]);
+      }
+    }
+  }
+
+  @Test
+  public void get_whenLazyMemory_shouldReadOnlyTheBlocksOfTheField() {
+    DataLayout layout =
+        compile(
+            "{ \"name\": \"header\", \"block\": 1, \"bitLength\": 8 },"
+                + "{ \"name\": \"trips\", \"block\": 6, \"bitOffset\": 26, \"bitLength\": 10 }");
+    byte[] image = newImage(0);
+    new Random(42).nextBytes(image);
+    final List<BlockRange> fetchedRanges = new ArrayList<BlockRange>();
+    LazyCardMemory memory =
+        new LazyCardMemory(
+            newStorageCard(image),
+            ReadPlan.of(Collections.singletonList(new BlockRange(0, 3))),
+            1,
+            new BlockFetcher() {
+              @Override
+              public void fetch(List<BlockRange> ranges) {
+                fetchedRanges.addAll(ranges);
+              }
+            });
+
+    assertEquals(layout.get(image, 0), layout.get(memory, 0));
+    assertTrue(fetchedRanges.isEmpty());
+    assertEquals(layout.get(image, 1), layout.get(memory, 1));
+    assertEquals(1, fetchedRanges.size());
+    assertEquals(6, fetchedRanges.get(0).getFromBlock());
+    assertEquals(7, fetchedRanges.get(0).getToBlock());
+  }
+
+  /** Returns a card whose blocks are those of the image, read or not. */
+  private static StorageCard newStorageCard(final byte[] image) {
+    return (StorageCard)
+        Proxy.newProxyInstance(
+            StorageCard.class.getClassLoader(),
+            new Class<?>[] {StorageCard.class},
+            new InvocationHandler() {
+              @Override
+              public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("getProductType")) {
+                  return PRODUCT_TYPE;
+                }
+                if (method.getName().equals("getBlocks")) {
+                  return Arrays.copyOfRange(
+                      image, (Integer) args[0] * BLOCK_SIZE, ((Integer) args[1] + 1) * BLOCK_SIZE);
+                }
+                throw new UnsupportedOperationException(method.getName());
+              }
+            });
+  }
+}
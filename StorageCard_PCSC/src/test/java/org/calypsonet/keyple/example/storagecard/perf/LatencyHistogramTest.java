@@ -0,0 +1,111 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.perf;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  private static final double[] PERCENTILES = {0.1, 1, 25, 50, 75, 90, 99, 99.9, 100};
+
+  @Test
+  public void indexOf_whenBelow64_shouldCountEachValueExactly() {
+    assertEquals(0, LatencyHistogram.indexOf(0));
+    assertEquals(63, LatencyHistogram.indexOf(63));
+    assertEquals(63, LatencyHistogram.highestValueOf(63));
+  }
+
+  @Test
+  public void indexOf_whenFirstPowerOfTwo_shouldUseBucketsOfTwoValues() {
+    assertEquals(64, LatencyHistogram.indexOf(64));
+    assertEquals(64, LatencyHistogram.indexOf(65));
+    assertEquals(65, LatencyHistogram.highestValueOf(64));
+    assertEquals(95, LatencyHistogram.indexOf(127));
+    assertEquals(127, LatencyHistogram.highestValueOf(95));
+  }
+
+  @Test
+  public void indexOf_whenNextPowerOfTwo_shouldStartANewBucket() {
+    assertEquals(96, LatencyHistogram.indexOf(128));
+    assertEquals(96, LatencyHistogram.indexOf(131));
+    assertEquals(97, LatencyHistogram.indexOf(132));
+    assertEquals(131, LatencyHistogram.highestValueOf(96));
+  }
+
+  @Test
+  public void indexOf_whenMaxTrackable_shouldBeTheLastBucket() {
+    int lastIndex = LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_NANOS);
+    assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, LatencyHistogram.highestValueOf(lastIndex));
+    long lastPowerOfTwo = (LatencyHistogram.MAX_TRACKABLE_NANOS + 1) / 2;
+    assertEquals(lastIndex - 31, LatencyHistogram.indexOf(lastPowerOfTwo));
+    assertEquals(lastIndex - 32, LatencyHistogram.indexOf(lastPowerOfTwo - 1));
+  }
+
+  @Test
+  public void highestValueOf_shouldBeTheLastValueOfEachBucket() {
+    int lastIndex = LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_NANOS);
+    for (int i = 0; i < lastIndex; i++) {
+      long highestValue = LatencyHistogram.highestValueOf(i);
+      assertEquals("bucket " + i, i, LatencyHistogram.indexOf(highestValue));
+      assertEquals("bucket " + i, i + 1, LatencyHistogram.indexOf(highestValue + 1));
+    }
+  }
+
+  @Test
+  public void record_whenAboveMaxTrackable_shouldCountInTheLastBucket() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(LatencyHistogram.MAX_TRACKABLE_NANOS * 4);
+    histogram.record(-1);
+
+    assertEquals(2, histogram.getCount());
+    assertEquals(0, histogram.getMin());
+    assertEquals(0, histogram.getPercentile(50));
+    assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void getPercentile_whenEmpty_shouldReturn0() {
+    assertEquals(0, new LatencyHistogram().getPercentile(99));
+  }
+
+  @Test
+  public void getPercentile_shouldMatchTheBucketOfTheExactPercentile() {
+    Random random = new Random(42);
+    long[] durations = new long[10001];
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < durations.length; i++) {
+      // Log-uniform from 1 ns to about 1 s, so that every magnitude is covered
+      durations[i] = (long) Math.exp(random.nextDouble() * Math.log(1e9));
+      histogram.record(durations[i]);
+    }
+    Arrays.sort(durations);
+    long max = durations[durations.length - 1];
+    assertEquals(max, histogram.getMax());
+
+    for (double percentile : PERCENTILES) {
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * durations.length));
+      long exact = durations[(int) rank - 1];
+      long reported = histogram.getPercentile(percentile);
+      String message = "p" + percentile + " exact " + exact;
+      assertEquals(
+          message,
+          Math.min(LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(exact)), max),
+          reported);
+      assertTrue(message, reported >= exact);
+      assertTrue(message, reported - exact <= exact / 16);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * BSD 3-Clause License which is available at https://opensource.org/license/bsd-3-clause
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ ************************************************************************************** */
+package org.calypsonet.keyple.example.storagecard.perf;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class StepStatisticsTest {
+
+  @Test
+  public void getPercentile_whenEmpty_shouldReturn0() {
+    StepStatistics statistics = new StepStatistics("CALYPSO", "select");
+
+    assertEquals(0, statistics.getPercentile(50));
+    assertEquals(0, statistics.getMin());
+    assertEquals(0, statistics.getMax());
+    assertEquals(0, statistics.getAverage());
+  }
+
+  @Test
+  public void getPercentile_whenSingleSample_shouldReturnIt() {
+    StepStatistics statistics = new StepStatistics("CALYPSO", "select");
+    statistics.record(1234);
+
+    assertEquals(1234, statistics.getPercentile(0.1));
+    assertEquals(1234, statistics.getPercentile(100));
+  }
+
+  @Test
+  public void getPercentile_whenOneToHundred_shouldUseTheNearestRank() {
+    StepStatistics statistics = new StepStatistics("CALYPSO", "select");
+    for (int i = 100; i >= 1; i--) {
+      statistics.record(i);
+    }
+
+    assertEquals(1, statistics.getPercentile(0.1));
+    assertEquals(1, statistics.getPercentile(1));
+    assertEquals(2, statistics.getPercentile(1.5));
+    assertEquals(50, statistics.getPercentile(50));
+    assertEquals(99, statistics.getPercentile(99));
+    assertEquals(100, statistics.getPercentile(99.5));
+    assertEquals(100, statistics.getPercentile(100));
+    assertEquals(1, statistics.getMin());
+    assertEquals(100, statistics.getMax());
+    assertEquals(50, statistics.getAverage());
+  }
+
+  @Test
+  public void getPercentile_shouldMatchAnExactSort() {
+    Random random = new Random(42);
+    long[] durations = new long[1001];
+    StepStatistics statistics = new StepStatistics("MIFARE_ULTRALIGHT", "read");
+    for (int i = 0; i < durations.length; i++) {
+      durations[i] = random.nextInt(1000000);
+      statistics.record(durations[i]);
+    }
+    Arrays.sort(durations);
+
+    assertEquals(durations.length, statistics.getCount());
+    for (double percentile : new double[] {0.1, 25, 50, 90, 99, 99.9, 100}) {
+      int rank = Math.max(1, (int) Math.ceil(percentile / 100.0 * durations.length));
+      assertEquals("p" + percentile, durations[rank - 1], statistics.getPercentile(percentile));
+    }
+  }
+}